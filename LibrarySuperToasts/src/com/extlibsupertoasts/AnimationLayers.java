@@ -0,0 +1,100 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.annotation.TargetApi;
+import android.view.View;
+
+
+/**
+ * Renders a toast into a hardware layer while it animates, so the frames of
+ * a show or dismiss Animation only move and fade the layer instead of drawing
+ * the background, text and icons again. Only hardware accelerated Views get a
+ * layer. A software layer costs a bitmap and is drawn again whenever the
+ * Animation changes the alpha, and before Honeycomb a parent only draws a
+ * child from its drawing cache when the parent asks for it, so other Views
+ * animate without a layer.
+ */
+final class AnimationLayers {
+
+
+	private static final int sdkVersion = android.os.Build.VERSION.SDK_INT;
+
+
+	private AnimationLayers() {
+
+		// Static methods only
+
+	}
+
+
+	/** Called once the View is attached, before the first frame of its Animation is drawn **/
+	static void begin(View mView) {
+
+		if (sdkVersion >= android.os.Build.VERSION_CODES.HONEYCOMB) {
+
+			beginLayer(mView);
+
+		}
+
+	}
+
+
+	/** Called after the Animation of the View has ended, never from onAnimationEnd() **/
+	static void end(View mView) {
+
+		if (sdkVersion >= android.os.Build.VERSION_CODES.HONEYCOMB) {
+
+			endLayer(mView);
+
+		}
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	@TargetApi(11)
+	private static void beginLayer(View mView) {
+
+		/** A View that is not attached yet reports false, its parent is the better answer **/
+		final boolean isHardwareAccelerated = mView.isHardwareAccelerated() || (mView.getParent() instanceof View
+				&& ((View) mView.getParent()).isHardwareAccelerated());
+
+		if (isHardwareAccelerated && mView.getLayerType() == View.LAYER_TYPE_NONE) {
+
+			mView.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+
+		}
+
+	}
+
+
+	@TargetApi(11)
+	private static void endLayer(View mView) {
+
+		if (mView.getLayerType() == View.LAYER_TYPE_HARDWARE) {
+
+			mView.setLayerType(View.LAYER_TYPE_NONE, null);
+
+		}
+
+	}
+
+}
@@ -0,0 +1,183 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.view.animation.AlphaAnimation;
+import android.view.animation.AnimationSet;
+import android.view.animation.RotateAnimation;
+import android.view.animation.TranslateAnimation;
+
+import java.util.ArrayList;
+
+
+/**
+ * Keeps the entrance and dismiss Animations of SuperCardToasts so a burst
+ * of cards does not build a new AnimationSet with its child Animations and
+ * Transformations for every card. An Animation can only run on one View at a
+ * time, so each card takes its own set from the pool and returns it after the
+ * set has ended. It is only used on the main thread.
+ */
+final class CardAnimations {
+
+
+	/** About as many cards as fit on a screen animate at once **/
+	private static final int MAX_POOL_SIZE = 8;
+
+	private static CardAnimations mCardAnimations;
+
+	private final ArrayList<AnimationSet> mShowAnimations = new ArrayList<AnimationSet>(MAX_POOL_SIZE);
+	private final ArrayList<DismissAnimation> mDismissAnimations = new ArrayList<DismissAnimation>(MAX_POOL_SIZE);
+
+
+	private CardAnimations() {
+
+		// Singleton
+
+	}
+
+
+	static synchronized CardAnimations getInstance() {
+
+		if (mCardAnimations == null) {
+
+			mCardAnimations = new CardAnimations();
+
+		}
+
+		return mCardAnimations;
+
+	}
+
+
+	AnimationSet acquireShowAnimation() {
+
+		if (!mShowAnimations.isEmpty()) {
+
+			final AnimationSet mAnimationSet = mShowAnimations.remove(mShowAnimations.size() - 1);
+
+			mAnimationSet.reset();
+
+			return mAnimationSet;
+
+		}
+
+		final AnimationSet mAnimationSet = new AnimationSet(false);
+
+		final TranslateAnimation mTranslateAnimation = new TranslateAnimation(0f, 0f, 1f, 0f);
+		mTranslateAnimation.setDuration(200);
+
+		mAnimationSet.addAnimation(mTranslateAnimation);
+
+
+		final AlphaAnimation mAlphaAnimation = new AlphaAnimation(0f, 1f);
+		mAlphaAnimation.setDuration(400);
+
+		mAnimationSet.addAnimation(mAlphaAnimation);
+
+
+		final RotateAnimation mRotationAnimation = new RotateAnimation(15f, 0f, 0f, 0f);
+		mRotationAnimation.setDuration(225);
+
+		mAnimationSet.addAnimation(mRotationAnimation);
+
+		return mAnimationSet;
+
+	}
+
+
+	/** Returns an ended Animation to the pool, it must not be used by the card afterwards **/
+	void releaseShowAnimation(AnimationSet mAnimationSet) {
+
+		mAnimationSet.setAnimationListener(null);
+
+		if (mShowAnimations.size() < MAX_POOL_SIZE) {
+
+			mShowAnimations.add(mAnimationSet);
+
+		}
+
+	}
+
+
+	/** Returns the dismiss Animation that is used before Honeycomb MR1 where ViewPropertyAnimator is not available **/
+	AnimationSet acquireDismissAnimation(int width) {
+
+		for (int i = mDismissAnimations.size() - 1; i >= 0; i--) {
+
+			if (mDismissAnimations.get(i).width == width) {
+
+				final AnimationSet mAnimationSet = mDismissAnimations.remove(i);
+
+				mAnimationSet.reset();
+
+				return mAnimationSet;
+
+			}
+
+		}
+
+		final AnimationSet mAnimationSet = new DismissAnimation(width);
+
+		final TranslateAnimation mTranslateAnimation = new TranslateAnimation(0f, width, 0f, 0f);
+		mTranslateAnimation.setDuration(500);
+		mAnimationSet.addAnimation(mTranslateAnimation);
+
+
+		final AlphaAnimation mAlphaAnimation = new AlphaAnimation(1f, 0f);
+		mAlphaAnimation.setDuration(500);
+		mAnimationSet.addAnimation(mAlphaAnimation);
+
+		return mAnimationSet;
+
+	}
+
+
+	void releaseDismissAnimation(AnimationSet mAnimationSet) {
+
+		mAnimationSet.setAnimationListener(null);
+
+		/** The oldest Animations are dropped so Animations of a rotated screen don't fill the pool **/
+		if (mDismissAnimations.size() == MAX_POOL_SIZE) {
+
+			mDismissAnimations.remove(0);
+
+		}
+
+		mDismissAnimations.add((DismissAnimation) mAnimationSet);
+
+	}
+
+
+	/**
+	 * A dismiss Animation and the width that it slides the card by.
+	 */
+	private static final class DismissAnimation extends AnimationSet {
+
+		final int width;
+
+		DismissAnimation(int width) {
+
+			super(false);
+
+			this.width = width;
+
+		}
+
+	}
+
+}
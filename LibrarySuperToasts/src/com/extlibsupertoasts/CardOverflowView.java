@@ -0,0 +1,100 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import com.extlibsupertoasts.utilities.SuperToastConstants;
+
+import android.graphics.Color;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+
+/**
+ * The collapsed "+N more" stack at the end of a card container. It is shown
+ * while SuperCardToasts are queued because the container already shows the
+ * maximum number of cards and expands the container when it is tapped.
+ */
+@SuppressWarnings("deprecation")
+final class CardOverflowView extends TextView implements View.OnClickListener {
+
+
+	private final LinearLayout mContainer;
+
+	private final Runnable mExpandRunnable;
+
+
+	CardOverflowView(LinearLayout mContainer, Runnable mExpandRunnable) {
+
+		super(mContainer.getContext());
+
+		this.mContainer = mContainer;
+		this.mExpandRunnable = mExpandRunnable;
+
+		final int padding = getResources().getDimensionPixelSize(R.dimen.textview_padding);
+
+		setLayoutParams(new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+				ViewGroup.LayoutParams.WRAP_CONTENT));
+		setPadding(padding, padding, padding, padding);
+		setGravity(Gravity.CENTER);
+		setBackgroundDrawable(DrawableCache.getInstance().get(getContext(),
+				SuperToastConstants.BACKGROUND_GREYTRANSLUCENT));
+		setTextColor(Color.WHITE);
+		setTextSize(TypedValue.COMPLEX_UNIT_SP, SuperToastConstants.TEXTSIZE_SMALL);
+
+		setOnClickListener(this);
+
+	}
+
+
+	/** Shows the number of queued cards, the View is added on the next frame **/
+	void show(int count) {
+
+		setText(getResources().getString(R.string.supercardtoast_overflow, count));
+
+		if (!ViewBatcher.getInstance().isAttached(this)) {
+
+			ViewBatcher.getInstance().addView(mContainer, this);
+
+		}
+
+	}
+
+
+	void hide() {
+
+		if (ViewBatcher.getInstance().isAttached(this)) {
+
+			ViewBatcher.getInstance().removeView(mContainer, this);
+
+		}
+
+	}
+
+
+	@Override
+	public void onClick(View view) {
+
+		mExpandRunnable.run();
+
+	}
+
+}
@@ -0,0 +1,334 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import com.extlibsupertoasts.styles.ToastStyle;
+import com.extlibsupertoasts.utilities.SuperToastConstants;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.graphics.drawable.Drawable;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+
+import java.util.WeakHashMap;
+
+
+/**
+ * Keeps the ConstantState of every icon, button and background resource that
+ * a toast has shown. Each toast gets its own Drawable from the shared state, so
+ * the bitmap of a resource is decoded once and shared by every toast that uses
+ * it while bounds, callbacks and level stay per toast.
+ *
+ * <br>
+ *
+ * <p>
+ * The SuperToastConstants backgrounds share the one neutral background_white
+ * 9-patch, a colored background is a copy of it with a color filter.
+ * Application code gets a colored background with
+ * DrawableCache.getInstance().getBackground(Context, int).
+ * </p>
+ *
+ * <br>
+ *
+ * <p>
+ * The background, button and divider of a ToastStyle are resolved once per
+ * interned style, later toasts of the style only create their Drawables.
+ * </p>
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * A Drawable from this cache must be mutated before its alpha, color filter
+ * or any other state of its ConstantState is changed, otherwise the change is
+ * seen by every toast that shows the resource.
+ * </p>
+ */
+public final class DrawableCache {
+
+
+	/** Maps the background resources to their colors, BACKGROUND_WHITE is the neutral 9-patch itself **/
+	private static final SparseIntArray BACKGROUND_COLORS = new SparseIntArray();
+
+	static {
+
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_BLACK, R.color.background_black);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_BLACKTRANSLUCENT, R.color.background_blacktranslucent);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_BLUE, R.color.background_blue);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_BLUETRANSLUCENT, R.color.background_bluetranslucent);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_GREEN, R.color.background_green);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_GREENTRANSLUCENT, R.color.background_greentranslucent);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_GREY, R.color.background_grey);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT, R.color.background_greytranslucent);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_PURPLE, R.color.background_purple);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_PURPLETRANSLUCENT, R.color.background_purpletranslucent);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_RED, R.color.background_red);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_REDTRANSLUCENT, R.color.background_redtranslucent);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT, R.color.background_whitetranslucent);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_ORANGE, R.color.background_orange);
+		BACKGROUND_COLORS.put(SuperToastConstants.BACKGROUND_ORANGETRANSLUCENT, R.color.background_orangetranslucent);
+
+	}
+
+	private static DrawableCache mDrawableCache;
+
+	private final SparseArray<Drawable.ConstantState> mConstantStates = new SparseArray<Drawable.ConstantState>();
+
+	/** Keyed by the interned ToastStyles, an entry goes away with its style **/
+	private final WeakHashMap<ToastStyle, StyleDrawables> mStyleDrawables = new WeakHashMap<ToastStyle, StyleDrawables>();
+
+
+	private DrawableCache() {
+
+		// Singleton
+
+	}
+
+
+	public static synchronized DrawableCache getInstance() {
+
+		if (mDrawableCache == null) {
+
+			mDrawableCache = new DrawableCache();
+
+		}
+
+		return mDrawableCache;
+
+	}
+
+
+	/** Returns a new Drawable of the resource that shares its bitmap with the cached one, null for no resource **/
+	synchronized Drawable get(Context mContext, int drawableResource) {
+
+		if (drawableResource == 0) {
+
+			return null;
+
+		}
+
+		/** The application Resources keep no reference to the Activity of the toast **/
+		final Resources mResources = mContext.getApplicationContext().getResources();
+
+		final int colorResource = BACKGROUND_COLORS.get(drawableResource);
+
+		if (colorResource != 0) {
+
+			return getColorBackground(mContext, mResources.getColor(colorResource));
+
+		}
+
+		final Drawable.ConstantState mConstantState = mConstantStates.get(drawableResource);
+
+		if (mConstantState != null) {
+
+			return mConstantState.newDrawable(mResources);
+
+		}
+
+		final Drawable mDrawable = mResources.getDrawable(drawableResource);
+
+		if (mDrawable.getConstantState() != null) {
+
+			mConstantStates.put(drawableResource, mDrawable.getConstantState());
+
+		}
+
+		return mDrawable;
+
+	}
+
+
+	/**
+	 * Returns the background of a SuperToastConstants background resource
+	 * in its color. Use this instead of getResources().getDrawable() or
+	 * setBackgroundResource() with the R.drawable.background_* resources,
+	 * which all resolve to the neutral white 9-patch.
+	 *
+	 * @param mContext
+	 * @param backgroundResource
+	 * @return Drawable
+	 */
+	public synchronized Drawable getBackground(Context mContext, int backgroundResource) {
+
+		return get(mContext, backgroundResource);
+
+	}
+
+
+	/** Returns the neutral background tinted with the ARGB color **/
+	synchronized Drawable getColorBackground(Context mContext, int backgroundColor) {
+
+		final Drawable mDrawable = get(mContext, R.drawable.background_white);
+
+		if (backgroundColor != Color.WHITE) {
+
+			/** The white body takes the color and the black shadow stays black **/
+			mDrawable.mutate().setColorFilter(backgroundColor, PorterDuff.Mode.MULTIPLY);
+
+		}
+
+		return mDrawable;
+
+	}
+
+
+	/** Returns a new background Drawable of the style **/
+	synchronized Drawable getBackground(Context mContext, ToastStyle mToastStyle) {
+
+		final StyleDrawables mDrawables = getStyleDrawables(mContext, mToastStyle);
+
+		final Drawable mDrawable = newDrawable(mContext, mDrawables.mBackgroundState, mDrawables.backgroundResource);
+
+		if (mDrawables.isTinted) {
+
+			mDrawable.mutate().setColorFilter(mDrawables.backgroundColor, PorterDuff.Mode.MULTIPLY);
+
+		}
+
+		return mDrawable;
+
+	}
+
+
+	/** Returns a new button Drawable of the style, null for no resource **/
+	synchronized Drawable getButton(Context mContext, ToastStyle mToastStyle) {
+
+		return newDrawable(mContext, getStyleDrawables(mContext, mToastStyle).mButtonState,
+				mToastStyle.buttonResource);
+
+	}
+
+
+	/** Returns a new divider Drawable of the style, null for no resource **/
+	synchronized Drawable getDivider(Context mContext, ToastStyle mToastStyle) {
+
+		return newDrawable(mContext, getStyleDrawables(mContext, mToastStyle).mDividerState,
+				mToastStyle.dividerResource);
+
+	}
+
+
+	synchronized void clear() {
+
+		mConstantStates.clear();
+		mStyleDrawables.clear();
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private StyleDrawables getStyleDrawables(Context mContext, ToastStyle mToastStyle) {
+
+		StyleDrawables mDrawables = mStyleDrawables.get(mToastStyle);
+
+		if (mDrawables != null) {
+
+			return mDrawables;
+
+		}
+
+		final Resources mResources = mContext.getApplicationContext().getResources();
+
+		mDrawables = new StyleDrawables();
+
+		final int colorResource = BACKGROUND_COLORS.get(mToastStyle.backgroundResource);
+
+		if (colorResource != 0) {
+
+			mDrawables.backgroundResource = R.drawable.background_white;
+			mDrawables.backgroundColor = mResources.getColor(colorResource);
+			mDrawables.isTinted = mDrawables.backgroundColor != Color.WHITE;
+
+		} else {
+
+			mDrawables.backgroundResource = mToastStyle.backgroundResource;
+
+		}
+
+		mDrawables.mBackgroundState = getConstantState(mContext, mDrawables.backgroundResource);
+		mDrawables.mButtonState = getConstantState(mContext, mToastStyle.buttonResource);
+		mDrawables.mDividerState = getConstantState(mContext, mToastStyle.dividerResource);
+
+		mStyleDrawables.put(mToastStyle, mDrawables);
+
+		return mDrawables;
+
+	}
+
+
+	/** Loads the resource into the cache, the tinted backgrounds are keyed by their neutral 9-patch **/
+	private Drawable.ConstantState getConstantState(Context mContext, int drawableResource) {
+
+		if (drawableResource == 0 || BACKGROUND_COLORS.get(drawableResource) != 0) {
+
+			return null;
+
+		}
+
+		Drawable.ConstantState mConstantState = mConstantStates.get(drawableResource);
+
+		if (mConstantState == null) {
+
+			final Drawable mDrawable = get(mContext, drawableResource);
+
+			mConstantState = mDrawable != null ? mDrawable.getConstantState() : null;
+
+		}
+
+		return mConstantState;
+
+	}
+
+
+	/** A resource without a ConstantState is loaded again for every toast **/
+	private Drawable newDrawable(Context mContext, Drawable.ConstantState mConstantState, int drawableResource) {
+
+		if (mConstantState != null) {
+
+			return mConstantState.newDrawable(mContext.getApplicationContext().getResources());
+
+		}
+
+		return get(mContext, drawableResource);
+
+	}
+
+
+	/** The resolved resources and color of a ToastStyle **/
+	private static class StyleDrawables {
+
+		int backgroundResource;
+		int backgroundColor;
+		boolean isTinted;
+
+		Drawable.ConstantState mBackgroundState;
+		Drawable.ConstantState mButtonState;
+		Drawable.ConstantState mDividerState;
+
+	}
+
+}
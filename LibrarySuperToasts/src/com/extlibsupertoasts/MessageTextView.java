@@ -0,0 +1,431 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.text.Layout;
+import android.text.Spanned;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.view.Gravity;
+import android.widget.TextView;
+
+import java.lang.reflect.Method;
+
+
+/**
+ * The message of the toast layouts. A plain message without icons is
+ * measured and drawn with a StaticLayout from the TextLayoutCache, so a
+ * message that was shown or precomputed before is not broken into lines
+ * again. Messages with spans or icons are handled by the TextView.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * The cached layouts only know the text, Typeface, size, alignment and
+ * the paint flags, text scale and skew. A message with max or min lines,
+ * single line, ellipsize, line spacing, a shadow layer, other paint flags
+ * or letter spacing is measured and drawn by the TextView. Letter spacing
+ * is read on the next measure, it should be set before the toast is shown.
+ * </p>
+ */
+class MessageTextView extends TextView {
+
+
+	/** Paint.getLetterSpacing() of API 21, null on older versions **/
+	private static final Method mGetLetterSpacing = getLetterSpacingMethod();
+
+	/** The cached layout of the last measure, null when the TextView lays out the message **/
+	private StaticLayout mStaticLayout;
+
+	/** The paint flags of a new TextView, a layout of other flags is not shared **/
+	private final int defaultPaintFlags;
+
+	/** The options of the TextView that the cached layouts do not support **/
+	private int maxLines = Integer.MAX_VALUE;
+	private int minLines;
+	private boolean isSingleLine;
+	private boolean isHorizontallyScrolling;
+	private boolean hasLineSpacing;
+	private boolean hasShadowLayer;
+
+
+	MessageTextView(Context mContext) {
+
+		super(mContext);
+
+		defaultPaintFlags = getPaintFlags();
+
+	}
+
+
+	@Override
+	public void setText(CharSequence text, BufferType type) {
+
+		super.setText(text, type);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setTypeface(Typeface mTypeface) {
+
+		super.setTypeface(mTypeface);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setTextSize(int unit, float size) {
+
+		super.setTextSize(unit, size);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setMaxLines(int maxLines) {
+
+		this.maxLines = maxLines;
+
+		super.setMaxLines(maxLines);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setMinLines(int minLines) {
+
+		this.minLines = minLines;
+
+		super.setMinLines(minLines);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setLines(int lines) {
+
+		this.maxLines = lines;
+		this.minLines = lines;
+
+		super.setLines(lines);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setSingleLine(boolean singleLine) {
+
+		this.isSingleLine = singleLine;
+
+		super.setSingleLine(singleLine);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setHorizontallyScrolling(boolean whether) {
+
+		this.isHorizontallyScrolling = whether;
+
+		super.setHorizontallyScrolling(whether);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setEllipsize(TextUtils.TruncateAt mTruncateAt) {
+
+		super.setEllipsize(mTruncateAt);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setLineSpacing(float add, float mult) {
+
+		this.hasLineSpacing = add != 0f || mult != 1f;
+
+		super.setLineSpacing(add, mult);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setShadowLayer(float radius, float dx, float dy, int color) {
+
+		/** A radius of 0 removes the shadow layer **/
+		this.hasShadowLayer = radius != 0f;
+
+		super.setShadowLayer(radius, dx, dy, color);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setPaintFlags(int flags) {
+
+		super.setPaintFlags(flags);
+
+		relayout();
+
+	}
+
+
+	@Override
+	public void setTextScaleX(float size) {
+
+		super.setTextScaleX(size);
+
+		relayout();
+
+	}
+
+
+	@Override
+	protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+
+		mStaticLayout = null;
+
+		final int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+		final int widthSize = MeasureSpec.getSize(widthMeasureSpec);
+
+		final int horizontalPadding = getPaddingLeft() + getPaddingRight();
+		final int verticalPadding = getPaddingTop() + getPaddingBottom();
+
+		final CharSequence text = getText();
+
+		if (widthMode == MeasureSpec.UNSPECIFIED || widthSize <= horizontalPadding || !isCacheable(text)) {
+
+			super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+
+			return;
+
+		}
+
+		final StaticLayout mLayout = TextLayoutCache.getInstance().get(text, getPaint(),
+				widthSize - horizontalPadding, getAlignment());
+
+		int width = widthSize;
+
+		if (widthMode == MeasureSpec.AT_MOST) {
+
+			float lineWidth = 0f;
+
+			for (int i = 0; i < mLayout.getLineCount(); i++) {
+
+				lineWidth = Math.max(lineWidth, mLayout.getLineWidth(i));
+
+			}
+
+			width = Math.min(widthSize, (int) Math.ceil(lineWidth) + horizontalPadding);
+
+		}
+
+		final int height = Math.max(mLayout.getHeight() + verticalPadding, getSuggestedMinimumHeight());
+
+		mStaticLayout = mLayout;
+
+		setMeasuredDimension(Math.max(width, getSuggestedMinimumWidth()),
+				resolveSize(height, heightMeasureSpec));
+
+	}
+
+
+	@Override
+	protected void onDraw(Canvas mCanvas) {
+
+		final StaticLayout mLayout = mStaticLayout;
+
+		if (mLayout == null) {
+
+			super.onDraw(mCanvas);
+
+			return;
+
+		}
+
+		/** The layout is shared with other toasts, its paint is prepared before every draw **/
+		final TextPaint mTextPaint = mLayout.getPaint();
+		mTextPaint.setColor(getCurrentTextColor());
+		mTextPaint.drawableState = getDrawableState();
+
+		final int contentWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+		final int contentHeight = getHeight() - getPaddingTop() - getPaddingBottom();
+
+		/** The layout is as wide as its bucket, the aligned lines are moved into the content **/
+		float dx = getPaddingLeft();
+
+		if (mLayout.getAlignment() == Layout.Alignment.ALIGN_CENTER) {
+
+			dx += (contentWidth - mLayout.getWidth()) / 2f;
+
+		} else if (mLayout.getAlignment() == Layout.Alignment.ALIGN_OPPOSITE) {
+
+			dx += contentWidth - mLayout.getWidth();
+
+		}
+
+		float dy = getPaddingTop();
+
+		final int verticalGravity = getGravity() & Gravity.VERTICAL_GRAVITY_MASK;
+
+		if (verticalGravity == Gravity.CENTER_VERTICAL) {
+
+			dy += (contentHeight - mLayout.getHeight()) / 2f;
+
+		} else if (verticalGravity == Gravity.BOTTOM) {
+
+			dy += contentHeight - mLayout.getHeight();
+
+		}
+
+		mCanvas.save();
+		mCanvas.translate(dx, dy);
+		mLayout.draw(mCanvas);
+		mCanvas.restore();
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	/** Icons change the compound paddings, spans and transformations are not part of the key **/
+	private boolean isCacheable(CharSequence text) {
+
+		return text.length() > 0 && !(text instanceof Spanned) && getTransformationMethod() == null
+				&& getCompoundPaddingLeft() == getPaddingLeft() && getCompoundPaddingRight() == getPaddingRight()
+				&& getCompoundPaddingTop() == getPaddingTop() && getCompoundPaddingBottom() == getPaddingBottom()
+				&& hasDefaultOptions();
+
+	}
+
+
+	/** The layout of the TextView differs from a cached one when any of these is set **/
+	private boolean hasDefaultOptions() {
+
+		return maxLines == Integer.MAX_VALUE && minLines <= 1 && !isSingleLine && !isHorizontallyScrolling
+				&& getEllipsize() == null && !hasLineSpacing && !hasShadowLayer
+				&& getPaintFlags() == defaultPaintFlags && getTextScaleX() == 1f && getLetterSpacing() == 0f;
+
+	}
+
+
+	private float getLetterSpacing() {
+
+		if (mGetLetterSpacing == null) {
+
+			return 0f;
+
+		}
+
+		try {
+
+			return (Float) mGetLetterSpacing.invoke(getPaint());
+
+		} catch (Exception e) {
+
+			return 0f;
+
+		}
+
+	}
+
+
+	private static Method getLetterSpacingMethod() {
+
+		if (Build.VERSION.SDK_INT < 21) {
+
+			return null;
+
+		}
+
+		try {
+
+			return Paint.class.getMethod("getLetterSpacing");
+
+		} catch (NoSuchMethodException e) {
+
+			return null;
+
+		}
+
+	}
+
+
+	private Layout.Alignment getAlignment() {
+
+		final int horizontalGravity = getGravity() & Gravity.HORIZONTAL_GRAVITY_MASK;
+
+		if (horizontalGravity == Gravity.CENTER_HORIZONTAL) {
+
+			return Layout.Alignment.ALIGN_CENTER;
+
+		} else if (horizontalGravity == Gravity.RIGHT) {
+
+			return Layout.Alignment.ALIGN_OPPOSITE;
+
+		}
+
+		return Layout.Alignment.ALIGN_NORMAL;
+
+	}
+
+
+	/** A TextView that never built its own layout does not lay out again on these changes **/
+	private void relayout() {
+
+		requestLayout();
+		invalidate();
+
+	}
+
+}
@@ -19,6 +19,7 @@ package com.extlibsupertoasts;
 
 import com.extlibsupertoasts.utilities.OnDismissListener;
 import com.extlibsupertoasts.utilities.SuperToastConstants;
+import com.extlibsupertoasts.utilities.TimingWheel;
 
 import android.annotation.SuppressLint;
 import android.app.Activity;
@@ -26,10 +27,9 @@ import android.content.Context;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
-import android.os.Handler;
+import android.os.SystemClock;
 import android.util.Log;
 import android.util.TypedValue;
-import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.View.OnClickListener;
@@ -62,11 +62,9 @@ public class SuperActivityToast {
 			+ "Did you create and show a SuperActivityToast before trying to dismiss it?";
 	
 	private Context mContext;
-	private LayoutInflater mLayoutInflater;
 	private ViewGroup mViewGroup;
 	private View toastView;
 	private TextView messageTextView;
-	private Handler mHandler;
 	private int sdkVersion = android.os.Build.VERSION.SDK_INT;
 
 	private CharSequence textCharSequence;
@@ -86,6 +84,18 @@ public class SuperActivityToast {
 	private Drawable iconDrawable;
 	private int iconResource;
 	private OnDismissListener mOnDismissListener;
+	private int remainingDuration;
+	private long displayTime;
+	private boolean coalesceDuplicates;
+	private boolean showDuplicateCount;
+	private int duplicateCount = 1;
+	private String channel;
+
+	/** Set by SuperToasts.show(), null if this toast has no tag and id **/
+	ToastRegistry.Key registryKey;
+	private volatile CharSequence pendingText;
+	private volatile int pendingDuration;
+	private volatile int pendingPriority;
 
 	/**
 	 * This is used to specify the position of a supplied icon in the
@@ -138,17 +148,11 @@ public class SuperActivityToast {
 
 				this.mContext = mContext;
 
-				mLayoutInflater = (LayoutInflater) mContext
-						.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
 				final Activity mActivity = (Activity) mContext;
 
 				mViewGroup = (ViewGroup) mActivity
 						.findViewById(android.R.id.content);
 
-				toastView = mLayoutInflater.inflate(R.layout.supertoast,
-						mViewGroup, false);
-
 			} else {
 
 				throw new IllegalArgumentException(ERROR_CONTEXTNOTACTIVITY);
@@ -168,14 +172,98 @@ public class SuperActivityToast {
 	/**
 	 * This is used to show the SuperActivityToast. You should
 	 * do all of your modifications to the SuperActivityToast before calling
-	 * this method. 
+	 * this method. Every method of this class can be called from any thread.
+	 * Calls from other threads that change the showing toast or the queue are
+	 * applied on the next frame, and the last of show() and dismiss() wins.
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * SuperActivityToasts are scheduled by the {@link SuperToastManager}. 
+	 * See {@link #setPriority(int)}.
+	 * </p>
+	 * 
 	 */
 	public void show() {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_SHOW);
+
+			return;
+
+		}
+
+		if (channel != null && !SuperToastManager.getInstance().acquire(channel, mThrottled)) {
+
+			/** A deferred toast is shown later, a dropped or merged one never is **/
+			if (!mThrottled.deferred) {
+
+				unregister();
+
+			}
+
+			return;
+
+		}
+
+		schedule();
+
+	}
+
+
+	private void schedule() {
+
+		remainingDuration = duration;
+
+		mEntry.coalesceKey = coalesceDuplicates ? getCoalesceKey() : null;
+
+		SuperToastManager.getInstance().add(mEntry);
+
+		/** The manager coalesced this toast into a duplicate that is queued or showing **/
+		if (mEntry.state == SuperToastManager.Entry.STATE_IDLE) {
+
+			unregister();
+
+		}
+
+	}
+
+
+	/** Unregisters a toast of SuperToasts.show() that has no queued, deferred or showing instance **/
+	private void unregister() {
+
+		if (registryKey != null) {
+
+			ToastRegistry.getInstance().remove(registryKey, this);
+			registryKey = null;
+
+		}
+
+	}
+
+
+	/**
+	 * Called by the SuperToastManager when this SuperActivityToast reaches
+	 * the front of the queue.
+	 */
+	private void display() {
+
 		if (!isIndeterminate) {
 
-			mHandler = new Handler();
-			mHandler.postDelayed(mHideToastRunnable, duration);
+			TimingWheel.getInstance().schedule(mHideTimeout, remainingDuration);
+			displayTime = SystemClock.uptimeMillis();
+
+		}
+
+		/** The View is acquired when it is first displayed so coalesced duplicates never inflate **/
+		if (toastView == null) {
+
+			toastView = ViewPool.getInstance().acquire(mContext, R.layout.supertoast, mViewGroup);
 
 		}
 
@@ -204,34 +292,13 @@ public class SuperActivityToast {
 		messageTextView = (TextView) toastView
 				.findViewById(R.id.messageTextView);
 
-		messageTextView.setText(textCharSequence);
+		messageTextView.setText(getMessageText());
 		messageTextView.setTypeface(typeface);
 		messageTextView.setTextColor(textColor);
 		messageTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSize);
 		
 		
-		final FrameLayout mFrameLayout = (FrameLayout) toastView
-				.findViewById(R.id.root);
-		
-		if (backgroundDrawable != null) {
-
-			if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
-
-				mFrameLayout.setBackgroundDrawable(backgroundDrawable);
-
-			}
-
-			else {
-
-				mFrameLayout.setBackground(backgroundDrawable);
-
-			}
-
-		} else {
-
-			mFrameLayout.setBackgroundResource(backgroundResource);
-
-		}
+		updateBackground();
 
 		if (iconDrawable != null) {
 
@@ -263,42 +330,39 @@ public class SuperActivityToast {
 
 				messageTextView.setCompoundDrawablesWithIntrinsicBounds(null,
 						null, null,
-						mContext.getResources().getDrawable(iconResource));
+						DrawableCache.getInstance().get(mContext, iconResource));
 
 			} else if (mIconPosition == IconPosition.LEFT) {
 
 				messageTextView.setCompoundDrawablesWithIntrinsicBounds(
-						mContext.getResources().getDrawable(iconResource),
+						DrawableCache.getInstance().get(mContext, iconResource),
 						null, null, null);
 
 			} else if (mIconPosition == IconPosition.RIGHT) {
 
 				messageTextView
 						.setCompoundDrawablesWithIntrinsicBounds(
-								null, null, mContext.getResources().getDrawable(iconResource), 
+								null, null, DrawableCache.getInstance().get(mContext, iconResource), 
 								null);
 
 			} else if (mIconPosition == IconPosition.TOP) {
 
 				messageTextView.setCompoundDrawablesWithIntrinsicBounds(null,
-						mContext.getResources().getDrawable(iconResource),
+						DrawableCache.getInstance().get(mContext, iconResource),
 						null, null);
 
 			}
 
 		}
 
-		mViewGroup.addView(toastView);
+		ViewBatcher.getInstance().addView(mViewGroup, toastView);
 		
-		if (showAnimation != null) {
+		final Animation mAnimation = showAnimation != null ? showAnimation : getFadeInAnimation();
 
-			toastView.startAnimation(showAnimation);
+		/** The ViewBatcher gives the View a layer once it is attached **/
+		toastView.startAnimation(mAnimation);
 
-		} else {
-
-			toastView.startAnimation(getFadeInAnimation());
-
-		}
+		TimingWheel.getInstance().schedule(mLayerTimeout, mAnimation.computeDurationHint());
 
 	}
 
@@ -340,11 +404,20 @@ public class SuperActivityToast {
 	 */
 	public void setText(CharSequence textCharSequence) {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingText = textCharSequence;
+			mMutation.post(SuperToastDispatcher.OP_TEXT);
+
+			return;
+
+		}
+
 		this.textCharSequence = textCharSequence;
 
 		if (messageTextView != null) {
 
-			messageTextView.setText(textCharSequence);
+			messageTextView.setText(getMessageText());
 
 		}
 
@@ -376,6 +449,14 @@ public class SuperActivityToast {
 
 		this.textColor = textColor;
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
+
 		if (messageTextView != null) {
 
 			messageTextView.setTextColor(textColor);
@@ -437,15 +518,88 @@ public class SuperActivityToast {
 	 */
 	public void resetDuration(int newDuration) {
 
-		if (mHandler != null) {
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingDuration = newDuration;
+			mMutation.post(SuperToastDispatcher.OP_DURATION);
+
+			return;
+
+		}
+
+		/** A toast that is not showing yet is displayed for the new duration when it is shown **/
+		if (mEntry.state != SuperToastManager.Entry.STATE_SHOWING) {
+
+			this.duration = newDuration;
+			remainingDuration = newDuration;
+
+			return;
+
+		}
+
+		TimingWheel.getInstance().schedule(mHideTimeout, newDuration);
+
+		remainingDuration = newDuration;
+		displayTime = SystemClock.uptimeMillis();
+
+	}
+
+
+	/**
+	 * This is used to assign the SuperActivityToast to a rate limited channel.
+	 * See {@link SuperToastManager#setRateLimit(String, int, int, int)}.
+	 * 
+	 * <br>
+	 * @param channel 
+	 * <br>
+	 * Example: ("network-errors")
+	 * <br>
+	 * 
+	 */
+	public void setChannel(String channel) {
+
+		this.channel = channel;
 
-			mHandler.removeCallbacks(mHideToastRunnable);
-			mHandler = null;
+	}
+	
+	
+	/**
+	 * This is used to set the priority of the SuperActivityToast.
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * Queued SuperActivityToasts with a higher priority are shown first. A 
+	 * SuperActivityToast with a higher priority will also replace a showing
+	 * SuperActivityToast of a lower priority. The replaced SuperActivityToast 
+	 * is shown again later for the rest of its duration. Priorities only take 
+	 * effect if {@link SuperToastManager#setMaxConcurrentActivityToasts(int)} 
+	 * has been set.
+	 * </p>
+	 * 
+	 * <br>
+	 * @param priority 
+	 * <br>
+	 * Example: (SuperToastConstants.PRIORITY_HIGH)
+	 * <br>
+	 * 
+	 */
+	public void setPriority(int priority) {
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingPriority = priority;
+			mMutation.post(SuperToastDispatcher.OP_PRIORITY);
+
+			return;
 
 		}
 
-		mHandler = new Handler();
-		mHandler.postDelayed(mHideToastRunnable, newDuration);
+		SuperToastManager.getInstance().setPriority(mEntry, priority);
 
 	}
 
@@ -476,6 +630,61 @@ public class SuperActivityToast {
 	}
 
 	
+	/**
+	 * This is used to coalesce duplicate SuperActivityToasts. If a SuperActivityToast with
+	 * the same text and style is already showing or queued, calling {@link #show()}
+	 * will extend the duration of that SuperActivityToast instead of showing another one.
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Design guide: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * This should be used for messages that can be triggered many times in a
+	 * short amount of time such as "Connection lost".
+	 * </p>
+	 * 
+	 * <br>
+	 * @param coalesceDuplicates 
+	 * <br>
+	 * 
+	 */
+	public void setCoalesceDuplicates(boolean coalesceDuplicates) {
+
+		this.coalesceDuplicates = coalesceDuplicates;
+
+	}
+	
+	
+	/**
+	 * This is used to append the number of coalesced duplicates to the message
+	 * text of the SuperActivityToast, for example "Connection lost (x12)".
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * This method has no effect unless {@link #setCoalesceDuplicates(boolean)}
+	 * is set to true.
+	 * </p>
+	 * 
+	 * <br>
+	 * @param showDuplicateCount 
+	 * <br>
+	 * 
+	 */
+	public void setShowDuplicateCount(boolean showDuplicateCount) {
+
+		this.showDuplicateCount = showDuplicateCount;
+
+	}
+
+	
 	/**
 	 * This is used to set an icon Drawable to the SuperActivityToast.
 	 * 
@@ -635,6 +844,25 @@ public class SuperActivityToast {
 
 	}
 
+
+	/**
+	 * This is used to set the background of the SuperActivityToast to any color.
+	 * The background has the same shape and shadow as the backgrounds of
+	 * this library, so no image is needed for a new color.
+	 * 
+	 * <br>
+	 * @param backgroundColor 
+	 * <br>
+	 * Example: (Color.argb(245, 0, 150, 136))
+	 * <br>
+	 * 
+	 */
+	public void setBackgroundColor(int backgroundColor) {
+
+		this.backgroundDrawable = DrawableCache.getInstance().getColorBackground(mContext, backgroundColor);
+
+	}
+
 	
 	/**
 	 * This is used to set the text size of the SuperActivityToast.
@@ -846,6 +1074,14 @@ public class SuperActivityToast {
 	 */
 	public void dismiss() {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_DISMISS);
+
+			return;
+
+		}
+
 		dismissWithAnimation();
 
 	}
@@ -858,18 +1094,21 @@ public class SuperActivityToast {
 	 * 
 	 */
 	public void dismissImmediately() {
-		
-		if(mHandler != null) { 
-			
-			mHandler.removeCallbacks(mHideToastRunnable);
-			mHandler = null;
-			
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_DISMISSIMMEDIATELY);
+
+			return;
+
 		}
+		
+		TimingWheel.getInstance().cancel(mHideTimeout);
 
 		if (toastView != null && mViewGroup != null) {
 
-			mViewGroup.removeView(toastView);
-			toastView = null;
+			ViewBatcher.getInstance().removeView(mViewGroup, toastView);
+			recycleView();
 
 		} else {
 
@@ -883,6 +1122,16 @@ public class SuperActivityToast {
 			
 		}
 
+		SuperToastManager.getInstance().remove(mEntry);
+
+		if (channel != null) {
+
+			SuperToastManager.getInstance().release(channel, mThrottled);
+
+		}
+
+		unregister();
+
 	}
 	
 
@@ -905,7 +1154,24 @@ public class SuperActivityToast {
 
 	
 	/**
-	 * This is used to get the SuperActivityToast View.
+	 * This is used to get the priority of the SuperActivityToast.
+	 * 
+	 * <br>
+	 * @return int
+	 * <br>
+	 * 
+	 */
+	public int getPriority() {
+
+		return mEntry.priority;
+
+	}
+
+	
+	/**
+	 * This is used to get the SuperActivityToast View. The View is 
+	 * created when the SuperActivityToast is displayed so this will 
+	 * return null before then.
 	 * 
 	 * <br>
 	 * @return View
@@ -951,7 +1217,8 @@ public class SuperActivityToast {
 	 * This is used to get and load a Roboto font. You <b><i>MUST</i></b> put the
 	 * desired font file in the assets folder of your project. The link to
 	 * download the Roboto fonts is included in this library as a text file. Do
-	 * not modify the names of these fonts.
+	 * not modify the names of these fonts. Each font is only loaded once, later
+	 * calls return the same Typeface.
 	 * 
 	 * <br>
 	 * @param typefaceString
@@ -964,12 +1231,112 @@ public class SuperActivityToast {
 	 */
 	public Typeface loadRobotoTypeface(String typefaceString) {
 
-		return Typeface.createFromAsset(mContext.getAssets(), typefaceString);
+		return TypefaceCache.getInstance().get(mContext, typefaceString);
 
 	}
 	
 
+	/**
+	 * Called by SuperToasts when a SuperActivityToast with the same tag and id is shown.
+	 * Takes over its text, text color, size, Typeface, background and duration. A
+	 * showing SuperActivityToast that is not indeterminate starts the new duration now,
+	 * a queued one when it is displayed. Returns false if this SuperActivityToast is
+	 * neither showing nor queued.
+	 */
+	boolean replace(SuperActivityToast mSuperActivityToast) {
+
+		if (mEntry.state == SuperToastManager.Entry.STATE_IDLE) {
+
+			return false;
+
+		}
+
+		textColor = mSuperActivityToast.textColor;
+		textSize = mSuperActivityToast.textSize;
+		typeface = mSuperActivityToast.typeface;
+		backgroundResource = mSuperActivityToast.backgroundResource;
+		backgroundDrawable = mSuperActivityToast.backgroundDrawable;
+		duration = mSuperActivityToast.duration;
+
+		setText(mSuperActivityToast.textCharSequence);
+
+		if (messageTextView != null) {
+
+			messageTextView.setTextColor(textColor);
+			messageTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSize);
+			messageTextView.setTypeface(typeface);
+
+		}
+
+		updateBackground();
+
+		if (mEntry.state != SuperToastManager.Entry.STATE_SHOWING) {
+
+			remainingDuration = duration;
+
+		} else if (!isIndeterminate) {
+
+			resetDuration(duration);
+
+		}
+
+		return true;
+
+	}
+
+
 	// XXX: Private methods.
+
+
+	/** Applies a text color that was set on another thread **/
+	private void applyStyle() {
+
+		if (messageTextView != null) {
+
+			messageTextView.setTextColor(textColor);
+
+		}
+
+	}
+
+
+
+	private void updateBackground() {
+
+		if (toastView == null) {
+
+			return;
+
+		}
+
+		final FrameLayout mFrameLayout = (FrameLayout) toastView
+				.findViewById(R.id.root);
+
+
+		final Drawable mBackgroundDrawable = backgroundDrawable != null ? backgroundDrawable
+				: DrawableCache.getInstance().get(mContext, backgroundResource);
+
+		if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
+
+			mFrameLayout.setBackgroundDrawable(mBackgroundDrawable);
+
+		} else {
+
+			mFrameLayout.setBackground(mBackgroundDrawable);
+
+		}
+
+	}
+
+
+	private void recycleView() {
+
+		ViewPool.getInstance().release(R.layout.supertoast, false, toastView);
+
+		toastView = null;
+		messageTextView = null;
+
+	}
 	
 
 	private Runnable mHideToastRunnable = new Runnable() {
@@ -981,6 +1348,8 @@ public class SuperActivityToast {
 		}
 	};
 	
+	private final TimingWheel.Timeout mHideTimeout = new TimingWheel.Timeout(mHideToastRunnable);
+	
 	private Runnable mHideImmediateRunnable = new Runnable() 
 	{
 		 
@@ -991,6 +1360,224 @@ public class SuperActivityToast {
 		}
         
     };
+	
+	private final TimingWheel.Timeout mHideImmediateTimeout = new TimingWheel.Timeout(mHideImmediateRunnable);
+	
+	private Runnable mLayerRunnable = new Runnable() {
+
+		public void run() {
+
+			if (toastView != null) {
+
+				AnimationLayers.end(toastView);
+
+			}
+
+		}
+
+	};
+	
+	private final TimingWheel.Timeout mLayerTimeout = new TimingWheel.Timeout(mLayerRunnable);
+
+	private final SuperToastDispatcher.Mutation mMutation = 
+			new SuperToastDispatcher.Mutation() {
+
+		@Override
+		void apply(int ops) {
+
+			if ((ops & SuperToastDispatcher.OP_PRIORITY) != 0) {
+
+				setPriority(pendingPriority);
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_STYLE) != 0) {
+
+				applyStyle();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_TEXT) != 0) {
+
+				setText(pendingText);
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DURATION) != 0) {
+
+				resetDuration(pendingDuration);
+
+			}
+
+			/** Applied after the text, style and duration so show() sees the calls that were made before it **/
+			if ((ops & SuperToastDispatcher.OP_SHOW) != 0) {
+
+				show();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DISMISS) != 0) {
+
+				dismiss();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DISMISSIMMEDIATELY) != 0) {
+
+				dismissImmediately();
+
+			}
+
+		}
+
+	};
+	
+	
+	private final SuperToastManager.Throttled mThrottled = 
+			new SuperToastManager.Throttled() {
+
+		@Override
+		void show() {
+
+			schedule();
+
+		}
+
+		@Override
+		CharSequence getText() {
+
+			return textCharSequence;
+
+		}
+
+		@Override
+		void merge(CharSequence text) {
+
+			if (mEntry.state == SuperToastManager.Entry.STATE_IDLE) {
+
+				return;
+
+			}
+
+			setText(text);
+
+			if (isIndeterminate) {
+
+				return;
+
+			}
+
+			if (mEntry.state == SuperToastManager.Entry.STATE_SHOWING) {
+
+				resetDuration(duration);
+
+			} else {
+
+				remainingDuration = duration;
+
+			}
+
+		}
+
+	};
+	
+	
+	private final SuperToastManager.Entry mEntry = 
+			new SuperToastManager.Entry(SuperToastManager.TYPE_ACTIVITYTOAST) {
+
+		@Override
+		Object getLane() {
+
+			return mViewGroup;
+
+		}
+
+		@Override
+		void display() {
+
+			SuperActivityToast.this.display();
+
+		}
+
+		@Override
+		void preempt() {
+
+			TimingWheel.getInstance().cancel(mHideTimeout);
+
+			remainingDuration -= (int) (SystemClock.uptimeMillis() - displayTime);
+
+			if (toastView != null) {
+
+				toastView.clearAnimation();
+				ViewBatcher.getInstance().removeView(mViewGroup, toastView);
+
+			}
+
+		}
+
+		@Override
+		void dismiss() {
+
+			SuperActivityToast.this.dismiss();
+
+		}
+
+		@Override
+		void coalesce() {
+
+			duplicateCount++;
+
+			if (showDuplicateCount && messageTextView != null) {
+
+				messageTextView.setText(getMessageText());
+
+			}
+
+			if (isIndeterminate) {
+
+				return;
+
+			}
+
+			if (state == STATE_SHOWING) {
+
+				resetDuration(duration);
+
+			} else {
+
+				remainingDuration = duration;
+
+			}
+
+		}
+
+	};
+
+
+	private CharSequence getMessageText() {
+
+		if (showDuplicateCount && duplicateCount > 1) {
+
+			return textCharSequence + " (x" + duplicateCount + ")";
+
+		}
+
+		return textCharSequence;
+
+	}
+
+
+	private String getCoalesceKey() {
+
+		return new StringBuilder().append(textCharSequence).append('\u0000')
+				.append(textColor).append(':').append(textSize).append(':')
+				.append(backgroundResource).append(':')
+				.append(System.identityHashCode(backgroundDrawable)).append(':')
+				.append(System.identityHashCode(typeface)).append(':')
+				.append(iconResource).append(':')
+				.append(System.identityHashCode(iconDrawable)).toString();
+
+	}
 
 	private Animation getFadeInAnimation() {
 
@@ -1052,13 +1639,23 @@ public class SuperActivityToast {
 	private void dismissWithAnimation() {
 		
 		
-		if (mHandler != null) {
+		TimingWheel.getInstance().cancel(mHideTimeout);
+
+		/** Let the next SuperActivityToast show while this one animates out **/
+		SuperToastManager.getInstance().remove(mEntry);
+
+		if (toastView == null || !ViewBatcher.getInstance().isAttached(toastView)) {
 
-			mHandler.removeCallbacks(mHideToastRunnable);
-			mHandler = null;
+			dismissImmediately();
+
+			return;
 
 		}
 
+		/** The layer stays until the View is recycled **/
+		TimingWheel.getInstance().cancel(mLayerTimeout);
+		AnimationLayers.begin(toastView);
+
 		if (dismissAnimation != null) {
 
 			dismissAnimation.setAnimationListener(new AnimationListener() {
@@ -1066,9 +1663,8 @@ public class SuperActivityToast {
 				@Override
 				public void onAnimationEnd(Animation animation) {
 
-					/** Must use Handler to modify ViewGroup in onAnimationEnd() **/
-					Handler mHandler = new Handler();
-					mHandler.post(mHideImmediateRunnable);
+					/** Must not modify the ViewGroup in onAnimationEnd() **/
+					TimingWheel.getInstance().schedule(mHideImmediateTimeout, 0);
 
 				}
 
@@ -1101,9 +1697,8 @@ public class SuperActivityToast {
 				@Override
 				public void onAnimationEnd(Animation animation) {
 
-					/** Must use Handler to modify ViewGroup in onAnimationEnd() **/
-					Handler mHandler = new Handler();
-					mHandler.post(mHideImmediateRunnable);
+					/** Must not modify the ViewGroup in onAnimationEnd() **/
+					TimingWheel.getInstance().schedule(mHideImmediateTimeout, 0);
 
 				}
 
@@ -18,9 +18,10 @@
 package com.extlibsupertoasts;
 
 
-import com.extlibsupertoasts.styles.SuperButtonToastStyle;
+import com.extlibsupertoasts.styles.ToastStyle;
 import com.extlibsupertoasts.utilities.OnDismissListener;
 import com.extlibsupertoasts.utilities.SuperToastConstants;
+import com.extlibsupertoasts.utilities.TimingWheel;
 
 import android.annotation.SuppressLint;
 import android.app.Activity;
@@ -28,10 +29,8 @@ import android.content.Context;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
-import android.os.Handler;
 import android.util.Log;
 import android.util.TypedValue;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.View.OnClickListener;
 import android.view.ViewGroup;
@@ -83,100 +82,128 @@ public class SuperButtonToast
 	/**
 	 * This style implements a edit icon with a dark theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_EDITDARK = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_edit, "EDIT", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_EDITDARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_EDIT).setButtonText("EDIT")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a exit icon with a dark theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_EXITDARK = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_exit, "EXIT", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_EXITDARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_EXIT).setButtonText("EXIT")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a information icon with a dark theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_INFODARK = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_info, "INFO", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_INFODARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_INFO).setButtonText("INFO")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a redo icon with a dark theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_REDODARK = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_redo, "REDO", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_REDODARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_REDO).setButtonText("REDO")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a save icon with a dark theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_SAVEDARK = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_save, "SAVE", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_SAVEDARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_SAVE).setButtonText("SAVE")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a share icon with a dark theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_SHAREDARK = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_share, "SHARE", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_SHAREDARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_SHARE).setButtonText("SHARE")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a undo icon with a dark theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_UNDODARK = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_undo, "UNDO", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_UNDODARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_UNDO).setButtonText("UNDO")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a edit icon with a light theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_EDITLIGHT = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_edit, "EDIT", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_EDITLIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_EDIT).setButtonText("EDIT")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a exit icon with a light theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_EXITLIGHT = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_exit, "EXIT", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_EXITLIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_EXIT).setButtonText("EXIT")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a information icon with a light theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_INFOLIGHT = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_info, "INFO", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_INFOLIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_INFO).setButtonText("INFO")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a redo icon with a light theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_REDOLIGHT = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_redo, "REDO", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_REDOLIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_REDO).setButtonText("REDO")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a save icon with a light theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_SAVELIGHT = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_save, "SAVE", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_SAVELIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_SAVE).setButtonText("SAVE")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a share icon with a light theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_SHARELIGHT = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_share, "SHARE", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_SHARELIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_SHARE).setButtonText("SHARE")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a undo icon with a light theme background.
 	 */
-	public static final SuperButtonToastStyle STYLE_UNDOLIGHT = new SuperButtonToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_undo, "UNDO", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_UNDOLIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_UNDO).setButtonText("UNDO")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 
 		
 	private Context mContext;
@@ -186,32 +213,30 @@ public class SuperButtonToast
 	private LinearLayout mRootLayout;
 	private View undodividerView;
 	private TextView mTextView;
-	private LayoutInflater mLayoutInflater;
 	private int sdkVersion = android.os.Build.VERSION.SDK_INT;
 
 	
 	private CharSequence messageCharSequence;
-	private int messageTextColor = (Color.WHITE);
+
+	/** The colors, typefaces, resources and Button text, the setters derive a new interned style **/
+	private ToastStyle mToastStyle = ToastStyle.DEFAULT;
 	private int messageTextSize = (SuperToastConstants.TEXTSIZE_MEDIUM);
-	private Typeface messageTypeface = (Typeface.DEFAULT);
-	private CharSequence buttonTextCharSequence;
-	private int buttonTextColor = (Color.WHITE);
 	private int buttonTextSize = (SuperToastConstants.TEXTSIZE_SMALL);
-	private Typeface buttonTextTypeface = (Typeface.DEFAULT_BOLD);
-	private int backgroundResource = (SuperToastConstants.BACKGROUND_BLACK);
 	private Drawable backgroundDrawable;
 	private int durationInteger = (SuperToastConstants.DURATION_LONG);
-	private Handler mHandler;
 	private OnClickListener mOnClickListener;
-	private int dividerResource = (com.extlibsupertoasts.R.color.white);
 	private Drawable dividerDrawable;
 	private boolean setIndeterminate;
 	private Animation showAnimation = getFadeInAnimation();
 	private Animation dismissAnimation = getFadeOutAnimation();
 	private Button mButton;
-	private int undoButtonResource = (SuperToastConstants.BUTTON_DARK_UNDO);
 	private Drawable buttonimageDrawable;
 	private OnDismissListener mOnDismissListener;
+	private String channel;
+
+	/** Set by SuperToasts.show(), null if this toast has no tag and id **/
+	ToastRegistry.Key registryKey;
+	private volatile CharSequence pendingText;
 
 		
 	/**
@@ -264,16 +289,10 @@ public class SuperButtonToast
 				
 				this.mContext = mContext;
 
-				mLayoutInflater = (LayoutInflater) mContext
-						.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
 				final Activity mActivity = (Activity) mContext;
 
 				mViewGroup = (ViewGroup) mActivity
 						.findViewById(android.R.id.content);
-
-				toastView = mLayoutInflater.inflate(R.layout.superbuttontoast,
-						mViewGroup, false);	
 				
 			}
 			
@@ -299,16 +318,68 @@ public class SuperButtonToast
 	/**
 	 * This is used to show the SuperButtonToast. You should
 	 * do all of your modifications to the SuperButtonToast before calling
-	 * this method. 
+	 * this method. Every method of this class can be called from any thread.
+	 * Calls from other threads that change the showing toast or the queue are
+	 * applied on the next frame, and the last of show() and dismiss() wins.
 	 */
 	public void show()
+	{
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_SHOW);
+
+			return;
+
+		}
+
+		if (channel != null && !SuperToastManager.getInstance().acquire(channel, mThrottled)) {
+
+			/** A deferred toast is shown later, a dropped or merged one never is **/
+			if (!mThrottled.deferred) {
+
+				unregister();
+
+			}
+
+			return;
+
+		}
+
+		display();
+
+	}
+
+
+	/** Unregisters a toast of SuperToasts.show() that has no queued, deferred or showing instance **/
+	private void unregister() {
+
+		if (registryKey != null) {
+
+			ToastRegistry.getInstance().remove(registryKey, this);
+			registryKey = null;
+
+		}
+
+	}
+
+
+	/**
+	 * Called when the rate limit of the channel allows this SuperButtonToast to be shown.
+	 */
+	private void display()
 	{		
+		
+		if (toastView == null) {
+
+			toastView = ViewPool.getInstance().acquire(mContext, R.layout.superbuttontoast, mViewGroup);
+
+		}
 			
 	    if(!setIndeterminate)
 	    {
 	    	
-	    	mHandler = new Handler();
-			mHandler.postDelayed(hideToastRunnable, durationInteger);
+	    	TimingWheel.getInstance().schedule(mHideTimeout, durationInteger);
 	    	
 	    }
 			
@@ -317,17 +388,20 @@ public class SuperButtonToast
 		
 		mTextView.setText(messageCharSequence);
 	    mTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, messageTextSize);	
-		mTextView.setTypeface(messageTypeface);
-		mTextView.setTextColor(messageTextColor);
+		mTextView.setTypeface(mToastStyle.messageTypeface);
+		mTextView.setTextColor(mToastStyle.messageTextColor);
 		
 		
 		mButton = (Button) 
 				toastView.findViewById(R.id.undoButton);
 		
-		mButton.setText(buttonTextCharSequence);
+		mButton.setText(mToastStyle.buttonText);
 		mButton.setTextSize(TypedValue.COMPLEX_UNIT_SP,buttonTextSize);	
-		mButton.setTypeface(buttonTextTypeface);
-		mButton.setTextColor(buttonTextColor);
+		mButton.setTypeface(mToastStyle.buttonTypeface);
+		mButton.setTextColor(mToastStyle.buttonTextColor);
+		
+		/** A pooled Button was disabled when its last SuperButtonToast was dismissed **/
+		mButton.setEnabled(true);
 
 				
 		if (buttonimageDrawable != null) {
@@ -337,9 +411,8 @@ public class SuperButtonToast
 
 		} else {
 
-			mButton.setCompoundDrawablesWithIntrinsicBounds(mContext
-					.getResources().getDrawable(undoButtonResource), null,
-					null, null);
+			mButton.setCompoundDrawablesWithIntrinsicBounds(DrawableCache.getInstance()
+					.getButton(mContext, mToastStyle), null, null, null);
 
 		}
 				
@@ -384,53 +457,52 @@ public class SuperButtonToast
 		mRootLayout = (LinearLayout) 
 				toastView.findViewById(R.id.rootLinearLayout);
 
-		if(backgroundDrawable != null) {
-			
-			if(sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
-				
-				mRootLayout.setBackgroundDrawable(backgroundDrawable);
-								
-			} else { 
-							
-				mRootLayout.setBackground(backgroundDrawable);
-							    
-			}
-			
-		} else {
-					
-			mRootLayout.setBackgroundResource(backgroundResource);
-
-		}
+		updateBackground();
 		
-		undodividerView = (View) 
-				toastView.findViewById(R.id.undodividerView);
+		undodividerView = toastView.findViewById(R.id.undodividerView);
 		
-		if(dividerDrawable != null) {
-					
-			if(sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
-												
-				undodividerView.setBackgroundDrawable(dividerDrawable);
-						
-			} else {
-						
-				undodividerView.setBackground(dividerDrawable);
-					    
-			}
-			
+		final Drawable mDividerDrawable = dividerDrawable != null ? dividerDrawable
+				: DrawableCache.getInstance().getDivider(mContext, mToastStyle);
+
+		if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
+
+			undodividerView.setBackgroundDrawable(mDividerDrawable);
+
 		} else {
-					
-			undodividerView.setBackgroundResource(dividerResource);
+
+			undodividerView.setBackground(mDividerDrawable);
 
 		}
         
-		mViewGroup.addView(toastView);
+		ViewBatcher.getInstance().addView(mViewGroup, toastView);
 		
+		/** The ViewBatcher gives the View a layer once it is attached **/
 		toastView.startAnimation(showAnimation);
 
+		TimingWheel.getInstance().schedule(mLayerTimeout, showAnimation.computeDurationHint());
+
 	}
 	
 	
 	
+	/**
+	 * This is used to assign the SuperButtonToast to a rate limited channel.
+	 * See {@link SuperToastManager#setRateLimit(String, int, int, int)}.
+	 * 
+	 * <br>
+	 * @param channel 
+	 * <br>
+	 * Example: ("network-errors")
+	 * <br>
+	 * 
+	 */
+	public void setChannel(String channel) {
+
+		this.channel = channel;
+
+	}
+	
+	
 	/**
 	 * This is used to set the message text of the SuperButtonToast.
 	 * <br>
@@ -452,6 +524,15 @@ public class SuperButtonToast
 	 */
 	public void setMessageText(CharSequence messageCharSequence) {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingText = messageCharSequence;
+			mMutation.post(SuperToastDispatcher.OP_TEXT);
+
+			return;
+
+		}
+
 		this.messageCharSequence = messageCharSequence;
 
 		if (mTextView != null) {
@@ -491,7 +572,7 @@ public class SuperButtonToast
 	 */
 	public void setMessageTextColor(int messageTextColor) {
 
-		this.messageTextColor = messageTextColor;
+		this.mToastStyle = mToastStyle.buildUpon().setMessageTextColor(messageTextColor).build();
 
 	}
 
@@ -575,7 +656,7 @@ public class SuperButtonToast
 	 * 
 	 * <br>
 	 * 
-	 * @param mSuperButtonToastStyle
+	 * @param mToastStyle
 	 * 
 	 * <br>
 	 *  
@@ -584,14 +665,35 @@ public class SuperButtonToast
 	 * <br>
 	 * 
 	 */
-	public void setStyle(SuperButtonToastStyle mSuperButtonToastStyle) {
+	public void setStyle(ToastStyle mToastStyle) {
 
-		this.undoButtonResource = mSuperButtonToastStyle.undoButtonResource;
-		this.buttonTextCharSequence = mSuperButtonToastStyle.buttonTextCharSequence;
-		this.messageTextColor = mSuperButtonToastStyle.messageTextColor;
-		this.buttonTextColor = mSuperButtonToastStyle.buttonTextColor;
-		this.backgroundResource = mSuperButtonToastStyle.backgroundResource;
-		this.dividerResource = mSuperButtonToastStyle.dividerResource;
+		this.mToastStyle = mToastStyle;
+
+	}
+	
+	
+	/**
+	 * This is used to set the style of the SuperButtonToast.
+	 * 
+	 * <br>
+	 * 
+	 * @param mSuperButtonToastStyle
+	 * 
+	 * <br>
+	 * 
+	 * @deprecated Use {@link #setStyle(ToastStyle)} instead.
+	 * 
+	 */
+	@Deprecated
+	public void setStyle(com.extlibsupertoasts.styles.SuperButtonToastStyle mSuperButtonToastStyle) {
+
+		this.mToastStyle = mToastStyle.buildUpon()
+				.setButtonResource(mSuperButtonToastStyle.undoButtonResource)
+				.setButtonText(mSuperButtonToastStyle.buttonTextCharSequence)
+				.setMessageTextColor(mSuperButtonToastStyle.messageTextColor)
+				.setButtonTextColor(mSuperButtonToastStyle.buttonTextColor)
+				.setBackgroundResource(mSuperButtonToastStyle.backgroundResource)
+				.setDividerResource(mSuperButtonToastStyle.dividerResource).build();
 
 	}
 	
@@ -642,7 +744,7 @@ public class SuperButtonToast
 	 */
 	public void setBackgroundResource(int backgroundResource) {
 
-		this.backgroundResource = backgroundResource;
+		this.mToastStyle = mToastStyle.buildUpon().setBackgroundResource(backgroundResource).build();
 
 	}
 	
@@ -673,6 +775,25 @@ public class SuperButtonToast
 		this.backgroundDrawable = backgroundDrawable;
 
 	}
+
+
+	/**
+	 * This is used to set the background of the SuperButtonToast to any color.
+	 * The background has the same shape and shadow as the backgrounds of
+	 * this library, so no image is needed for a new color.
+	 * 
+	 * <br>
+	 * @param backgroundColor 
+	 * <br>
+	 * Example: (Color.argb(245, 0, 150, 136))
+	 * <br>
+	 * 
+	 */
+	public void setBackgroundColor(int backgroundColor) {
+
+		this.backgroundDrawable = DrawableCache.getInstance().getColorBackground(mContext, backgroundColor);
+
+	}
 	
 	
 	/**
@@ -701,7 +822,7 @@ public class SuperButtonToast
 	 */
 	public void setButtonResource(int undoButtonResource) {
 
-		this.undoButtonResource = undoButtonResource;
+		this.mToastStyle = mToastStyle.buildUpon().setButtonResource(undoButtonResource).build();
 
 	}
 	
@@ -761,7 +882,7 @@ public class SuperButtonToast
 	 */
 	public void setDividerResource(int dividerResource) {
 
-		this.dividerResource = dividerResource;
+		this.mToastStyle = mToastStyle.buildUpon().setDividerResource(dividerResource).build();
 
 	}
 	
@@ -938,7 +1059,7 @@ public class SuperButtonToast
 	 */
 	public void setMessageTextTypeface(final Typeface messageTypeface) {
 
-		this.messageTypeface = messageTypeface;
+		this.mToastStyle = mToastStyle.buildUpon().setMessageTypeface(messageTypeface).build();
 
 	}
 	
@@ -964,11 +1085,19 @@ public class SuperButtonToast
 	 */
 	public void setButtonText(CharSequence buttonTextCharSequence) {
 
-		this.buttonTextCharSequence = buttonTextCharSequence;
+		this.mToastStyle = mToastStyle.buildUpon().setButtonText(buttonTextCharSequence).build();
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
 
 		if (mButton != null) {
 
-			mButton.setText(buttonTextCharSequence);
+			mButton.setText(mToastStyle.buttonText);
 
 		}
 
@@ -1003,7 +1132,7 @@ public class SuperButtonToast
 	 */
 	public void setButtonTextColor(final int buttonTextColor) {
 
-		this.buttonTextColor = buttonTextColor;
+		this.mToastStyle = mToastStyle.buildUpon().setButtonTextColor(buttonTextColor).build();
 
 	}
 	
@@ -1082,7 +1211,7 @@ public class SuperButtonToast
 	public void setButtonTextTypeface(Typeface buttonTextTypeface)
 	{
 		
-		this.buttonTextTypeface = buttonTextTypeface;
+		this.mToastStyle = mToastStyle.buildUpon().setButtonTypeface(buttonTextTypeface).build();
 		
 	}	
 	
@@ -1121,6 +1250,14 @@ public class SuperButtonToast
 	 */
 	public void dismiss() {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_DISMISS);
+
+			return;
+
+		}
+
 		dismissWithAnimation();
 
 	}
@@ -1134,14 +1271,17 @@ public class SuperButtonToast
 	 */
 	public void dismissImmediately() {
 
-		if (toastView != null && mViewGroup != null) {
-			
-			if (mHandler != null) {
+		if (!SuperToastDispatcher.isMainThread()) {
 
-				mHandler.removeCallbacks(hideToastRunnable);
-				mHandler = null;
+			mMutation.post(SuperToastDispatcher.OP_DISMISSIMMEDIATELY);
 
-			}
+			return;
+
+		}
+
+		if (toastView != null && mViewGroup != null) {
+			
+			TimingWheel.getInstance().cancel(mHideTimeout);
 			
 			if(mButton != null) {
 				
@@ -1149,8 +1289,8 @@ public class SuperButtonToast
 				
 			}
 
-			mViewGroup.removeView(toastView);
-			toastView = null;
+			ViewBatcher.getInstance().removeView(mViewGroup, toastView);
+			recycleView();
 
 		} else {
 
@@ -1164,6 +1304,14 @@ public class SuperButtonToast
 			
 		}
 
+		if (channel != null) {
+
+			SuperToastManager.getInstance().release(channel, mThrottled);
+
+		}
+
+		unregister();
+
 	}
 	
 	
@@ -1171,7 +1319,8 @@ public class SuperButtonToast
 	
 	
 	/**
-	 * This is used to get the SuperButtonToast View.
+	 * This is used to get the SuperButtonToast View. The View is
+	 * null until the SuperButtonToast is shown.
 	 * 
 	 * <br>
 	 * 
@@ -1259,7 +1408,8 @@ public class SuperButtonToast
 	 * This is used to get and load a Roboto font. You <b><i>MUST</i></b> put the
 	 * desired font file in the assets folder of your project. The link to
 	 * download the Roboto fonts is included in this library as a text file. Do
-	 * not modify the names of these fonts.
+	 * not modify the names of these fonts. Each font is only loaded once, later
+	 * calls return the same Typeface.
 	 * 
 	 * <br>
 	 * 
@@ -1278,14 +1428,183 @@ public class SuperButtonToast
 	 */
 	public Typeface loadRobotoTypeface(String typefaceString) {
 
-		return Typeface.createFromAsset(mContext.getAssets(), typefaceString);
+		return TypefaceCache.getInstance().get(mContext, typefaceString);
 
 	}
 
 	
+	/**
+	 * Called by SuperToasts when a SuperButtonToast with the same tag and id is shown.
+	 * Takes over its message, button text, style and background. A scheduled hide
+	 * timeout is restarted with its duration, an indeterminate SuperButtonToast
+	 * keeps showing. Returns false if the View of this SuperButtonToast is not attached.
+	 */
+	boolean replace(SuperButtonToast mSuperButtonToast) {
+
+		if (toastView == null || !ViewBatcher.getInstance().isAttached(toastView)) {
+
+			return false;
+
+		}
+
+		mToastStyle = mSuperButtonToast.mToastStyle;
+		messageTextSize = mSuperButtonToast.messageTextSize;
+		backgroundDrawable = mSuperButtonToast.backgroundDrawable;
+		durationInteger = mSuperButtonToast.durationInteger;
+
+		setMessageText(mSuperButtonToast.messageCharSequence);
+		setButtonText(mToastStyle.buttonText);
+
+		mTextView.setTextColor(mToastStyle.messageTextColor);
+		mTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, messageTextSize);
+		mTextView.setTypeface(mToastStyle.messageTypeface);
+
+		updateBackground();
+
+		if (mHideTimeout.isScheduled()) {
+
+			TimingWheel.getInstance().schedule(mHideTimeout, durationInteger);
+
+		}
+
+		return true;
+
+	}
+	
+	
 	//XXX Private methods.
 	
 	
+	/** Applies a Button text that was set on another thread **/
+	private void applyStyle() {
+
+		if (mButton != null) {
+
+			mButton.setText(mToastStyle.buttonText);
+
+		}
+
+	}
+	
+	
+	private void updateBackground() {
+
+		if (mRootLayout == null) {
+
+			return;
+
+		}
+
+		final Drawable mBackgroundDrawable = backgroundDrawable != null ? backgroundDrawable
+				: DrawableCache.getInstance().getBackground(mContext, mToastStyle);
+
+		if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
+
+			mRootLayout.setBackgroundDrawable(mBackgroundDrawable);
+
+		} else {
+
+			mRootLayout.setBackground(mBackgroundDrawable);
+
+		}
+
+	}
+	
+	
+	private void recycleView() {
+
+		ViewPool.getInstance().release(R.layout.superbuttontoast, false, toastView);
+
+		toastView = null;
+		mRootLayout = null;
+		undodividerView = null;
+		mTextView = null;
+		mButton = null;
+
+	}
+	
+	
+	private final SuperToastDispatcher.Mutation mMutation = 
+			new SuperToastDispatcher.Mutation() {
+
+		@Override
+		void apply(int ops) {
+
+			if ((ops & SuperToastDispatcher.OP_STYLE) != 0) {
+
+				applyStyle();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_TEXT) != 0) {
+
+				setMessageText(pendingText);
+
+			}
+
+			/** Applied after the text, style and duration so show() sees the calls that were made before it **/
+			if ((ops & SuperToastDispatcher.OP_SHOW) != 0) {
+
+				show();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DISMISS) != 0) {
+
+				dismiss();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DISMISSIMMEDIATELY) != 0) {
+
+				dismissImmediately();
+
+			}
+
+		}
+
+	};
+	
+	
+	private final SuperToastManager.Throttled mThrottled = 
+			new SuperToastManager.Throttled() {
+
+		@Override
+		void show() {
+
+			display();
+
+		}
+
+		@Override
+		CharSequence getText() {
+
+			return messageCharSequence;
+
+		}
+
+		@Override
+		void merge(CharSequence text) {
+
+			if (toastView == null || !ViewBatcher.getInstance().isAttached(toastView)) {
+
+				return;
+
+			}
+
+			setMessageText(text);
+
+			if (mHideTimeout.isScheduled()) {
+
+				TimingWheel.getInstance().schedule(mHideTimeout, durationInteger);
+
+			}
+
+		}
+
+	};
+	
+	
 	private Runnable hideToastRunnable = new Runnable() {
 
 		public void run() {
@@ -1295,6 +1614,8 @@ public class SuperButtonToast
 		}
 	};
 	
+	private final TimingWheel.Timeout mHideTimeout = new TimingWheel.Timeout(hideToastRunnable);
+	
 	
 	private Runnable mHideImmediateRunnable = new Runnable() 
 	{
@@ -1307,15 +1628,35 @@ public class SuperButtonToast
         }
         
     };
+	
+	private final TimingWheel.Timeout mHideImmediateTimeout = new TimingWheel.Timeout(mHideImmediateRunnable);
+	
+	private Runnable mLayerRunnable = new Runnable() {
+
+		public void run() {
+
+			if (toastView != null) {
+
+				AnimationLayers.end(toastView);
+
+			}
+
+		}
+
+	};
+	
+	private final TimingWheel.Timeout mLayerTimeout = new TimingWheel.Timeout(mLayerRunnable);
     
 	
 	private void dismissWithAnimation() {
 		
-		if (mHandler != null) {
-
-			mHandler.removeCallbacks(hideToastRunnable);
-			mHandler = null;
-
+		TimingWheel.getInstance().cancel(mHideTimeout);
+		
+		/** The View is only acquired once the SuperButtonToast is shown **/
+		if (toastView == null) {
+			
+			return;
+			
 		}
 		
 		if(mButton != null) {
@@ -1324,6 +1665,10 @@ public class SuperButtonToast
 			
 		}
 		
+		/** The layer stays until the View is recycled **/
+		TimingWheel.getInstance().cancel(mLayerTimeout);
+		AnimationLayers.begin(toastView);
+		
 
 		if (dismissAnimation != null) {
 
@@ -1332,9 +1677,8 @@ public class SuperButtonToast
 				@Override
 				public void onAnimationEnd(Animation animation) {
 
-					/** Must use Handler to modify ViewGroup in onAnimationEnd() **/
-					Handler mHandler = new Handler();
-					mHandler.post(mHideImmediateRunnable);
+					/** Must not modify the ViewGroup in onAnimationEnd() **/
+					TimingWheel.getInstance().schedule(mHideImmediateTimeout, 0);
 
 				}
 
@@ -1367,9 +1711,8 @@ public class SuperButtonToast
 				@Override
 				public void onAnimationEnd(Animation animation) {
 
-					/** Must use Handler to modify ViewGroup in onAnimationEnd() **/
-					Handler mHandler = new Handler();
-					mHandler.post(mHideImmediateRunnable);
+					/** Must not modify the ViewGroup in onAnimationEnd() **/
+					TimingWheel.getInstance().schedule(mHideImmediateTimeout, 0);
 
 				}
 
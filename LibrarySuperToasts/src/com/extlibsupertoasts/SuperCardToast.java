@@ -18,10 +18,11 @@
 package com.extlibsupertoasts;
 
 
-import com.extlibsupertoasts.styles.SuperCardToastStyle;
+import com.extlibsupertoasts.styles.ToastStyle;
 import com.extlibsupertoasts.utilities.OnDismissListener;
 import com.extlibsupertoasts.utilities.SuperToastConstants;
 import com.extlibsupertoasts.utilities.SwipeDismissListener;
+import com.extlibsupertoasts.utilities.TimingWheel;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
@@ -31,21 +32,17 @@ import android.content.Context;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
-import android.os.Handler;
+import android.os.SystemClock;
 import android.util.Log;
 import android.util.TypedValue;
 import android.view.Display;
-import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.View.OnClickListener;
 import android.view.View.OnTouchListener;
-import android.view.animation.AlphaAnimation;
 import android.view.animation.Animation;
 import android.view.animation.Animation.AnimationListener;
 import android.view.animation.AnimationSet;
-import android.view.animation.RotateAnimation;
-import android.view.animation.TranslateAnimation;
 import android.widget.Button;
 import android.widget.LinearLayout;
 import android.widget.ProgressBar;
@@ -76,130 +73,158 @@ public class SuperCardToast
 	/**
 	 * This style implements a edit icon with a dark theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_EDITDARK = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_edit, "EDIT", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_EDITDARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_EDIT).setButtonText("EDIT")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a exit icon with a dark theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_EXITDARK = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_exit, "EXIT", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_EXITDARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_EXIT).setButtonText("EXIT")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a information icon with a dark theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_INFODARK = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_info, "INFO", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_INFODARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_INFO).setButtonText("INFO")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a redo icon with a dark theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_REDODARK = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_redo, "REDO", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_REDODARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_REDO).setButtonText("REDO")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a save icon with a dark theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_SAVEDARK = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_save, "SAVE", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_SAVEDARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_SAVE).setButtonText("SAVE")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a share icon with a dark theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_SHAREDARK = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_share, "SHARE", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_SHAREDARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_SHARE).setButtonText("SHARE")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a undo icon with a dark theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_UNDODARK = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_dark_undo, "UNDO", (Color.WHITE), (Color.WHITE), 
-					(com.extlibsupertoasts.R.drawable.background_greytranslucent), (Color.WHITE));
+	public static final ToastStyle STYLE_UNDODARK = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_DARK_UNDO).setButtonText("UNDO")
+			.setMessageTextColor(Color.WHITE).setButtonTextColor(Color.WHITE)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_GREYTRANSLUCENT)
+			.setDividerResource(R.color.white).build();
 	
 	/**
 	 * This style implements a edit icon with a light theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_EDITLIGHT = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_edit, "EDIT", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_EDITLIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_EDIT).setButtonText("EDIT")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a exit icon with a light theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_EXITLIGHT = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_exit, "EXIT", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_EXITLIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_EXIT).setButtonText("EXIT")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a information icon with a light theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_INFOLIGHT = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_info, "INFO", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_INFOLIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_INFO).setButtonText("INFO")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a redo icon with a light theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_REDOLIGHT = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_redo, "REDO", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_REDOLIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_REDO).setButtonText("REDO")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a save icon with a light theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_SAVELIGHT = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_save, "SAVE", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_SAVELIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_SAVE).setButtonText("SAVE")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a share icon with a light theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_SHARELIGHT = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_share, "SHARE", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_SHARELIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_SHARE).setButtonText("SHARE")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 	/**
 	 * This style implements a undo icon with a light theme background.
 	 */
-	public static final SuperCardToastStyle STYLE_UNDOLIGHT = new SuperCardToastStyle
-			(com.extlibsupertoasts.R.drawable.icon_light_undo, "UNDO", (Color.DKGRAY), (Color.DKGRAY), 
-					(com.extlibsupertoasts.R.drawable.background_whitetranslucent), (Color.DKGRAY));
+	public static final ToastStyle STYLE_UNDOLIGHT = new ToastStyle.Builder()
+			.setButtonResource(SuperToastConstants.BUTTON_LIGHT_UNDO).setButtonText("UNDO")
+			.setMessageTextColor(Color.DKGRAY).setButtonTextColor(Color.DKGRAY)
+			.setBackgroundResource(SuperToastConstants.BACKGROUND_WHITETRANSLUCENT)
+			.setDividerResource(R.color.darkgrey).build();
 	
 
 	private Context mContext;
 	private LinearLayout mContainer;
 	private int sdkVersion = android.os.Build.VERSION.SDK_INT;
-	private Handler mHandler;
 	private View toastView;
-	private LayoutInflater mLayoutInflater;
 	private TextView mTextView; 
 	private ProgressBar mProgressBar;
 	private Button mButton;
 	private View mDivider;
 	private LinearLayout mRootLayout;
+	private AnimationSet mShowAnimation;
+	private AnimationSet mDismissAnimation;
 	private Type mType = Type.STANDARD;
 	private ProgressStyle mProgressStyle = ProgressStyle.CIRCLE;
+	private int layoutResource;
 	
 	
 	private CharSequence textCharSequence;
-	private CharSequence buttonTextCharSequence;	
+
+	/** The colors, typefaces, resources and Button text, the setters derive a new interned style **/
+	private ToastStyle mToastStyle = ToastStyle.DEFAULT;
 	private boolean touchDismiss;
 	private boolean touchImmediateDismiss;
 	private boolean swipeDismiss;
-	private int backgroundResource = (SuperToastConstants.BACKGROUND_BLACK);
-	private int dividerResource = (com.extlibsupertoasts.R.color.white);
-	private int textColor = (Color.WHITE);
-	private int buttonTextColor = (Color.WHITE);
-	private int buttonResource = (SuperToastConstants.BUTTON_DARK_UNDO);
+	private int timesTouched;
+
+	/** The SuperCardToast is held by a SuperCardToastContainer, it only has a View while it is in the visible area **/
+	private boolean isHosted;
 	private int duration = (SuperToastConstants.DURATION_LONG);
-	private Typeface typeface = (Typeface.DEFAULT);
-	private Typeface buttonTextTypeface = (Typeface.DEFAULT_BOLD);
 	private Drawable backgroundDrawable;
 	private Drawable dividerDrawable;
 	private Drawable buttonDrawable;
@@ -210,6 +235,20 @@ public class SuperCardToast
 	private OnClickListener mButtonOnClickListener;
 	private boolean isProgressIndeterminate;
 	private OnDismissListener mOnDismissListener;
+	private int progress;
+	private int remainingDuration;
+	private long displayTime;
+	private boolean coalesceDuplicates;
+	private boolean showDuplicateCount;
+	private int duplicateCount = 1;
+	private String channel;
+
+	/** Set by SuperToasts.show(), null if this toast has no tag and id **/
+	ToastRegistry.Key registryKey;
+	private volatile CharSequence pendingText;
+	private volatile int pendingDuration;
+	private volatile int pendingProgress;
+	private volatile int pendingPriority;
 	
 	/**
 	 * This is used to specify the type of SuperCardToast to 
@@ -275,9 +314,6 @@ public class SuperCardToast
 			
 			final Activity mActivity = (Activity) mContext;
 			
-			mLayoutInflater = (LayoutInflater) 
-					mContext.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-			
 			if(mActivity.findViewById(R.id.card_container) != null)
 			{
 				
@@ -325,9 +361,6 @@ public class SuperCardToast
 
 			final Activity mActivity = (Activity) mContext;
 
-			mLayoutInflater = (LayoutInflater) mContext
-					.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
 			if (mActivity.findViewById(R.id.card_container) != null) {
 
 				mContainer = (LinearLayout) mActivity
@@ -361,39 +394,150 @@ public class SuperCardToast
 	/**
 	 * This is used to show the SuperCardToast. You should
 	 * do all of your modifications to the SuperCardToast before calling
-	 * this method. 
+	 * this method. Every method of this class can be called from any thread.
+	 * Calls from other threads that change the showing toast or the queue are
+	 * applied on the next frame, and the last of show() and dismiss() wins.
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * SuperCardToasts are scheduled by the {@link SuperToastManager}. 
+	 * See {@link #setPriority(int)}.
+	 * </p>
+	 * 
 	 */
 	public void show()
+	{
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_SHOW);
+
+			return;
+
+		}
+
+		if (channel != null && !SuperToastManager.getInstance().acquire(channel, mThrottled)) {
+
+			/** A deferred toast is shown later, a dropped or merged one never is **/
+			if (!mThrottled.deferred) {
+
+				unregister();
+
+			}
+
+			return;
+
+		}
+
+		schedule();
+
+	}
+
+
+	private void schedule()
+	{
+		
+		remainingDuration = duration;
+		
+		mEntry.coalesceKey = coalesceDuplicates ? getCoalesceKey() : null;
+		
+		SuperToastManager.getInstance().add(mEntry);
+
+		/** The manager coalesced this toast into a duplicate that is queued or showing **/
+		if (mEntry.state == SuperToastManager.Entry.STATE_IDLE) {
+
+			unregister();
+
+		}
+
+	}
+
+
+	/** Unregisters a toast of SuperToasts.show() that has no queued, deferred or showing instance **/
+	private void unregister() {
+
+		if (registryKey != null) {
+
+			ToastRegistry.getInstance().remove(registryKey, this);
+			registryKey = null;
+
+		}
+
+	}
+	
+	
+	/**
+	 * Called by the SuperToastManager when this SuperCardToast reaches
+	 * the front of the queue.
+	 */
+	private void display()
 	{
         			
 		if(mType == Type.STANDARD)
 		{
 			
-			toastView = mLayoutInflater
-		    		.inflate(R.layout.supercardtoast_toast, mContainer, false);
+			layoutResource = R.layout.supercardtoast_toast;
 			
 		} else if(mType == Type.BUTTON) {
 			
-			toastView = mLayoutInflater
-		    		.inflate(R.layout.supercardtoast_button, mContainer, false);
+			layoutResource = R.layout.supercardtoast_button;
 			
 		} else if(mType == Type.PROGRESS) {
 			
 			if(mProgressStyle == ProgressStyle.CIRCLE) {
 
-				toastView = mLayoutInflater
-			    		.inflate(R.layout.supercardtoast_progresscircle, mContainer, false);
+				layoutResource = R.layout.supercardtoast_progresscircle;
 				
 			} else if(mProgressStyle == ProgressStyle.HORIZONTAL) {
 
-				toastView = mLayoutInflater
-			    		.inflate(R.layout.supercardtoast_progresshorizontal, mContainer, false);
+				layoutResource = R.layout.supercardtoast_progresshorizontal;
 				
 			}
 			
 		}
 		
-		if (touchDismiss || touchImmediateDismiss) {
+		if(!isIndeterminate) {
+				
+			TimingWheel.getInstance().schedule(mHideTimeout, remainingDuration);
+			displayTime = SystemClock.uptimeMillis();
+												
+		}
+
+		mContainer.setVisibility(View.VISIBLE);
+
+		if (mContainer instanceof SuperCardToastContainer) {
+
+			/** The container binds the View once the card is in its visible area **/
+			isHosted = true;
+
+			((SuperCardToastContainer) mContainer).addCard(this);
+
+		} else {
+
+			bindView(true);
+
+		}
+
+	}
+
+
+	/**
+	 * Acquires the View of this SuperCardToast, fills it and adds it to the
+	 * container on the next frame. A SuperCardToastContainer calls this again
+	 * without the Animation when the card scrolls back into view.
+	 */
+	View bindView(boolean animate)
+	{
+
+		toastView = ViewPool.getInstance().acquire(mContext, layoutResource, mContainer);
+		
+		/** A SuperCardToastContainer handles the touches of all of its cards **/
+		if (!isHosted && (touchDismiss || touchImmediateDismiss)) {
 
 			if (touchDismiss) {
 
@@ -407,7 +551,7 @@ public class SuperCardToast
 
 			}
 
-		} else if (sdkVersion > android.os.Build.VERSION_CODES.HONEYCOMB_MR1
+		} else if (!isHosted && sdkVersion > android.os.Build.VERSION_CODES.HONEYCOMB_MR1
 				&& swipeDismiss) {
 
 			final SwipeDismissListener touchListener = new SwipeDismissListener(
@@ -416,7 +560,7 @@ public class SuperCardToast
 						@Override
 						public void onDismiss(View view) {
 
-							mContainer.removeView(toastView);
+							dismissImmediately();
 
 						}
 
@@ -426,23 +570,15 @@ public class SuperCardToast
 
 		}
 			
-			
-		if(!isIndeterminate) {
-				
-			mHandler = new Handler();
-			mHandler.postDelayed(mHideRunnable, duration);
-												
-		}
-			
 		
 	    mTextView = (TextView) 
 	    		toastView.findViewById(R.id.messageTextView);	    
 	    		
-	    mTextView.setTextColor(textColor);
+	    mTextView.setTextColor(mToastStyle.messageTextColor);
 	    			    	
-		mTextView.setText(textCharSequence);
+		mTextView.setText(getMessageText());
 		
-		mTextView.setTypeface(typeface);
+		mTextView.setTypeface(mToastStyle.messageTypeface);
 		
 		mTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSize);
 
@@ -458,47 +594,38 @@ public class SuperCardToast
 
 			} else {
 
-				mButton.setCompoundDrawablesWithIntrinsicBounds(null, null, mContext.getResources()
-						.getDrawable(buttonResource), null);
+				mButton.setCompoundDrawablesWithIntrinsicBounds(null, null, DrawableCache.getInstance()
+						.getButton(mContext, mToastStyle), null);
 				
 			}
 								
-			if (mButtonOnClickListener != null) {
+			/** Set even when null so a pooled Button never calls the listener of another SuperCardToast **/
+			mButton.setOnClickListener(mButtonOnClickListener);
 
-				mButton.setOnClickListener(mButtonOnClickListener);
-
-			}
-
-			else {
+			if (mButtonOnClickListener == null) {
 
 				Log.e(TAG, ERROR_NOCLICKLISTENER);
 				
 			}
 
 			mButton.setTextSize(TypedValue.COMPLEX_UNIT_SP, buttonTextSize);
-			mButton.setTextColor(buttonTextColor);
-			mButton.setText(buttonTextCharSequence);
-			mButton.setTypeface(buttonTextTypeface);
+			mButton.setTextColor(mToastStyle.buttonTextColor);
+			mButton.setText(mToastStyle.buttonText);
+			mButton.setTypeface(mToastStyle.buttonTypeface);
 
 			
-			mDivider = (View) 
-					toastView.findViewById(R.id.dividerView);
+			mDivider = toastView.findViewById(R.id.dividerView);
 			
-			if (dividerDrawable != null) {
-
-				if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
+			final Drawable mDividerDrawable = dividerDrawable != null ? dividerDrawable
+					: DrawableCache.getInstance().getDivider(mContext, mToastStyle);
 
-					mDivider.setBackgroundDrawable(dividerDrawable);
-
-				} else {
-
-					mDivider.setBackground(dividerDrawable);
+			if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
 
-				}
+				mDivider.setBackgroundDrawable(mDividerDrawable);
 
 			} else {
 
-				mDivider.setBackgroundResource(dividerResource);
+				mDivider.setBackground(mDividerDrawable);
 
 			}
 			
@@ -510,6 +637,7 @@ public class SuperCardToast
 					toastView.findViewById(R.id.progressBar);
 			
 			mProgressBar.setIndeterminate(isProgressIndeterminate);
+			mProgressBar.setProgress(progress);
 			
 		}
 		
@@ -517,66 +645,57 @@ public class SuperCardToast
 	    mRootLayout = (LinearLayout)
 			   toastView.findViewById(R.id.root_layout);
 	   
-	    
-		if(backgroundDrawable != null) {
+	    updateBackground();
 
-			if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
+		
+		if(mOnClickListener != null) {
+			
+			mRootLayout.setOnClickListener(mOnClickListener);
+			
+		}
 
-				mRootLayout.setBackgroundDrawable(backgroundDrawable);
 
-			} else {
+		ViewBatcher.getInstance().addView(mContainer, toastView);
+
+		if (animate) {
 
-				mRootLayout.setBackground(backgroundDrawable);
+			/** A card that is shown again still owns the set of its last show **/
+			if (mShowAnimation == null) {
+
+				mShowAnimation = CardAnimations.getInstance().acquireShowAnimation();
 
 			}
 
-		} else {
+			mShowAnimation.setAnimationListener(mShowAnimationListener);
 
-			mRootLayout.setBackgroundResource(backgroundResource);
+			/** The ViewBatcher gives the View a layer once it is attached **/
+			toastView.startAnimation(mShowAnimation);
 
 		}
 
-		
-		if(mOnClickListener != null) {
-			
-			mRootLayout.setOnClickListener(mOnClickListener);
+		return toastView;
 			
-		}
+	}
 
-			
-		mContainer.setVisibility(View.VISIBLE);
 
-		mContainer.addView(toastView);
-		
-		final Animation mAnimation = getCardAnimation();
-		
-		mAnimation.setAnimationListener(new AnimationListener() {
+	/** Called by the SuperCardToastContainer when this SuperCardToast leaves its visible area **/
+	void unbindView()
+	{
 
-			@Override
-			public void onAnimationEnd(Animation arg0) {
+		toastView.clearAnimation();
 
-				/** Must use Handler to modify ViewGroup in onAnimationEnd() **/
-				Handler mHandler = new Handler();
-				mHandler.post(mInvalidateRunnable);
-				
-			}
+		ViewBatcher.getInstance().removeView(mContainer, toastView);
+		recycleView();
 
-			@Override
-			public void onAnimationRepeat(Animation arg0) {
-				// Do nothing
-				
-			}
+	}
 
-			@Override
-			public void onAnimationStart(Animation arg0) {
-				// Do nothing
-				
-			}
 
-		});
+	/** A hosted SuperCardToast that was removed from the SuperToastManager is animating out **/
+	boolean isDismissing()
+	{
+
+		return mEntry.state == SuperToastManager.Entry.STATE_IDLE;
 
-		toastView.startAnimation(mAnimation);
-			
 	}
 	
 	
@@ -620,11 +739,20 @@ public class SuperCardToast
 	 */
 	public void setText(CharSequence textCharSequence) {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingText = textCharSequence;
+			mMutation.post(SuperToastDispatcher.OP_TEXT);
+
+			return;
+
+		}
+
 		this.textCharSequence = textCharSequence;
 
 		if (mTextView != null) {
 
-			mTextView.setText(textCharSequence);
+			mTextView.setText(getMessageText());
 
 		}
 
@@ -655,7 +783,15 @@ public class SuperCardToast
 	 */
 	public void setTextColor(int textColor) {
 
-		this.textColor = textColor;
+		this.mToastStyle = mToastStyle.buildUpon().setMessageTextColor(textColor).build();
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
 
 		if (mTextView != null) {
 
@@ -671,20 +807,40 @@ public class SuperCardToast
 	 * 
 	 * <br>
 	 * 
-	 * @param mSuperCardToastStyle
+	 * @param mToastStyle
+	 * <br>
+	 * Example: (SuperCardToast.STYLE_UNDODARK)
+	 * <br>
+	 * 
+	 */
+	public void setStyle(ToastStyle mToastStyle) {
+
+		this.mToastStyle = mToastStyle;
+
+	}
+
+	
+	/**
+	 * This is used to set the style of the SuperCardToast.
+	 * 
 	 * <br>
-	 * Example: (SuperCardToastStyle.STYLE_UNDODARK)
+	 * 
+	 * @param mSuperCardToastStyle
 	 * <br>
 	 * 
+	 * @deprecated Use {@link #setStyle(ToastStyle)} instead.
+	 * 
 	 */
-	public void setStyle(SuperCardToastStyle mSuperCardToastStyle) {
+	@Deprecated
+	public void setStyle(com.extlibsupertoasts.styles.SuperCardToastStyle mSuperCardToastStyle) {
 
-		this.buttonResource = mSuperCardToastStyle.undoButtonResource;
-		this.buttonTextCharSequence = mSuperCardToastStyle.buttonTextCharSequence;
-		this.textColor = mSuperCardToastStyle.messageTextColor;
-		this.buttonTextColor = mSuperCardToastStyle.buttonTextColor;
-		this.backgroundResource = mSuperCardToastStyle.backgroundResource;
-		this.dividerResource = mSuperCardToastStyle.dividerResource;
+		this.mToastStyle = mToastStyle.buildUpon()
+				.setButtonResource(mSuperCardToastStyle.undoButtonResource)
+				.setButtonText(mSuperCardToastStyle.buttonTextCharSequence)
+				.setMessageTextColor(mSuperCardToastStyle.messageTextColor)
+				.setButtonTextColor(mSuperCardToastStyle.buttonTextColor)
+				.setBackgroundResource(mSuperCardToastStyle.backgroundResource)
+				.setDividerResource(mSuperCardToastStyle.dividerResource).build();
 
 	}
 
@@ -741,15 +897,143 @@ public class SuperCardToast
 	 */
 	public void resetDuration(int newDuration) {
 
-		if (mHandler != null) {
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingDuration = newDuration;
+			mMutation.post(SuperToastDispatcher.OP_DURATION);
+
+			return;
+
+		}
+
+		/** A toast that is not showing yet is displayed for the new duration when it is shown **/
+		if (mEntry.state != SuperToastManager.Entry.STATE_SHOWING) {
+
+			this.duration = newDuration;
+			remainingDuration = newDuration;
+
+			return;
+
+		}
+
+		TimingWheel.getInstance().schedule(mHideTimeout, newDuration);
+
+		remainingDuration = newDuration;
+		displayTime = SystemClock.uptimeMillis();
+
+	}
+	
+	
+	/**
+	 * This is used to coalesce duplicate SuperCardToasts. If a SuperCardToast with
+	 * the same text and style is already showing or queued, calling {@link #show()}
+	 * will extend the duration of that SuperCardToast instead of showing another one.
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Design guide: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * This should be used for messages that can be triggered many times in a
+	 * short amount of time such as "Connection lost".
+	 * </p>
+	 * 
+	 * <br>
+	 * @param coalesceDuplicates 
+	 * <br>
+	 * 
+	 */
+	public void setCoalesceDuplicates(boolean coalesceDuplicates) {
+
+		this.coalesceDuplicates = coalesceDuplicates;
+
+	}
+	
+	
+	/**
+	 * This is used to append the number of coalesced duplicates to the message
+	 * text of the SuperCardToast, for example "Connection lost (x12)".
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * This method has no effect unless {@link #setCoalesceDuplicates(boolean)}
+	 * is set to true.
+	 * </p>
+	 * 
+	 * <br>
+	 * @param showDuplicateCount 
+	 * <br>
+	 * 
+	 */
+	public void setShowDuplicateCount(boolean showDuplicateCount) {
+
+		this.showDuplicateCount = showDuplicateCount;
+
+	}
+
+	
+	/**
+	 * This is used to assign the SuperCardToast to a rate limited channel.
+	 * See {@link SuperToastManager#setRateLimit(String, int, int, int)}.
+	 * 
+	 * <br>
+	 * @param channel 
+	 * <br>
+	 * Example: ("network-errors")
+	 * <br>
+	 * 
+	 */
+	public void setChannel(String channel) {
+
+		this.channel = channel;
+
+	}
+	
+	
+	/**
+	 * This is used to set the priority of the SuperCardToast.
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * Queued SuperCardToasts with a higher priority are shown first. A 
+	 * SuperCardToast with a higher priority will also replace a showing
+	 * SuperCardToast of a lower priority. The replaced SuperCardToast 
+	 * is shown again later for the rest of its duration. Priorities only take 
+	 * effect if {@link SuperToastManager#setMaxConcurrentCardToasts(int)} 
+	 * has been set.
+	 * </p>
+	 * 
+	 * <br>
+	 * @param priority 
+	 * <br>
+	 * Example: (SuperToastConstants.PRIORITY_HIGH)
+	 * <br>
+	 * 
+	 */
+	public void setPriority(int priority) {
+
+		if (!SuperToastDispatcher.isMainThread()) {
 
-			mHandler.removeCallbacks(mHideRunnable);
-			mHandler = null;
+			pendingPriority = priority;
+			mMutation.post(SuperToastDispatcher.OP_PRIORITY);
+
+			return;
 
 		}
 
-		mHandler = new Handler();
-		mHandler.postDelayed(mHideRunnable, newDuration);
+		SuperToastManager.getInstance().setPriority(mEntry, priority);
 
 	}
 
@@ -863,7 +1147,9 @@ public class SuperCardToast
 	 * </p>
 	 * 
 	 * <p>
-	 * This method does not work on pre-honeycomb devices.
+	 * This method does not work on pre-honeycomb devices. In a
+	 * SuperCardToastContainer the container swipes the card instead of a
+	 * SwipeDismissListener.
 	 * </p>
 	 * 
 	 * <br>
@@ -929,7 +1215,7 @@ public class SuperCardToast
 	 */
 	public void setBackgroundResource(int backgroundResource) {
 
-		this.backgroundResource = backgroundResource;
+		this.mToastStyle = mToastStyle.buildUpon().setBackgroundResource(backgroundResource).build();
 
 	}
 
@@ -958,6 +1244,25 @@ public class SuperCardToast
 		this.backgroundDrawable = backgroundDrawable;
 
 	}
+
+
+	/**
+	 * This is used to set the background of the SuperCardToast to any color.
+	 * The background has the same shape and shadow as the backgrounds of
+	 * this library, so no image is needed for a new color.
+	 * 
+	 * <br>
+	 * @param backgroundColor 
+	 * <br>
+	 * Example: (Color.argb(245, 0, 150, 136))
+	 * <br>
+	 * 
+	 */
+	public void setBackgroundColor(int backgroundColor) {
+
+		this.backgroundDrawable = DrawableCache.getInstance().getColorBackground(mContext, backgroundColor);
+
+	}
 	
 	
 	/**
@@ -1023,7 +1328,7 @@ public class SuperCardToast
 	 */
 	public void setTypeface(Typeface typeface) {
 
-		this.typeface = typeface;
+		this.mToastStyle = mToastStyle.buildUpon().setMessageTypeface(typeface).build();
 
 	}	
 	
@@ -1062,6 +1367,14 @@ public class SuperCardToast
 	 */
 	public void dismiss() {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_DISMISS);
+
+			return;
+
+		}
+
 			dismissWithAnimation();
 
 	}
@@ -1074,18 +1387,28 @@ public class SuperCardToast
 	 * 
 	 */
 	public void dismissImmediately() {
-		
-		if(mHandler != null) { 
-			
-			mHandler.removeCallbacks(mHideRunnable);
-			mHandler = null;
-			
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_DISMISSIMMEDIATELY);
+
+			return;
+
 		}
+		
+		TimingWheel.getInstance().cancel(mHideTimeout);
 
-		if (toastView != null && mContainer != null) {
+		if (isHosted) {
 
-			mContainer.removeView(toastView);
-			toastView = null;
+			/** The container unbinds the View if the card has one **/
+			isHosted = false;
+
+			((SuperCardToastContainer) mContainer).removeCard(this);
+
+		} else if (toastView != null && mContainer != null) {
+
+			ViewBatcher.getInstance().removeView(mContainer, toastView);
+			recycleView();
 
 		} else {
 
@@ -1099,6 +1422,16 @@ public class SuperCardToast
 			
 		}
 
+		SuperToastManager.getInstance().remove(mEntry);
+
+		if (channel != null) {
+
+			SuperToastManager.getInstance().release(channel, mThrottled);
+
+		}
+
+		unregister();
+
 	}
 	
 	
@@ -1149,6 +1482,17 @@ public class SuperCardToast
 	 */
 	public void setProgress(int progress) {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingProgress = progress;
+			mMutation.post(SuperToastDispatcher.OP_PROGRESS);
+
+			return;
+
+		}
+
+		this.progress = progress;
+
 		if (mProgressBar != null) {
 
 			mProgressBar.setProgress(progress);
@@ -1248,7 +1592,7 @@ public class SuperCardToast
 	public void setButtonTextTypeface(Typeface buttonTextTypeface)
 	{
 		
-		this.buttonTextTypeface = buttonTextTypeface;
+		this.mToastStyle = mToastStyle.buildUpon().setButtonTypeface(buttonTextTypeface).build();
 		
 	}	
 	
@@ -1276,7 +1620,7 @@ public class SuperCardToast
 	 */
 	public void setButtonResource(int buttonResource) {
 
-		this.buttonResource = buttonResource;
+		this.mToastStyle = mToastStyle.buildUpon().setButtonResource(buttonResource).build();
 
 	}
 	
@@ -1335,7 +1679,7 @@ public class SuperCardToast
 	 */
 	public void setDividerResource(int dividerResource) {
 
-		this.dividerResource = dividerResource;
+		this.mToastStyle = mToastStyle.buildUpon().setDividerResource(dividerResource).build();
 
 	}
 	
@@ -1397,7 +1741,7 @@ public class SuperCardToast
 	 */
 	public void setButtonTextColor(final int buttonTextColor) {
 
-		this.buttonTextColor = buttonTextColor;
+		this.mToastStyle = mToastStyle.buildUpon().setButtonTextColor(buttonTextColor).build();
 
 	}
 	
@@ -1423,11 +1767,19 @@ public class SuperCardToast
 	 */
 	public void setButtonText(CharSequence buttonTextCharSequence) {
 
-		this.buttonTextCharSequence = buttonTextCharSequence;
+		this.mToastStyle = mToastStyle.buildUpon().setButtonText(buttonTextCharSequence).build();
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
 
 		if (mButton != null) {
 
-			mButton.setText(buttonTextCharSequence);
+			mButton.setText(mToastStyle.buttonText);
 
 		}
 
@@ -1454,6 +1806,23 @@ public class SuperCardToast
 	}
 
 	
+	/**
+	 * This is used to get the priority of the SuperCardToast.
+	 * 
+	 * <br>
+	 * 
+	 * @return int
+	 * 
+	 * <br>
+	 * 
+	 */
+	public int getPriority() {
+
+		return mEntry.priority;
+
+	}
+
+	
 	/**
 	 * This is used to get the SuperCardToast View.
 	 * 
@@ -1492,7 +1861,8 @@ public class SuperCardToast
 
 		else {
 
-			return false;
+			/** A hosted card without a View is showing outside of the visible area **/
+			return isHosted;
 
 		}
 
@@ -1503,7 +1873,8 @@ public class SuperCardToast
 	 * This is used to get and load a Roboto font. You <b><i>MUST</i></b> put the
 	 * desired font file in the assets folder of your project. The link to
 	 * download the Roboto fonts is included in this library as a text file. Do
-	 * not modify the names of these fonts.
+	 * not modify the names of these fonts. Each font is only loaded once, later
+	 * calls return the same Typeface.
 	 * 
 	 * <br>
 	 * @param typefaceString
@@ -1518,43 +1889,186 @@ public class SuperCardToast
 	 */
 	public Typeface loadRobotoTypeface(String typefaceString) {
 
-		return Typeface.createFromAsset(mContext.getAssets(), typefaceString);
+		return TypefaceCache.getInstance().get(mContext, typefaceString);
 
 	}
 	
 	
-	//XXX: Private methods.
+	/**
+	 * Called by SuperToasts when a SuperCardToast with the same tag and id is shown.
+	 * Takes over its text, button text, style, background, progress and duration. A
+	 * showing SuperCardToast that is not indeterminate starts the new duration now,
+	 * a queued one when it is displayed. Returns false if this SuperCardToast is
+	 * neither showing nor queued.
+	 */
+	boolean replace(SuperCardToast mSuperCardToast)
+	{
+
+		if (mEntry.state == SuperToastManager.Entry.STATE_IDLE) {
+
+			return false;
+
+		}
+
+		mToastStyle = mSuperCardToast.mToastStyle;
+		textSize = mSuperCardToast.textSize;
+		backgroundDrawable = mSuperCardToast.backgroundDrawable;
+		isProgressIndeterminate = mSuperCardToast.isProgressIndeterminate;
+		duration = mSuperCardToast.duration;
+
+		setText(mSuperCardToast.textCharSequence);
+		setButtonText(mToastStyle.buttonText);
+		setProgress(mSuperCardToast.progress);
+
+		if (mTextView != null) {
+
+			mTextView.setTextColor(mToastStyle.messageTextColor);
+			mTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSize);
+			mTextView.setTypeface(mToastStyle.messageTypeface);
+
+		}
+
+		if (mProgressBar != null) {
+
+			mProgressBar.setIndeterminate(isProgressIndeterminate);
+
+		}
+
+		updateBackground();
+
+		if (mEntry.state != SuperToastManager.Entry.STATE_SHOWING) {
+
+			remainingDuration = duration;
+
+		} else if (!isIndeterminate) {
+
+			resetDuration(duration);
+
+		}
+
+		return true;
+
+	}
 	
 	
-	private Animation getCardAnimation()
+	/**
+	 * Called by the SuperCardToastContainer when this SuperCardToast can be
+	 * swiped away, the same rules as the SwipeDismissListener apply.
+	 */
+	boolean isSwipeable()
 	{
-		
-		AnimationSet mAnimationSet = new AnimationSet(false);
-		
-		TranslateAnimation mTranslateAnimation = new TranslateAnimation(0f, 0f, 1f, 0f);
-		mTranslateAnimation.setDuration(200);
-		
-		mAnimationSet.addAnimation(mTranslateAnimation);
 
-		
-		AlphaAnimation mAlphaAnimation = new AlphaAnimation(0f, 1f);
-		mAlphaAnimation.setDuration(400);
-		
-		mAnimationSet.addAnimation(mAlphaAnimation);
-		
+		return swipeDismiss && !touchDismiss && !touchImmediateDismiss
+				&& sdkVersion > android.os.Build.VERSION_CODES.HONEYCOMB_MR1;
 
-		RotateAnimation mRotationAnimation = new RotateAnimation(15f, 0f, 0f, 0f);
-		mRotationAnimation.setDuration(225);
-		
-		mAnimationSet.addAnimation(mRotationAnimation);
+	}
+	
+	
+	/** Called by the SuperCardToastContainer when a pointer goes down on this SuperCardToast **/
+	void onTouched()
+	{
+
+		if (touchDismiss) {
+
+			/** This is a little hack to prevent the user from repeatedly 
+			 *  touching the SuperCardToast causing erratic behavior **/
+			if (timesTouched == 0) {
+
+				dismiss();
+
+			} 
+			
+			timesTouched++;
+
+		} else if (touchImmediateDismiss) {
+
+			dismissImmediately();
+
+		}
+
+	}
+	
+	
+	//XXX: Private methods.
+
+
+	/** Applies a text color and Button text that were set on another thread **/
+	private void applyStyle()
+	{
+
+		if (mTextView != null) {
+
+			mTextView.setTextColor(mToastStyle.messageTextColor);
+
+		}
+
+		if (mButton != null) {
+
+			mButton.setText(mToastStyle.buttonText);
 
-		return mAnimationSet;
+		}
+
+	}
+
+	
+	
+	private void updateBackground() {
+
+		if (mRootLayout == null) {
+
+			return;
+
+		}
+
+		final Drawable mBackgroundDrawable = backgroundDrawable != null ? backgroundDrawable
+				: DrawableCache.getInstance().getBackground(mContext, mToastStyle);
+
+		if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
+
+			mRootLayout.setBackgroundDrawable(mBackgroundDrawable);
+
+		} else {
+
+			mRootLayout.setBackground(mBackgroundDrawable);
+
+		}
+
+	}
+	
+	
+	private void recycleView()
+	{
+		
+		ViewPool.getInstance().release(layoutResource, false, toastView);
+		
+		toastView = null;
+		mRootLayout = null;
+		mDivider = null;
+		mTextView = null;
+		mProgressBar = null;
+		mButton = null;
 		
 	}
 	
 	
 	private void dismissWithAnimation()
 	{
+
+		TimingWheel.getInstance().cancel(mHideTimeout);
+
+		/** Let the next SuperCardToast show while this one animates out **/
+		SuperToastManager.getInstance().remove(mEntry);
+
+		if (toastView == null || !ViewBatcher.getInstance().isAttached(toastView)) {
+
+			dismissImmediately();
+
+			return;
+
+		}
+
+		/** The layer stays until the View is recycled **/
+		AnimationLayers.begin(toastView);
 				
 		if(sdkVersion > android.os.Build.VERSION_CODES.HONEYCOMB_MR1)
 		{
@@ -1565,80 +2079,50 @@ public class SuperCardToast
        	 		.translationX(mViewWidth)
        	 		.alpha(0)
        	 		.setDuration(500)
-       	 		.setListener(new AnimatorListenerAdapter() 
-       	 		{
-       	 		
-       	 			@Override
-       	 			public void onAnimationEnd(Animator animation) 
-       	 			{
-            	 
-    					/** Must use Handler to modify ViewGroup in onAnimationEnd() **/
-    					Handler mHandler = new Handler();
-    					mHandler.post(mHideImmediateRunnable);
-    					
-       	 			}
-       	 			
-       	 		});
+       	 		.setListener(getDismissAnimatorListener());
 
 		}
 		
 		else
 		{
 
-			AnimationSet mAnimationSet = new AnimationSet(false);
-			
 			final Activity mActivity = (Activity) mContext;
 			
 			Display display = mActivity.getWindowManager().getDefaultDisplay(); 
 
 			int width = display.getWidth(); 
 			
-			TranslateAnimation mTranslateAnimation = new TranslateAnimation(0f, width, 0f, 0f);
-			mTranslateAnimation.setDuration(500);
-			mAnimationSet.addAnimation(mTranslateAnimation);
-
-			
-			AlphaAnimation mAlphaAnimation = new AlphaAnimation(1f, 0f);
-			mAlphaAnimation.setDuration(500);
-			mAnimationSet.addAnimation(mAlphaAnimation);
-			
+			mDismissAnimation = CardAnimations.getInstance().acquireDismissAnimation(width);
+			mDismissAnimation.setAnimationListener(mDismissAnimationListener);
 			
-			mAnimationSet.setAnimationListener(new AnimationListener()
-			{
+			toastView.startAnimation(mDismissAnimation);
+						
 
-				@Override
-				public void onAnimationEnd(Animation animation) 
-				{
+		}
 
-					/** Must use Handler to modify ViewGroup in onAnimationEnd() **/
-					Handler mHandler = new Handler();
-					mHandler.post(mHideImmediateRunnable);
-					
-				}
+	}
+	
+	
+	private Animator.AnimatorListener getDismissAnimatorListener() {
 
-				@Override
-				public void onAnimationRepeat(Animation animation) 
-				{
-					
-					// Not used
-					
-				}
+		if (mDismissAnimatorListener == null) {
+
+			mDismissAnimatorListener = new AnimatorListenerAdapter() {
 
 				@Override
-				public void onAnimationStart(Animation animation) 
-				{
+				public void onAnimationEnd(Animator animation) {
+
+					/** Must not modify the ViewGroup in onAnimationEnd() **/
+					TimingWheel.getInstance().schedule(mHideImmediateTimeout, 0);
 
-					// Not used
-					
 				}
 
-			});
-			
-			toastView.startAnimation(mAnimationSet);
-						
+			};
 
 		}
 
+		return (Animator.AnimatorListener) mDismissAnimatorListener;
+
 	}
 	
 	
@@ -1653,6 +2137,8 @@ public class SuperCardToast
         }
         
     };
+	
+	private final TimingWheel.Timeout mHideTimeout = new TimingWheel.Timeout(mHideRunnable);
     
     
 	private Runnable mHideImmediateRunnable = new Runnable() 
@@ -1660,12 +2146,235 @@ public class SuperCardToast
 		 
         public void run() 
         {
+        	
+        	if (mDismissAnimation != null) {
+        		
+        		CardAnimations.getInstance().releaseDismissAnimation(mDismissAnimation);
+        		mDismissAnimation = null;
+        		
+        	}
         	        	
         	dismissImmediately();
         	 
         }
         
     };
+	
+	private final TimingWheel.Timeout mHideImmediateTimeout = new TimingWheel.Timeout(mHideImmediateRunnable);
+    
+    
+	private final SuperToastDispatcher.Mutation mMutation = 
+			new SuperToastDispatcher.Mutation() {
+
+		@Override
+		void apply(int ops) {
+
+			if ((ops & SuperToastDispatcher.OP_PRIORITY) != 0) {
+
+				setPriority(pendingPriority);
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_STYLE) != 0) {
+
+				applyStyle();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_TEXT) != 0) {
+
+				setText(pendingText);
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_PROGRESS) != 0) {
+
+				setProgress(pendingProgress);
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DURATION) != 0) {
+
+				resetDuration(pendingDuration);
+
+			}
+
+			/** Applied after the text, style and duration so show() sees the calls that were made before it **/
+			if ((ops & SuperToastDispatcher.OP_SHOW) != 0) {
+
+				show();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DISMISS) != 0) {
+
+				dismiss();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DISMISSIMMEDIATELY) != 0) {
+
+				dismissImmediately();
+
+			}
+
+		}
+
+	};
+	
+	
+	private final SuperToastManager.Throttled mThrottled = 
+			new SuperToastManager.Throttled() {
+
+		@Override
+		void show() {
+
+			schedule();
+
+		}
+
+		@Override
+		CharSequence getText() {
+
+			return textCharSequence;
+
+		}
+
+		@Override
+		void merge(CharSequence text) {
+
+			if (mEntry.state == SuperToastManager.Entry.STATE_IDLE) {
+
+				return;
+
+			}
+
+			setText(text);
+
+			if (isIndeterminate) {
+
+				return;
+
+			}
+
+			if (mEntry.state == SuperToastManager.Entry.STATE_SHOWING) {
+
+				resetDuration(duration);
+
+			} else {
+
+				remainingDuration = duration;
+
+			}
+
+		}
+
+	};
+	
+	
+	private final SuperToastManager.Entry mEntry = 
+			new SuperToastManager.Entry(SuperToastManager.TYPE_CARDTOAST) {
+
+		@Override
+		Object getLane() {
+
+			return mContainer;
+
+		}
+
+		@Override
+		void display() {
+
+			SuperCardToast.this.display();
+
+		}
+
+		@Override
+		void preempt() {
+
+			TimingWheel.getInstance().cancel(mHideTimeout);
+
+			remainingDuration -= (int) (SystemClock.uptimeMillis() - displayTime);
+
+			/** The View is acquired again when the SuperCardToast is displayed again **/
+			if (isHosted) {
+
+				isHosted = false;
+
+				((SuperCardToastContainer) mContainer).removeCard(SuperCardToast.this);
+
+			} else if (toastView != null) {
+
+				toastView.clearAnimation();
+				ViewBatcher.getInstance().removeView(mContainer, toastView);
+				recycleView();
+
+			}
+
+		}
+
+		@Override
+		void dismiss() {
+
+			SuperCardToast.this.dismiss();
+
+		}
+
+		@Override
+		void coalesce() {
+
+			duplicateCount++;
+
+			if (showDuplicateCount && mTextView != null) {
+
+				mTextView.setText(getMessageText());
+
+			}
+
+			if (isIndeterminate) {
+
+				return;
+
+			}
+
+			if (state == STATE_SHOWING) {
+
+				resetDuration(duration);
+
+			} else {
+
+				remainingDuration = duration;
+
+			}
+
+		}
+
+	};
+
+
+	private CharSequence getMessageText() {
+
+		if (showDuplicateCount && duplicateCount > 1) {
+
+			return textCharSequence + " (x" + duplicateCount + ")";
+
+		}
+
+		return textCharSequence;
+
+	}
+
+
+	private String getCoalesceKey() {
+
+		return new StringBuilder().append(textCharSequence).append('\u0000')
+				.append(mType).append(':').append(mProgressStyle).append(':')
+				.append(textSize).append(':')
+				.append(System.identityHashCode(mToastStyle)).append(':')
+				.append(System.identityHashCode(backgroundDrawable)).append(':')
+				.append(System.identityHashCode(buttonDrawable)).toString();
+
+	}
     
     
 	private Runnable mInvalidateRunnable = new Runnable() 
@@ -1674,6 +2383,19 @@ public class SuperCardToast
         public void run() 
         {
         	        	
+        	if (mShowAnimation != null) {
+        		
+        		CardAnimations.getInstance().releaseShowAnimation(mShowAnimation);
+        		mShowAnimation = null;
+        		
+        	}
+        	
+        	if (toastView != null) {
+        		
+        		AnimationLayers.end(toastView);
+        		
+        	}
+        	
         	if(mContainer != null) {
         		
         		mContainer.invalidate();
@@ -1683,23 +2405,71 @@ public class SuperCardToast
         }
         
     };
-    
-	private OnTouchListener mTouchDismissListener = new OnTouchListener() {
+	
+	private final TimingWheel.Timeout mInvalidateTimeout = new TimingWheel.Timeout(mInvalidateRunnable);
+	
+	/** The listeners are kept with the card so a show or dismiss does not allocate them **/
+	private final AnimationListener mShowAnimationListener = new AnimationListener() {
+
+		@Override
+		public void onAnimationEnd(Animation animation) {
 
-		int timesTouched;
+			/** Must not modify the ViewGroup in onAnimationEnd() **/
+			TimingWheel.getInstance().schedule(mInvalidateTimeout, 0);
+
+		}
 
 		@Override
-		public boolean onTouch(View view, MotionEvent event) {
+		public void onAnimationRepeat(Animation animation) {
 
-			/** This is a little hack to prevent the user from repeatedly 
-			 *  touching the SuperCardToast causing erratic behavior **/
-			if (timesTouched == 0) {
+			// Not used
 
-				dismiss();
+		}
 
-			} 
-			
-			timesTouched++;
+		@Override
+		public void onAnimationStart(Animation animation) {
+
+			// Not used
+
+		}
+
+	};
+	
+	private final AnimationListener mDismissAnimationListener = new AnimationListener() {
+
+		@Override
+		public void onAnimationEnd(Animation animation) {
+
+			/** Must not modify the ViewGroup in onAnimationEnd() **/
+			TimingWheel.getInstance().schedule(mHideImmediateTimeout, 0);
+
+		}
+
+		@Override
+		public void onAnimationRepeat(Animation animation) {
+
+			// Not used
+
+		}
+
+		@Override
+		public void onAnimationStart(Animation animation) {
+
+			// Not used
+
+		}
+
+	};
+	
+	/** An Object so the class loads before Honeycomb where Animator does not exist **/
+	private Object mDismissAnimatorListener;
+    
+	private OnTouchListener mTouchDismissListener = new OnTouchListener() {
+
+		@Override
+		public boolean onTouch(View view, MotionEvent event) {
+
+			onTouched();
 			
 			return false;
 
@@ -1712,7 +2482,7 @@ public class SuperCardToast
 		@Override
 		public boolean onTouch(View view, MotionEvent event) {
 
-			dismissImmediately();
+			onTouched();
 
 			return false;
 
@@ -0,0 +1,811 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import com.extlibsupertoasts.utilities.FrameScheduler;
+import com.extlibsupertoasts.utilities.SwipeDismissDispatcher;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.widget.LinearLayout;
+
+import java.util.IdentityHashMap;
+
+
+/**
+ * A card container that only binds Views to the SuperCardToasts in its
+ * visible area, similar to a RecyclerView. Every card that is shown keeps
+ * its place in the container, the space of the cards above and below the
+ * visible area is reserved by two spacers so a parent ScrollView can scroll
+ * to them. A card gets a View from the view pool when it scrolls into view
+ * and gives it back when it scrolls out, so adding or removing a card only
+ * lays out the bound cards no matter how many cards are shown. The heights
+ * of the cards above the visible area are kept as running sums, so a scroll,
+ * an add or a remove only walks the bound cards and the ones that scroll
+ * past instead of every card. The container
+ * also handles the touch dismissal and the swipes of all of its cards,
+ * several cards can be swiped at once.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Design guide: </b>
+ * </p>
+ *
+ * <p>
+ * Use this container in place of the LinearLayout with the id of card_container
+ * in your layout when your application shows many SuperCardToasts at once.
+ * Put it into a ScrollView so all cards can be reached. The SuperCardToast
+ * API does not change.
+ * </p>
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * Cards count down their duration while they are scrolled out of view. The
+ * space of a card that was never bound is estimated from the height of the
+ * bound cards.
+ * </p>
+ *
+ */
+public class SuperCardToastContainer extends LinearLayout
+{
+
+
+	/** Used to estimate the height of a card before any card has been measured **/
+	private static final int DEFAULT_CARDHEIGHT = 48;
+
+	/** The last of the cards in the order they were shown, they are linked so a card is removed in place **/
+	private Card mLastCard;
+	private int cardCount;
+
+	/** Finds the card of a SuperCardToast without walking the cards **/
+	private final IdentityHashMap<SuperCardToast, Card> mCardMap = new IdentityHashMap<SuperCardToast, Card>();
+
+	/** The sum and number of the heights of the cards that have been laid out **/
+	private int measuredHeight;
+	private int measuredCount;
+
+	/** The first card of the last window, null if the window is below the last card **/
+	private Card mCursor;
+
+	/** The cards above the cursor, their height is the measured sum and the estimate for the others **/
+	private int topCount;
+	private int topMeasuredHeight;
+	private int topMeasuredCount;
+
+	/** The first and last bound card, null if no card is bound **/
+	private Card mFirstBound;
+	private Card mLastBound;
+
+	/** Marks the cards of the new window while the cards of the old one are unbound **/
+	private int generation;
+
+	private final Rect mVisibleRect = new Rect();
+
+	private final SwipeDismissDispatcher mSwipeDismissDispatcher =
+			new SwipeDismissDispatcher(this, new SwipeDismissCallback());
+
+	/** Reserve the space of the unbound cards above and below the bound ones **/
+	private View mTopSpacer;
+	private View mBottomSpacer;
+
+	private long sequence;
+
+
+	public SuperCardToastContainer(Context mContext) {
+
+		super(mContext);
+
+		initialize();
+
+	}
+
+
+	public SuperCardToastContainer(Context mContext, AttributeSet mAttributeSet) {
+
+		super(mContext, mAttributeSet);
+
+		initialize();
+
+	}
+
+
+	/**
+	 * This is used to choose how the space of a swiped SuperCardToast is closed.
+	 *
+	 * <br>
+	 *
+	 * @param collapseMode
+	 *
+	 * <br>
+	 * Example: (SwipeDismissListener.COLLAPSE_HEIGHT)
+	 * <br>
+	 *
+	 */
+	public void setCollapseMode(int collapseMode) {
+
+		mSwipeDismissDispatcher.setCollapseMode(collapseMode);
+
+	}
+
+
+	/**
+	 * This is used to get the number of SuperCardToasts that are showing in
+	 * this container, including the ones without a View.
+	 *
+	 * <br>
+	 *
+	 * @return int
+	 *
+	 * <br>
+	 *
+	 */
+	public int getCardCount() {
+
+		return cardCount;
+
+	}
+
+
+	/** Called by a SuperCardToast when it is displayed, its View is bound on the next frame if it is visible **/
+	void addCard(SuperCardToast mSuperCardToast) {
+
+		final Card mCard = new Card(mSuperCardToast, ++sequence);
+
+		mCard.mPrevious = mLastCard;
+
+		if (mLastCard != null) {
+
+			mLastCard.mNext = mCard;
+
+		}
+
+		mLastCard = mCard;
+		cardCount++;
+
+		mCardMap.put(mSuperCardToast, mCard);
+
+		/** A cursor below the last card now points at the new one, the cards above it stay the same **/
+		if (mCursor == null) {
+
+			mCursor = mCard;
+
+		}
+
+		mFrameScheduler.schedule();
+
+	}
+
+
+	/** Called by a SuperCardToast when it is dismissed or preempted, its View is recycled right away **/
+	void removeCard(SuperCardToast mSuperCardToast) {
+
+		final Card mCard = mCardMap.remove(mSuperCardToast);
+
+		if (mCard == null) {
+
+			return;
+
+		}
+
+		if (isAboveCursor(mCard)) {
+
+			removeFromTop(mCard);
+
+		} else if (mCard == mCursor) {
+
+			mCursor = mCard.mNext;
+
+		}
+
+		if (mCard == mFirstBound && mCard == mLastBound) {
+
+			mFirstBound = null;
+			mLastBound = null;
+
+		} else if (mCard == mFirstBound) {
+
+			mFirstBound = mCard.mNext;
+
+		} else if (mCard == mLastBound) {
+
+			mLastBound = mCard.mPrevious;
+
+		}
+
+		if (mCard.height > 0) {
+
+			measuredHeight -= mCard.height;
+			measuredCount--;
+
+		}
+
+		if (mCard.mPrevious != null) {
+
+			mCard.mPrevious.mNext = mCard.mNext;
+
+		}
+
+		if (mCard.mNext != null) {
+
+			mCard.mNext.mPrevious = mCard.mPrevious;
+
+		} else {
+
+			mLastCard = mCard.mPrevious;
+
+		}
+
+		cardCount--;
+
+		if (mCard.mView != null) {
+
+			unbind(mCard);
+
+		}
+
+		mFrameScheduler.schedule();
+
+	}
+
+
+	@Override
+	public void addView(View child, int index, ViewGroup.LayoutParams params) {
+
+		final Object mTag = child.getTag(R.id.supercardtoast);
+
+		/** The ViewBatcher appends the Views, a card is placed between the spacers in the order of the cards **/
+		if (mTag instanceof Card) {
+
+			index = getChildIndex((Card) mTag);
+
+		}
+
+		super.addView(child, index, params);
+
+	}
+
+
+	@Override
+	protected void onAttachedToWindow() {
+
+		super.onAttachedToWindow();
+
+		getViewTreeObserver().addOnScrollChangedListener(mOnScrollChangedListener);
+
+	}
+
+
+	@Override
+	protected void onDetachedFromWindow() {
+
+		getViewTreeObserver().removeOnScrollChangedListener(mOnScrollChangedListener);
+
+		super.onDetachedFromWindow();
+
+	}
+
+
+	@Override
+	public boolean dispatchTouchEvent(MotionEvent mMotionEvent) {
+
+		/** Every event is seen here once, whether a card or the container handles it **/
+		mSwipeDismissDispatcher.onTouchEvent(mMotionEvent);
+
+		return super.dispatchTouchEvent(mMotionEvent);
+
+	}
+
+
+	@Override
+	public boolean onInterceptTouchEvent(MotionEvent mMotionEvent) {
+
+		/** The card that is swiped gets a cancel event and stops its press state **/
+		return mSwipeDismissDispatcher.isSwiping() || super.onInterceptTouchEvent(mMotionEvent);
+
+	}
+
+
+	@Override
+	public boolean onTouchEvent(MotionEvent mMotionEvent) {
+
+		/** A card without a click listener does not take the gesture, the container does **/
+		return mSwipeDismissDispatcher.isTracking() || super.onTouchEvent(mMotionEvent);
+
+	}
+
+
+	@Override
+	protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+
+		super.onLayout(changed, left, top, right, bottom);
+
+		boolean isHeightChanged = false;
+
+		final int childCount = getChildCount();
+
+		for (int i = 0; i < childCount; i++) {
+
+			final View mChild = getChildAt(i);
+			final Object mTag = mChild.getTag(R.id.supercardtoast);
+
+			/** A View that was unbound in this frame may not have been removed yet **/
+			if (mTag instanceof Card && ((Card) mTag).mView == mChild && mChild.getHeight() > 0) {
+
+				final LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) mChild.getLayoutParams();
+
+				isHeightChanged |= setHeight((Card) mTag, mChild.getHeight() + lp.topMargin + lp.bottomMargin);
+
+			}
+
+		}
+
+		/** The spacers are not resized within a layout pass, a layout of the spacers alone changes nothing **/
+		if (changed || isHeightChanged) {
+
+			mFrameScheduler.schedule();
+
+		}
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private void initialize() {
+
+		setOrientation(LinearLayout.VERTICAL);
+
+		mTopSpacer = new View(getContext());
+		mBottomSpacer = new View(getContext());
+
+		super.addView(mTopSpacer, -1, new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 0));
+		super.addView(mBottomSpacer, -1, new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 0));
+
+	}
+
+
+	/**
+	 * Binds the cards that intersect the visible area and unbinds the others.
+	 * The window moves from the first card of the last window, so only the
+	 * cards that it passes and the bound cards are walked. The Views of the
+	 * cards that stay bound are not touched.
+	 */
+	private void updateWindow() {
+
+		final int estimatedHeight = getEstimatedHeight();
+
+		int windowTop;
+		int windowBottom;
+
+		if (getLocalVisibleRect(mVisibleRect)) {
+
+			/** One more card on each side so a card is bound before it scrolls into view **/
+			windowTop = mVisibleRect.top - estimatedHeight;
+			windowBottom = mVisibleRect.bottom + estimatedHeight;
+
+		} else if (getHeight() == 0 || getWindowToken() == null) {
+
+			/** Before the first layout the screen is the best estimate **/
+			windowTop = 0;
+			windowBottom = getResources().getDisplayMetrics().heightPixels;
+
+		} else {
+
+			windowTop = 0;
+			windowBottom = 0;
+
+		}
+
+		Card mCard = mCursor;
+
+		int top = getPaddingTop() + topMeasuredHeight + (topCount - topMeasuredCount) * estimatedHeight;
+
+		/** Up while the card above the cursor reaches into the window **/
+		Card mPrevious = mCard != null ? mCard.mPrevious : mLastCard;
+
+		while (mPrevious != null && top > windowTop) {
+
+			mCard = mPrevious;
+			top -= getHeight(mCard, estimatedHeight);
+			removeFromTop(mCard);
+
+			mPrevious = mCard.mPrevious;
+
+		}
+
+		/** Down past the cards above the window, a card that animates out keeps its View until it is removed **/
+		while (mCard != null && top + getHeight(mCard, estimatedHeight) <= windowTop && !isDismissing(mCard)) {
+
+			top += getHeight(mCard, estimatedHeight);
+			addToTop(mCard);
+
+			mCard = mCard.mNext;
+
+		}
+
+		mCursor = mCard;
+
+		/** The last card that starts above the bottom of the window **/
+		Card mLast = null;
+
+		int cardTop = top;
+
+		for (Card mNext = mCard; mNext != null && cardTop < windowBottom; mNext = mNext.mNext) {
+
+			mLast = mNext;
+			cardTop += getHeight(mNext, estimatedHeight);
+
+		}
+
+		/** The window reaches down to a card of the old window that animates out **/
+		for (Card mOld = mLastBound; mOld != null && mCard != null && mOld.sequence >= mCard.sequence
+				&& (mLast == null || mOld.sequence > mLast.sequence); mOld = mOld.mPrevious) {
+
+			if (isDismissing(mOld)) {
+
+				mLast = mOld;
+
+				break;
+
+			}
+
+		}
+
+		final int currentGeneration = ++generation;
+
+		int boundHeight = 0;
+
+		if (mLast != null) {
+
+			for (Card mBound = mCard; ; mBound = mBound.mNext) {
+
+				mBound.generation = currentGeneration;
+
+				if (mBound.mView == null) {
+
+					bind(mBound);
+
+				}
+
+				boundHeight += getHeight(mBound, estimatedHeight);
+
+				if (mBound == mLast) {
+
+					break;
+
+				}
+
+			}
+
+		}
+
+		if (mFirstBound != null) {
+
+			for (Card mOld = mFirstBound; mOld != null; mOld = mOld.mNext) {
+
+				if (mOld.generation != currentGeneration && mOld.mView != null) {
+
+					unbind(mOld);
+
+				}
+
+				if (mOld == mLastBound) {
+
+					break;
+
+				}
+
+			}
+
+		}
+
+		mFirstBound = mLast != null ? mCard : null;
+		mLastBound = mLast;
+
+		final int topSpace = top - getPaddingTop();
+		final int totalHeight = measuredHeight + (cardCount - measuredCount) * estimatedHeight;
+
+		setSpacerHeight(mTopSpacer, topSpace);
+		setSpacerHeight(mBottomSpacer, Math.max(0, totalHeight - topSpace - boundHeight));
+
+	}
+
+
+	private void bind(Card mCard) {
+
+		/** Only the first bind of a card plays the show Animation **/
+		mCard.mView = mCard.mSuperCardToast.bindView(!mCard.wasBound);
+		mCard.mView.setTag(R.id.supercardtoast, mCard);
+		mCard.wasBound = true;
+
+	}
+
+
+	private void unbind(Card mCard) {
+
+		mCard.mSuperCardToast.unbindView();
+		mCard.mView = null;
+
+	}
+
+
+	/** The average height of the measured cards **/
+	private int getEstimatedHeight() {
+
+		if (measuredCount > 0) {
+
+			return measuredHeight / measuredCount;
+
+		}
+
+		return (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP,
+				DEFAULT_CARDHEIGHT, getResources().getDisplayMetrics());
+
+	}
+
+
+	/** Records the height of a laid out card in the sums, returns true if it changed **/
+	private boolean setHeight(Card mCard, int height) {
+
+		if (mCard.height == height) {
+
+			return false;
+
+		}
+
+		final boolean isAbove = isAboveCursor(mCard);
+
+		if (isAbove) {
+
+			removeFromTop(mCard);
+
+		}
+
+		if (mCard.height > 0) {
+
+			measuredHeight -= mCard.height;
+
+		} else {
+
+			measuredCount++;
+
+		}
+
+		measuredHeight += height;
+		mCard.height = height;
+
+		if (isAbove) {
+
+			addToTop(mCard);
+
+		}
+
+		return true;
+
+	}
+
+
+	private boolean isAboveCursor(Card mCard) {
+
+		return mCursor == null || mCard.sequence < mCursor.sequence;
+
+	}
+
+
+	private void addToTop(Card mCard) {
+
+		topCount++;
+
+		if (mCard.height > 0) {
+
+			topMeasuredHeight += mCard.height;
+			topMeasuredCount++;
+
+		}
+
+	}
+
+
+	private void removeFromTop(Card mCard) {
+
+		topCount--;
+
+		if (mCard.height > 0) {
+
+			topMeasuredHeight -= mCard.height;
+			topMeasuredCount--;
+
+		}
+
+	}
+
+
+	/** A card that animates out keeps its View until it is removed **/
+	private static boolean isDismissing(Card mCard) {
+
+		return mCard.mView != null && mCard.mSuperCardToast.isDismissing();
+
+	}
+
+
+	private static int getHeight(Card mCard, int estimatedHeight) {
+
+		return mCard.height > 0 ? mCard.height : estimatedHeight;
+
+	}
+
+
+	/** The child index after the attached cards that were shown before this card **/
+	private int getChildIndex(Card mCard) {
+
+		final int bottomIndex = indexOfChild(mBottomSpacer);
+
+		int index = indexOfChild(mTopSpacer) + 1;
+
+		while (index < bottomIndex) {
+
+			final Object mTag = getChildAt(index).getTag(R.id.supercardtoast);
+
+			if (mTag instanceof Card && ((Card) mTag).sequence > mCard.sequence) {
+
+				break;
+
+			}
+
+			index++;
+
+		}
+
+		return index;
+
+	}
+
+
+	private static void setSpacerHeight(View mSpacer, int height) {
+
+		final ViewGroup.LayoutParams lp = mSpacer.getLayoutParams();
+
+		if (lp.height != height) {
+
+			lp.height = height;
+			mSpacer.setLayoutParams(lp);
+
+		}
+
+	}
+
+
+	private static SuperCardToast getSuperCardToast(View mView) {
+
+		final Object mTag = mView.getTag(R.id.supercardtoast);
+
+		return mTag instanceof Card ? ((Card) mTag).mSuperCardToast : null;
+
+	}
+
+
+	private static class Card {
+
+		final SuperCardToast mSuperCardToast;
+
+		/** Orders the Views of the cards in the container **/
+		final long sequence;
+
+		/** The View while the card is in the visible area **/
+		View mView;
+
+		/** The height of the last layout including the margins, zero if the card was never laid out **/
+		int height;
+
+		boolean wasBound;
+
+		/** The neighbours in the order the cards were shown **/
+		Card mPrevious;
+		Card mNext;
+
+		/** The window that the card was last bound in **/
+		int generation;
+
+		Card(SuperCardToast mSuperCardToast, long sequence) {
+
+			this.mSuperCardToast = mSuperCardToast;
+			this.sequence = sequence;
+
+		}
+
+	}
+
+
+	private static class SwipeDismissCallback implements SwipeDismissDispatcher.Callback {
+
+		@Override
+		public Object getSwipeableItem(View view) {
+
+			final SuperCardToast mSuperCardToast = getSuperCardToast(view);
+
+			return mSuperCardToast != null && mSuperCardToast.isSwipeable() ? mSuperCardToast : null;
+
+		}
+
+		@Override
+		public void onTouched(View view) {
+
+			final SuperCardToast mSuperCardToast = getSuperCardToast(view);
+
+			if (mSuperCardToast != null) {
+
+				mSuperCardToast.onTouched();
+
+			}
+
+		}
+
+		@Override
+		public void onDismiss(View view, Object item) {
+
+			/** The card may have timed out and its View may show another card by now **/
+			if (((SuperCardToast) item).isShowing()) {
+
+				((SuperCardToast) item).dismissImmediately();
+
+			}
+
+		}
+
+	}
+
+
+	private final Runnable mUpdateRunnable = new Runnable() {
+
+		@Override
+		public void run() {
+
+			updateWindow();
+
+		}
+
+	};
+
+	private final FrameScheduler mFrameScheduler = new FrameScheduler(mUpdateRunnable);
+
+	private final ViewTreeObserver.OnScrollChangedListener mOnScrollChangedListener =
+			new ViewTreeObserver.OnScrollChangedListener() {
+
+		@Override
+		public void onScrollChanged() {
+
+			mFrameScheduler.schedule();
+
+		}
+
+	};
+
+}
@@ -18,8 +18,10 @@
 package com.extlibsupertoasts;
 
 
+import com.extlibsupertoasts.styles.ToastStyle;
 import com.extlibsupertoasts.utilities.OnDismissListener;
 import com.extlibsupertoasts.utilities.SuperToastConstants;
+import com.extlibsupertoasts.utilities.TimingWheel;
 
 import android.annotation.SuppressLint;
 import android.app.Activity;
@@ -27,10 +29,8 @@ import android.content.Context;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
-import android.os.Handler;
 import android.util.Log;
 import android.util.TypedValue;
-import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.View.OnClickListener;
@@ -65,18 +65,20 @@ public class SuperProgressToast
 				+ "Did you create and show a SuperProgressToast before trying to dismiss it?";
 	
 	private Context mContext;
-	private LayoutInflater mLayoutInflater;
 	private ViewGroup mViewGroup;
 	private View toastView;
 	private TextView messageTextView;
 	private int sdkVersion = android.os.Build.VERSION.SDK_INT;
 	private ProgressBar mProgressBar;
+	private int layoutResource = R.layout.supercircleprogresstoast;
+	private int progress;
 		
 	private CharSequence textCharSequence;
-	private int textColor = Color.WHITE;
-	private int backgroundResource = SuperToastConstants.BACKGROUND_BLACK;
+
+	/** The text color, Typeface and background, the setters derive a new interned style **/
+	private ToastStyle mToastStyle = ToastStyle.DEFAULT;
+
 	private Drawable backgroundDrawable;
-	private Typeface typeface = Typeface.DEFAULT;
 	private float textSize = SuperToastConstants.TEXTSIZE_SMALL;
 	private boolean isIndeterminate;
 	private OnClickListener mOnClickListener;
@@ -85,6 +87,12 @@ public class SuperProgressToast
 	private boolean touchDismiss;
 	private boolean touchImmediateDismiss;
 	private OnDismissListener mOnDismissListener;
+	private String channel;
+
+	/** Set by SuperToasts.show(), null if this toast has no tag and id **/
+	ToastRegistry.Key registryKey;
+	private volatile CharSequence pendingText;
+	private volatile int pendingProgress;
 
 	/**
 	 * This is used to specify the style of the ProgressBar
@@ -127,17 +135,11 @@ public class SuperProgressToast
 
 				this.mContext = mContext;
 
-				mLayoutInflater = (LayoutInflater) mContext
-						.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
 				final Activity mActivity = (Activity) mContext;
 
 				mViewGroup = (ViewGroup) mActivity
 						.findViewById(android.R.id.content);
 
-				toastView = mLayoutInflater.inflate(
-						R.layout.supercircleprogresstoast, mViewGroup, false);
-
 			} else {
 
 				throw new IllegalArgumentException(ERROR_CONTEXTNOTACTIVITY);
@@ -183,9 +185,6 @@ public class SuperProgressToast
 				
 				this.mContext = mContext;
 				
-				mLayoutInflater = (LayoutInflater) 
-						mContext.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-			    
 				final Activity mActivity = (Activity) mContext;
 				
 				mViewGroup = (ViewGroup) 
@@ -196,13 +195,11 @@ public class SuperProgressToast
 					
 					if(mProgressStyle == ProgressStyle.CIRCLE) {
 
-						toastView = mLayoutInflater
-								.inflate(R.layout.supercircleprogresstoast, mViewGroup, false);
+						layoutResource = R.layout.supercircleprogresstoast;
 						
 					} else if(mProgressStyle == ProgressStyle.HORIZONTAL) {
 						
-						toastView = mLayoutInflater
-								.inflate(R.layout.superhorizontalprogresstoast, mViewGroup, false);
+						layoutResource = R.layout.superhorizontalprogresstoast;
 						
 					}
 					
@@ -230,21 +227,71 @@ public class SuperProgressToast
 	/**
 	 * This is used to show the SuperProgressToast. You should
 	 * do all of your modifications to the SuperProgressToast before calling
-	 * this method. 
+	 * this method. Every method of this class can be called from any thread.
+	 * Calls from other threads that change the showing toast or the queue are
+	 * applied on the next frame, and the last of show() and dismiss() wins.
 	 */
 	public void show()
+	{
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_SHOW);
+
+			return;
+
+		}
+
+		if (channel != null && !SuperToastManager.getInstance().acquire(channel, mThrottled)) {
+
+			/** A deferred toast is shown later, a dropped or merged one never is **/
+			if (!mThrottled.deferred) {
+
+				unregister();
+
+			}
+
+			return;
+
+		}
+
+		display();
+
+	}
+
+
+	/** Unregisters a toast of SuperToasts.show() that has no queued, deferred or showing instance **/
+	private void unregister() {
+
+		if (registryKey != null) {
+
+			ToastRegistry.getInstance().remove(registryKey, this);
+			registryKey = null;
+
+		}
+
+	}
+
+
+	/**
+	 * Called when the rate limit of the channel allows this SuperProgressToast to be shown.
+	 */
+	private void display()
 	{
 		
-		mProgressBar = (ProgressBar)
-				toastView.findViewById(R.id.progressBar);
-		
-		
-		if (isIndeterminate) {
+		if (toastView == null) {
 
-			mProgressBar.setIndeterminate(true);
+			toastView = ViewPool.getInstance().acquire(mContext, layoutResource, mViewGroup);
 
 		}
 		
+		mProgressBar = (ProgressBar)
+				toastView.findViewById(R.id.progressBar);
+		
+		/** A pooled ProgressBar keeps the state of its last SuperProgressToast **/
+		mProgressBar.setIndeterminate(isIndeterminate);
+		mProgressBar.setProgress(progress);
+		
 		
 		if (mOnClickListener != null) {
 
@@ -270,36 +317,20 @@ public class SuperProgressToast
 				toastView.findViewById(R.id.messageTextView);
 		
 		messageTextView.setText(textCharSequence);
-		messageTextView.setTypeface(typeface);
-		messageTextView.setTextColor(textColor);
+		messageTextView.setTypeface(mToastStyle.messageTypeface);
+		messageTextView.setTextColor(mToastStyle.messageTextColor);
 		messageTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSize);
 
 
-		final LinearLayout mRootLayout = (LinearLayout) 
-				toastView.findViewById(R.id.toast_rootlayout);
-		
-		if (backgroundDrawable != null) {
-
-			if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
-
-				mRootLayout.setBackgroundDrawable(backgroundDrawable);
-
-			} else {
-
-				mRootLayout.setBackground(backgroundDrawable);
-
-			}
-
-		} else {
-
-			mRootLayout.setBackgroundResource(backgroundResource);
-
-		}
+		updateBackground();
 		
 			
-		mViewGroup.addView(toastView);
+		ViewBatcher.getInstance().addView(mViewGroup, toastView);
 
-		toastView.startAnimation(showAnimation);		    
+		/** The ViewBatcher gives the View a layer once it is attached **/
+		toastView.startAnimation(showAnimation);
+
+		TimingWheel.getInstance().schedule(mLayerTimeout, showAnimation.computeDurationHint());
 		
 	}
 	
@@ -326,6 +357,15 @@ public class SuperProgressToast
 	 */
 	public void setText(CharSequence textCharSequence) {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingText = textCharSequence;
+			mMutation.post(SuperToastDispatcher.OP_TEXT);
+
+			return;
+
+		}
+
 		this.textCharSequence = textCharSequence;
 
 		if (messageTextView != null) {
@@ -337,6 +377,24 @@ public class SuperProgressToast
 	}
 	
 	
+	/**
+	 * This is used to assign the SuperProgressToast to a rate limited channel.
+	 * See {@link SuperToastManager#setRateLimit(String, int, int, int)}.
+	 * 
+	 * <br>
+	 * @param channel 
+	 * <br>
+	 * Example: ("network-errors")
+	 * <br>
+	 * 
+	 */
+	public void setChannel(String channel) {
+
+		this.channel = channel;
+
+	}
+	
+	
 	/**
 	 * This is used to set the progress of the SuperProgressToast.
 	 * 
@@ -357,6 +415,17 @@ public class SuperProgressToast
 	 */
 	public void setProgress(int progress) {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingProgress = progress;
+			mMutation.post(SuperToastDispatcher.OP_PROGRESS);
+
+			return;
+
+		}
+
+		this.progress = progress;
+
 		if (mProgressBar != null) {
 
 			mProgressBar.setProgress(progress);
@@ -366,6 +435,35 @@ public class SuperProgressToast
 	}
 
 	
+	/**
+	 * This is used to set the style of the SuperProgressToast. Only the
+	 * message text color, background and message Typeface of the style
+	 * are used.
+	 * 
+	 * <br>
+	 * @param mToastStyle 
+	 * <br>
+	 * Example: (SuperCardToast.STYLE_UNDODARK)
+	 * <br>
+	 * 
+	 */
+	public void setStyle(ToastStyle mToastStyle) {
+
+		this.mToastStyle = mToastStyle;
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
+
+		applyStyle();
+
+	}
+	
+	
 	/**
 	 * This is used to set the message text color of the SuperProgressToast.
 	 * 
@@ -390,7 +488,15 @@ public class SuperProgressToast
 	 */
 	public void setTextColor(int textColor) {
 
-		this.textColor = textColor;
+		this.mToastStyle = mToastStyle.buildUpon().setMessageTextColor(textColor).build();
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
 
 		if (messageTextView != null) {
 
@@ -466,7 +572,7 @@ public class SuperProgressToast
 	 */
 	public void setBackgroundResource(int backgroundResource) {
 
-		this.backgroundResource = backgroundResource;
+		this.mToastStyle = mToastStyle.buildUpon().setBackgroundResource(backgroundResource).build();
 
 	}
 	
@@ -495,6 +601,25 @@ public class SuperProgressToast
 		this.backgroundDrawable = backgroundDrawable;
 
 	}
+
+
+	/**
+	 * This is used to set the background of the SuperProgressToast to any color.
+	 * The background has the same shape and shadow as the backgrounds of
+	 * this library, so no image is needed for a new color.
+	 * 
+	 * <br>
+	 * @param backgroundColor 
+	 * <br>
+	 * Example: (Color.argb(245, 0, 150, 136))
+	 * <br>
+	 * 
+	 */
+	public void setBackgroundColor(int backgroundColor) {
+
+		this.backgroundDrawable = DrawableCache.getInstance().getColorBackground(mContext, backgroundColor);
+
+	}
 	
 	
 	/**
@@ -560,7 +685,7 @@ public class SuperProgressToast
 	 */
 	public void setTypeface(Typeface typeface) {
 
-		this.typeface = typeface;
+		this.mToastStyle = mToastStyle.buildUpon().setMessageTypeface(typeface).build();
 
 	}
 		
@@ -707,6 +832,14 @@ public class SuperProgressToast
 	 */
 	public void dismiss() {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_DISMISS);
+
+			return;
+
+		}
+
 		dismissWithAnimation();
 
 	}
@@ -720,10 +853,18 @@ public class SuperProgressToast
 	 */
 	public void dismissImmediately() {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_DISMISSIMMEDIATELY);
+
+			return;
+
+		}
+
 		if (toastView != null && mViewGroup != null) {
 
-			mViewGroup.removeView(toastView);
-			toastView = null;
+			ViewBatcher.getInstance().removeView(mViewGroup, toastView);
+			recycleView();
 
 		} else {
 
@@ -737,6 +878,14 @@ public class SuperProgressToast
 			
 		}
 
+		if (channel != null) {
+
+			SuperToastManager.getInstance().release(channel, mThrottled);
+
+		}
+
+		unregister();
+
 	}
 	
 	
@@ -759,7 +908,8 @@ public class SuperProgressToast
 	
 	
 	/**
-	 * This is used to get the SuperProgressToast View.
+	 * This is used to get the SuperProgressToast View. The View is
+	 * null until the SuperProgressToast is shown.
 	 * 
 	 * <br>
 	 * @return View
@@ -820,7 +970,8 @@ public class SuperProgressToast
 	 * This is used to get and load a Roboto font. You <b><i>MUST</i></b> put the
 	 * desired font file in the assets folder of your project. The link to
 	 * download the Roboto fonts is included in this library as a text file. Do
-	 * not modify the names of these fonts.
+	 * not modify the names of these fonts. Each font is only loaded once, later
+	 * calls return the same Typeface.
 	 * 
 	 * <br>
 	 * @param typefaceString
@@ -833,14 +984,180 @@ public class SuperProgressToast
 	 */
 	public Typeface loadRobotoTypeface(String typefaceString) {
 
-		return Typeface.createFromAsset(mContext.getAssets(), typefaceString);
+		return TypefaceCache.getInstance().get(mContext, typefaceString);
 
 	}
 	
 
+	/**
+	 * Called by SuperToasts when a SuperProgressToast with the same tag and id is shown.
+	 * Takes over its message, style, background and progress. There is no timer to
+	 * restart, this SuperProgressToast keeps showing until it is dismissed. Returns
+	 * false if the View of this SuperProgressToast is not attached.
+	 */
+	boolean replace(SuperProgressToast mSuperProgressToast) {
+
+		if (toastView == null || !ViewBatcher.getInstance().isAttached(toastView)) {
+
+			return false;
+
+		}
+
+		mToastStyle = mSuperProgressToast.mToastStyle;
+		textSize = mSuperProgressToast.textSize;
+		backgroundDrawable = mSuperProgressToast.backgroundDrawable;
+		isIndeterminate = mSuperProgressToast.isIndeterminate;
+
+		setText(mSuperProgressToast.textCharSequence);
+
+		messageTextView.setTextColor(mToastStyle.messageTextColor);
+		messageTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSize);
+		messageTextView.setTypeface(mToastStyle.messageTypeface);
+
+		mProgressBar.setIndeterminate(isIndeterminate);
+		setProgress(mSuperProgressToast.progress);
+
+		updateBackground();
+
+		return true;
+
+	}
+
+
 	//XXX: Private methods.
+
+
+	/** Applies a text color or style that was set on another thread **/
+	private void applyStyle() {
+
+		if (messageTextView != null) {
+
+			messageTextView.setTextColor(mToastStyle.messageTextColor);
+
+		}
+
+	}
+
+
+
+	private void updateBackground() {
+
+		if (toastView == null) {
+
+			return;
+
+		}
+
+		final LinearLayout mRootLayout = (LinearLayout) 
+				toastView.findViewById(R.id.toast_rootlayout);
+
+
+		final Drawable mBackgroundDrawable = backgroundDrawable != null ? backgroundDrawable
+				: DrawableCache.getInstance().getBackground(mContext, mToastStyle);
+
+		if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
+
+			mRootLayout.setBackgroundDrawable(mBackgroundDrawable);
+
+		} else {
+
+			mRootLayout.setBackground(mBackgroundDrawable);
+
+		}
+
+	}
+
+
+	private void recycleView() {
+
+		ViewPool.getInstance().release(layoutResource, false, toastView);
+
+		toastView = null;
+		messageTextView = null;
+		mProgressBar = null;
+
+	}
     
 	
+	private final SuperToastDispatcher.Mutation mMutation = 
+			new SuperToastDispatcher.Mutation() {
+
+		@Override
+		void apply(int ops) {
+
+			if ((ops & SuperToastDispatcher.OP_STYLE) != 0) {
+
+				applyStyle();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_TEXT) != 0) {
+
+				setText(pendingText);
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_PROGRESS) != 0) {
+
+				setProgress(pendingProgress);
+
+			}
+
+			/** Applied after the text, style and duration so show() sees the calls that were made before it **/
+			if ((ops & SuperToastDispatcher.OP_SHOW) != 0) {
+
+				show();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DISMISS) != 0) {
+
+				dismiss();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DISMISSIMMEDIATELY) != 0) {
+
+				dismissImmediately();
+
+			}
+
+		}
+
+	};
+	
+	
+	private final SuperToastManager.Throttled mThrottled = 
+			new SuperToastManager.Throttled() {
+
+		@Override
+		void show() {
+
+			display();
+
+		}
+
+		@Override
+		CharSequence getText() {
+
+			return textCharSequence;
+
+		}
+
+		@Override
+		void merge(CharSequence text) {
+
+			if (toastView != null && ViewBatcher.getInstance().isAttached(toastView)) {
+
+				setText(text);
+
+			}
+
+		}
+
+	};
+	
+	
 	private Runnable mHideImmediateRunnable = new Runnable() 
 	{
 		 
@@ -851,6 +1168,24 @@ public class SuperProgressToast
 		}
         
     };
+	
+	private final TimingWheel.Timeout mHideImmediateTimeout = new TimingWheel.Timeout(mHideImmediateRunnable);
+	
+	private Runnable mLayerRunnable = new Runnable() {
+
+		public void run() {
+
+			if (toastView != null) {
+
+				AnimationLayers.end(toastView);
+
+			}
+
+		}
+
+	};
+	
+	private final TimingWheel.Timeout mLayerTimeout = new TimingWheel.Timeout(mLayerRunnable);
     
 	private Animation getFadeInAnimation()
 	{
@@ -915,6 +1250,17 @@ public class SuperProgressToast
 	
 	private void dismissWithAnimation() {
 
+		/** The View is only acquired once the SuperProgressToast is shown **/
+		if (toastView == null) {
+
+			return;
+
+		}
+
+		/** The layer stays until the View is recycled **/
+		TimingWheel.getInstance().cancel(mLayerTimeout);
+		AnimationLayers.begin(toastView);
+
 		if (dismissAnimation != null) {
 
 			dismissAnimation.setAnimationListener(new AnimationListener() {
@@ -922,9 +1268,8 @@ public class SuperProgressToast
 				@Override
 				public void onAnimationEnd(Animation animation) {
 
-					/** Must use Handler to modify ViewGroup in onAnimationEnd() **/
-					Handler mHandler = new Handler();
-					mHandler.post(mHideImmediateRunnable);
+					/** Must not modify the ViewGroup in onAnimationEnd() **/
+					TimingWheel.getInstance().schedule(mHideImmediateTimeout, 0);
 
 				}
 
@@ -957,9 +1302,8 @@ public class SuperProgressToast
 				@Override
 				public void onAnimationEnd(Animation animation) {
 
-					/** Must use Handler to modify ViewGroup in onAnimationEnd() **/
-					Handler mHandler = new Handler();
-					mHandler.post(mHideImmediateRunnable);
+					/** Must not modify the ViewGroup in onAnimationEnd() **/
+					TimingWheel.getInstance().schedule(mHideImmediateTimeout, 0);
 
 				}
 
@@ -20,6 +20,7 @@ package com.extlibsupertoasts;
 
 import com.extlibsupertoasts.utilities.OnDismissListener;
 import com.extlibsupertoasts.utilities.SuperToastConstants;
+import com.extlibsupertoasts.utilities.TimingWheel;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
@@ -27,10 +28,9 @@ import android.graphics.Color;
 import android.graphics.PixelFormat;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
-import android.os.Handler;
+import android.os.SystemClock;
 import android.util.TypedValue;
 import android.view.Gravity;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.WindowManager;
 import android.widget.FrameLayout;
@@ -74,11 +74,10 @@ public class SuperToast
 	public static final int ANIMATION_POPUP = (android.R.style.Animation_InputMethod);
 	
 	private Context mContext;
-	private LayoutInflater mLayoutInflater;
 	private WindowManager mWindowManager;
+	private WindowManager.LayoutParams mWindowManagerParams;
 	private View toastView;
 	private TextView messageTextView;
-	private Handler mHandler;
 	private int sdkVersion = android.os.Build.VERSION.SDK_INT;;
 		
 	private CharSequence textCharSequence;
@@ -96,6 +95,18 @@ public class SuperToast
 	private Drawable iconDrawable;
 	private int iconResource;
 	private OnDismissListener mOnDismissListener;
+	private int remainingDuration;
+	private long displayTime;
+	private boolean coalesceDuplicates;
+	private boolean showDuplicateCount;
+	private int duplicateCount = 1;
+	private String channel;
+
+	/** Set by SuperToasts.show(), null if this toast has no tag and id **/
+	ToastRegistry.Key registryKey;
+	private volatile CharSequence pendingText;
+	private volatile int pendingDuration;
+	private volatile int pendingPriority;
 
 	/**
 	 * This is used to specify the position of a supplied icon in the
@@ -143,12 +154,7 @@ public class SuperToast
 			yOffset = mContext.getResources().getDimensionPixelSize(
 					com.extlibsupertoasts.R.dimen.toast_yoffset);
 
-			mLayoutInflater = (LayoutInflater) mContext
-					.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
-			toastView = mLayoutInflater.inflate(R.layout.supertoast, null);
-
-			mWindowManager = (WindowManager) toastView.getContext()
+			mWindowManager = (WindowManager) mContext
 					.getApplicationContext()
 					.getSystemService(Context.WINDOW_SERVICE);
 
@@ -164,44 +170,111 @@ public class SuperToast
 	/**
 	 * This is used to show the SuperToast. You should
 	 * do all of your modifications to the SuperToast before calling
-	 * this method. 
+	 * this method. Every method of this class can be called from any thread.
+	 * Calls from other threads that change the showing toast or the queue are
+	 * applied on the next frame, and the last of show() and dismiss() wins.
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * SuperToasts are queued by the {@link SuperToastManager}. If another 
+	 * SuperToast is already showing this SuperToast will be shown when 
+	 * the previous SuperToast is dismissed. See {@link #setPriority(int)}.
+	 * </p>
+	 * 
 	 */
 	public void show()
 	{
 
-		mHandler = new Handler();
-		mHandler.postDelayed(hideToastRunnable, duration);
-		
-		messageTextView = (TextView) 
-				toastView.findViewById(R.id.messageTextView);
-		
-		messageTextView.setText(textCharSequence);
-		messageTextView.setTypeface(typeface);
-		messageTextView.setTextColor(textColor);
-		messageTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSize);
-		
+		if (!SuperToastDispatcher.isMainThread()) {
 
-		final FrameLayout mRootLayout = (FrameLayout) 
-				toastView.findViewById(R.id.root);
-		
-		if (backgroundDrawable != null) {
+			mMutation.post(SuperToastDispatcher.OP_SHOW);
+
+			return;
 
-			if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
+		}
 
-				mRootLayout.setBackgroundDrawable(backgroundDrawable);
+		if (channel != null && !SuperToastManager.getInstance().acquire(channel, mThrottled)) {
 
-			} else {
+			/** A deferred toast is shown later, a dropped or merged one never is **/
+			if (!mThrottled.deferred) {
 
-				mRootLayout.setBackground(backgroundDrawable);
+				unregister();
 
 			}
 
-		} else {
+			return;
+
+		}
 
-			mRootLayout.setBackgroundResource(backgroundResource);
+		schedule();
+
+	}
+
+
+	private void schedule() {
+
+		remainingDuration = duration;
+
+		mEntry.coalesceKey = coalesceDuplicates ? getCoalesceKey() : null;
+
+		SuperToastManager.getInstance().add(mEntry);
+
+		/** The manager coalesced this toast into a duplicate that is queued or showing **/
+		if (mEntry.state == SuperToastManager.Entry.STATE_IDLE) {
+
+			unregister();
 
 		}
 
+	}
+
+
+	/** Unregisters a toast of SuperToasts.show() that has no queued, deferred or showing instance **/
+	private void unregister() {
+
+		if (registryKey != null) {
+
+			ToastRegistry.getInstance().remove(registryKey, this);
+			registryKey = null;
+
+		}
+
+	}
+
+
+	/**
+	 * Called by the SuperToastManager when this SuperToast reaches
+	 * the front of the queue.
+	 */
+	private void display()
+	{
+
+		TimingWheel.getInstance().schedule(mHideTimeout, remainingDuration);
+		displayTime = SystemClock.uptimeMillis();
+		
+		/** The View is acquired when it is first displayed so coalesced duplicates never inflate **/
+		if (toastView == null) {
+
+			toastView = ViewPool.getInstance().acquire(mContext, R.layout.supertoast, null);
+
+		}
+		
+		messageTextView = (TextView) 
+				toastView.findViewById(R.id.messageTextView);
+		
+		messageTextView.setText(getMessageText());
+		messageTextView.setTypeface(typeface);
+		messageTextView.setTextColor(textColor);
+		messageTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSize);
+		
+
+		updateBackground();
+
 		
 		if (iconDrawable != null) {
 
@@ -233,25 +306,25 @@ public class SuperToast
 
 				messageTextView.setCompoundDrawablesWithIntrinsicBounds(null,
 						null, null,
-						mContext.getResources().getDrawable(iconResource));
+						DrawableCache.getInstance().get(mContext, iconResource));
 
 			} else if (mIconPosition == IconPosition.LEFT) {
 
 				messageTextView.setCompoundDrawablesWithIntrinsicBounds(
-						mContext.getResources().getDrawable(iconResource),
+						DrawableCache.getInstance().get(mContext, iconResource),
 						null, null, null);
 
 			} else if (mIconPosition == IconPosition.RIGHT) {
 
 				messageTextView
 						.setCompoundDrawablesWithIntrinsicBounds(
-								null, null, mContext.getResources().getDrawable(iconResource), 
+								null, null, DrawableCache.getInstance().get(mContext, iconResource), 
 								null);
 
 			} else if (mIconPosition == IconPosition.TOP) {
 
 				messageTextView.setCompoundDrawablesWithIntrinsicBounds(null,
-						mContext.getResources().getDrawable(iconResource),
+						DrawableCache.getInstance().get(mContext, iconResource),
 						null, null);
 
 			}
@@ -260,6 +333,9 @@ public class SuperToast
 
         final WindowManager.LayoutParams params = new WindowManager.LayoutParams();
         
+        /** Kept so the setters can update the window while it is showing **/
+        mWindowManagerParams = params;
+        
         params.height = WindowManager.LayoutParams.WRAP_CONTENT;
         params.width = WindowManager.LayoutParams.WRAP_CONTENT;
         
@@ -314,11 +390,20 @@ public class SuperToast
 	 */
 	public void setText(CharSequence textCharSequence) {
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingText = textCharSequence;
+			mMutation.post(SuperToastDispatcher.OP_TEXT);
+
+			return;
+
+		}
+
 		this.textCharSequence = textCharSequence;
 
 		if (messageTextView != null) {
 
-			messageTextView.setText(textCharSequence);
+			messageTextView.setText(getMessageText());
 
 		}
 
@@ -351,6 +436,14 @@ public class SuperToast
 
 		this.textColor = textColor;
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
+
 		if (messageTextView != null) {
 
 			messageTextView.setTextColor(textColor);
@@ -413,19 +506,145 @@ public class SuperToast
 	 */
 	public void resetDuration(int newDuration) {
 
-		if (mHandler != null) {
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingDuration = newDuration;
+			mMutation.post(SuperToastDispatcher.OP_DURATION);
+
+			return;
 
-			mHandler.removeCallbacks(hideToastRunnable);
-			mHandler = null;
+		}
+
+		/** A toast that is not showing yet is displayed for the new duration when it is shown **/
+		if (mEntry.state != SuperToastManager.Entry.STATE_SHOWING) {
+
+			this.duration = newDuration;
+			remainingDuration = newDuration;
+
+			return;
 
 		}
 
-		mHandler = new Handler();
-		mHandler.postDelayed(hideToastRunnable, newDuration);
+		TimingWheel.getInstance().schedule(mHideTimeout, newDuration);
+
+		remainingDuration = newDuration;
+		displayTime = SystemClock.uptimeMillis();
+
+	}
+
+
+	/**
+	 * This is used to assign the SuperToast to a rate limited channel.
+	 * See {@link SuperToastManager#setRateLimit(String, int, int, int)}.
+	 * 
+	 * <br>
+	 * @param channel 
+	 * <br>
+	 * Example: ("network-errors")
+	 * <br>
+	 * 
+	 */
+	public void setChannel(String channel) {
+
+		this.channel = channel;
 
 	}
 	
 	
+	/**
+	 * This is used to set the priority of the SuperToast.
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * Queued SuperToasts with a higher priority are shown first. A SuperToast
+	 * with a higher priority will also replace a showing SuperToast of a lower
+	 * priority. The replaced SuperToast is shown again later for the rest of
+	 * its duration.
+	 * </p>
+	 * 
+	 * <br>
+	 * @param priority 
+	 * <br>
+	 * Example: (SuperToastConstants.PRIORITY_HIGH)
+	 * <br>
+	 * 
+	 */
+	public void setPriority(int priority) {
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			pendingPriority = priority;
+			mMutation.post(SuperToastDispatcher.OP_PRIORITY);
+
+			return;
+
+		}
+
+		SuperToastManager.getInstance().setPriority(mEntry, priority);
+
+	}
+	
+	
+	/**
+	 * This is used to coalesce duplicate SuperToasts. If a SuperToast with
+	 * the same text and style is already showing or queued, calling {@link #show()}
+	 * will extend the duration of that SuperToast instead of showing another one.
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Design guide: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * This should be used for messages that can be triggered many times in a
+	 * short amount of time such as "Connection lost".
+	 * </p>
+	 * 
+	 * <br>
+	 * @param coalesceDuplicates 
+	 * <br>
+	 * 
+	 */
+	public void setCoalesceDuplicates(boolean coalesceDuplicates) {
+
+		this.coalesceDuplicates = coalesceDuplicates;
+
+	}
+	
+	
+	/**
+	 * This is used to append the number of coalesced duplicates to the message
+	 * text of the SuperToast, for example "Connection lost (x12)".
+	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * This method has no effect unless {@link #setCoalesceDuplicates(boolean)}
+	 * is set to true.
+	 * </p>
+	 * 
+	 * <br>
+	 * @param showDuplicateCount 
+	 * <br>
+	 * 
+	 */
+	public void setShowDuplicateCount(boolean showDuplicateCount) {
+
+		this.showDuplicateCount = showDuplicateCount;
+
+	}
+
+	
 	/**
 	 * This is used to set an icon Drawable to the SuperToast.
 	 * 
@@ -508,6 +727,16 @@ public class SuperToast
 	/**
 	 * This is used to set the gravity of the SuperToast.
 	 * 
+	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * This method can be called while the SuperToast is showing to move it
+	 * without showing the SuperToast again. It can be called from any thread.
+	 * </p>
 	 * 
 	 * <br>
 	 * @param gravityInteger 
@@ -520,6 +749,16 @@ public class SuperToast
 
 		this.gravityInteger = gravityInteger;
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
+
+		updateWindowLayout();
+
 	}
 	
 	
@@ -539,6 +778,17 @@ public class SuperToast
 	 * </p>
 	 * 
 	 * <br>
+	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * This method can be called while the SuperToast is showing to change its background
+	 * without showing the SuperToast again. It can be called from any thread.
+	 * </p>
+	 * 
+	 * <br>
 	 * @param backgroundResource 
 	 * <br>
 	 * Example: (SuperToastConstants.BACKGROUND_BLACK)
@@ -549,6 +799,16 @@ public class SuperToast
 
 		this.backgroundResource = backgroundResource;
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
+
+		updateBackground();
+
 	}
 
 	
@@ -575,6 +835,45 @@ public class SuperToast
 		
 		this.backgroundDrawable = backgroundDrawable;
 		
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
+
+		updateBackground();
+		
+	}
+
+
+	/**
+	 * This is used to set the background of the SuperToast to any color.
+	 * The background has the same shape and shadow as the backgrounds of
+	 * this library, so no image is needed for a new color.
+	 * 
+	 * <br>
+	 * @param backgroundColor 
+	 * <br>
+	 * Example: (Color.argb(245, 0, 150, 136))
+	 * <br>
+	 * 
+	 */
+	public void setBackgroundColor(int backgroundColor) {
+
+		this.backgroundDrawable = DrawableCache.getInstance().getColorBackground(mContext, backgroundColor);
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
+
+		updateBackground();
+
 	}
 	
 	
@@ -614,6 +913,20 @@ public class SuperToast
 
 		this.textSize = textSize;
 		
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
+
+		if (messageTextView != null) {
+
+			messageTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSize);
+
+		}
+		
 	}
 	
 	
@@ -643,6 +956,20 @@ public class SuperToast
 		
 		this.typeface = typeface;
 		
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
+
+		if (messageTextView != null) {
+
+			messageTextView.setTypeface(typeface);
+
+		}
+		
 	}
 	
 
@@ -679,6 +1006,15 @@ public class SuperToast
 	 * 
 	 * <br>
 	 * 
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 * 
+	 * <p>
+	 * This method can be called while the SuperToast is showing to move it
+	 * without showing the SuperToast again. It can be called from any thread.
+	 * </p>
+	 * 
 	 * <br>
 	 * @param xOffset 
 	 * @param yOffset 
@@ -690,6 +1026,16 @@ public class SuperToast
 		this.xOffset = xOffset;
 		this.yOffset = yOffset;
 
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_STYLE);
+
+			return;
+
+		}
+
+		updateWindowLayout();
+
 	}
 	
 	/**
@@ -732,17 +1078,26 @@ public class SuperToast
 	 */
 	public void dismiss() {
 
-		if (mHandler != null) {
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			mMutation.post(SuperToastDispatcher.OP_DISMISS);
 
-			mHandler.removeCallbacks(hideToastRunnable);
-			mHandler = null;
+			return;
 
 		}
 
+		TimingWheel.getInstance().cancel(mHideTimeout);
+
 		if (toastView != null && mWindowManager != null) {
 
-			mWindowManager.removeView(toastView);
-			toastView = null;
+			/** A queued SuperToast has not been added to the WindowManager yet **/
+			if (toastView.getParent() != null) {
+
+				mWindowManager.removeView(toastView);
+
+			}
+
+			recycleView();
 
 		}
 		
@@ -752,6 +1107,16 @@ public class SuperToast
 			
 		}
 
+		SuperToastManager.getInstance().remove(mEntry);
+
+		if (channel != null) {
+
+			SuperToastManager.getInstance().release(channel, mThrottled);
+
+		}
+
+		unregister();
+
 	}
 	
 	
@@ -775,6 +1140,23 @@ public class SuperToast
 	}
 	
 	
+	/**
+	 * This is used to get the priority of the SuperToast.
+	 * 
+	 * <br>
+	 * 
+	 * @return int
+	 * 
+	 * <br>
+	 * 
+	 */
+	public int getPriority() {
+
+		return mEntry.priority;
+
+	}
+	
+	
 	/**
 	 * This is used to get the X offset of the SuperToast VIew.
 	 * 
@@ -811,7 +1193,9 @@ public class SuperToast
 	
 	
 	/**
-	 * This is used to get the SuperToast View.
+	 * This is used to get the SuperToast View. The View is created 
+	 * when the SuperToast is displayed so this will return null
+	 * before then.
 	 * 
 	 * <br>
 	 * 
@@ -859,7 +1243,8 @@ public class SuperToast
 	 * This is used to get and load a Roboto font. You <b><i>MUST</i></b> put the
 	 * desired font file in the assets folder of your project. The link to
 	 * download the Roboto fonts is included in this library as a text file. Do
-	 * not modify the names of these fonts.
+	 * not modify the names of these fonts. Each font is only loaded once, later
+	 * calls return the same Typeface.
 	 * 
 	 * <br>
 	 * @param typefaceString
@@ -875,14 +1260,137 @@ public class SuperToast
 	public Typeface loadRobotoTypeface(String typefaceString)
 	{
 		
-		return Typeface.createFromAsset(mContext.getAssets(), typefaceString);
+		return TypefaceCache.getInstance().get(mContext, typefaceString);
 
 	}
 
 	
+	/**
+	 * Called by SuperToasts when a SuperToast with the same tag and id is shown.
+	 * Takes over its text, style, gravity, offsets and duration. A showing SuperToast
+	 * starts the new duration now and a queued one when it is displayed. Returns
+	 * false if this SuperToast is neither showing nor queued.
+	 */
+	boolean replace(SuperToast mSuperToast) {
+
+		if (mEntry.state == SuperToastManager.Entry.STATE_IDLE) {
+
+			return false;
+
+		}
+
+		textColor = mSuperToast.textColor;
+		textSize = mSuperToast.textSize;
+		typeface = mSuperToast.typeface;
+		backgroundResource = mSuperToast.backgroundResource;
+		backgroundDrawable = mSuperToast.backgroundDrawable;
+		gravityInteger = mSuperToast.gravityInteger;
+		xOffset = mSuperToast.xOffset;
+		yOffset = mSuperToast.yOffset;
+		duration = mSuperToast.duration;
+
+		setText(mSuperToast.textCharSequence);
+
+		applyStyle();
+
+		if (mEntry.state == SuperToastManager.Entry.STATE_SHOWING) {
+
+			resetDuration(duration);
+
+		} else {
+
+			remainingDuration = duration;
+
+		}
+
+		return true;
+
+	}
+
+
 	//XXX: Private methods
 
 
+	/** Applies the style fields to the showing SuperToast, also for calls made on other threads **/
+	private void applyStyle() {
+
+		if (messageTextView != null) {
+
+			messageTextView.setTextColor(textColor);
+			messageTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSize);
+			messageTextView.setTypeface(typeface);
+
+		}
+
+		updateBackground();
+		updateWindowLayout();
+
+	}
+
+
+	private void updateBackground() {
+
+		if (toastView == null) {
+
+			return;
+
+		}
+
+		final FrameLayout mRootLayout = (FrameLayout) 
+				toastView.findViewById(R.id.root);
+		
+		final Drawable mBackgroundDrawable = backgroundDrawable != null ? backgroundDrawable
+				: DrawableCache.getInstance().get(mContext, backgroundResource);
+
+		if (sdkVersion < android.os.Build.VERSION_CODES.JELLY_BEAN) {
+
+			mRootLayout.setBackgroundDrawable(mBackgroundDrawable);
+
+		} else {
+
+			mRootLayout.setBackground(mBackgroundDrawable);
+
+		}
+
+	}
+
+
+	/** Moves the showing window in place instead of removing and adding it again **/
+	private void updateWindowLayout() {
+
+		if (toastView == null || toastView.getParent() == null || mWindowManagerParams == null) {
+
+			return;
+
+		}
+
+		if (mWindowManagerParams.gravity == gravityInteger && mWindowManagerParams.x == xOffset
+				&& mWindowManagerParams.y == yOffset) {
+
+			return;
+
+		}
+
+		mWindowManagerParams.gravity = gravityInteger;
+		mWindowManagerParams.x = xOffset;
+		mWindowManagerParams.y = yOffset;
+
+		mWindowManager.updateViewLayout(toastView, mWindowManagerParams);
+
+	}
+
+
+	private void recycleView() {
+
+		ViewPool.getInstance().release(R.layout.supertoast, true, toastView);
+
+		toastView = null;
+		messageTextView = null;
+		mWindowManagerParams = null;
+
+	}
+
+
 	private Runnable hideToastRunnable = new Runnable() 
 	{
 		 
@@ -893,6 +1401,190 @@ public class SuperToast
 	 
         }        
     };
+	
+	private final TimingWheel.Timeout mHideTimeout = new TimingWheel.Timeout(hideToastRunnable);
+	
+	
+	private final SuperToastDispatcher.Mutation mMutation = 
+			new SuperToastDispatcher.Mutation() {
+
+		@Override
+		void apply(int ops) {
+
+			if ((ops & SuperToastDispatcher.OP_PRIORITY) != 0) {
+
+				setPriority(pendingPriority);
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_STYLE) != 0) {
+
+				applyStyle();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_TEXT) != 0) {
+
+				setText(pendingText);
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DURATION) != 0) {
+
+				resetDuration(pendingDuration);
+
+			}
+
+			/** Applied after the text, style and duration so show() sees the calls that were made before it **/
+			if ((ops & SuperToastDispatcher.OP_SHOW) != 0) {
+
+				show();
+
+			}
+
+			if ((ops & SuperToastDispatcher.OP_DISMISS) != 0) {
+
+				dismiss();
+
+			}
+
+		}
+
+	};
+	
+	
+	private final SuperToastManager.Throttled mThrottled = 
+			new SuperToastManager.Throttled() {
+
+		@Override
+		void show() {
+
+			schedule();
+
+		}
+
+		@Override
+		CharSequence getText() {
+
+			return textCharSequence;
+
+		}
+
+		@Override
+		void merge(CharSequence text) {
+
+			if (mEntry.state == SuperToastManager.Entry.STATE_IDLE) {
+
+				return;
+
+			}
+
+			setText(text);
+
+			if (mEntry.state == SuperToastManager.Entry.STATE_SHOWING) {
+
+				resetDuration(duration);
+
+			} else {
+
+				remainingDuration = duration;
+
+			}
+
+		}
+
+	};
+	
+	
+	private final SuperToastManager.Entry mEntry = 
+			new SuperToastManager.Entry(SuperToastManager.TYPE_SUPERTOAST) {
+
+		@Override
+		Object getLane() {
+
+			return SuperToastManager.LANE_WINDOW;
+
+		}
+
+		@Override
+		void display() {
+
+			SuperToast.this.display();
+
+		}
+
+		@Override
+		void preempt() {
+
+			TimingWheel.getInstance().cancel(mHideTimeout);
+
+			remainingDuration -= (int) (SystemClock.uptimeMillis() - displayTime);
+
+			if (toastView != null && toastView.getParent() != null) {
+
+				mWindowManager.removeView(toastView);
+
+			}
+
+		}
+
+		@Override
+		void dismiss() {
+
+			SuperToast.this.dismiss();
+
+		}
+
+		@Override
+		void coalesce() {
+
+			duplicateCount++;
+
+			if (showDuplicateCount && messageTextView != null) {
+
+				messageTextView.setText(getMessageText());
+
+			}
+
+			if (state == STATE_SHOWING) {
+
+				resetDuration(duration);
+
+			} else {
+
+				remainingDuration = duration;
+
+			}
+
+		}
+
+	};
+
+
+	private CharSequence getMessageText() {
+
+		if (showDuplicateCount && duplicateCount > 1) {
+
+			return textCharSequence + " (x" + duplicateCount + ")";
+
+		}
+
+		return textCharSequence;
+
+	}
+
+
+	private String getCoalesceKey() {
+
+		return new StringBuilder().append(textCharSequence).append('\u0000')
+				.append(textColor).append(':').append(textSize).append(':')
+				.append(backgroundResource).append(':')
+				.append(System.identityHashCode(backgroundDrawable)).append(':')
+				.append(System.identityHashCode(typeface)).append(':')
+				.append(iconResource).append(':')
+				.append(System.identityHashCode(iconDrawable)).toString();
+
+	}
     
     
     //Quick Navigation: Static methods.
@@ -0,0 +1,219 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import com.extlibsupertoasts.utilities.FrameScheduler;
+import com.extlibsupertoasts.utilities.MpscQueue;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Moves calls that are made on other threads to the main thread. Every toast
+ * holds one Mutation that collects the calls as flags. A Mutation is queued at
+ * most once per frame, so any number of calls from worker threads cost one
+ * queue entry and no allocations. The last of show() and dismiss() wins.
+ */
+final class SuperToastDispatcher {
+
+
+	static final int OP_SHOW = 1;
+	static final int OP_TEXT = 1 << 1;
+	static final int OP_PROGRESS = 1 << 2;
+	static final int OP_DURATION = 1 << 3;
+	static final int OP_DISMISS = 1 << 4;
+	static final int OP_DISMISSIMMEDIATELY = 1 << 5;
+	static final int OP_STYLE = 1 << 6;
+	static final int OP_PRIORITY = 1 << 7;
+
+	private static final int OP_DISMISSES = OP_DISMISS | OP_DISMISSIMMEDIATELY;
+
+	/** Set while the last of show() and dismiss() was show(), it is never passed to apply() **/
+	private static final int SHOW_LAST = 1 << 30;
+
+	/** Created eagerly so worker threads never take a lock to post **/
+	private static final SuperToastDispatcher mSuperToastDispatcher = new SuperToastDispatcher();
+
+	private final MpscQueue mQueue = new MpscQueue();
+
+	private final AtomicBoolean isDrainScheduled = new AtomicBoolean();
+
+	private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+
+	private SuperToastDispatcher() {
+
+		// Singleton
+
+	}
+
+
+	static boolean isMainThread() {
+
+		return Looper.myLooper() == Looper.getMainLooper();
+
+	}
+
+
+	/**
+	 * Runs the Runnable on the main thread in order with the toast calls that
+	 * were made before it. This allocates, it is meant for configuration calls.
+	 */
+	static void runOnMainThread(final Runnable mRunnable) {
+
+		new Mutation() {
+
+			@Override
+			void apply(int ops) {
+
+				mRunnable.run();
+
+			}
+
+		}.post(OP_STYLE);
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private void post(Mutation mMutation) {
+
+		mQueue.offer(mMutation);
+
+		/** Only the first Mutation of a frame wakes up the main thread **/
+		if (isDrainScheduled.compareAndSet(false, true)) {
+
+			mHandler.post(mScheduleRunnable);
+
+		}
+
+	}
+
+
+	private final Runnable mDrainRunnable = new Runnable() {
+
+		@Override
+		public void run() {
+
+			/** Cleared first so a Mutation that is queued while draining schedules another frame **/
+			isDrainScheduled.set(false);
+
+			MpscQueue.Node mNode;
+
+			while ((mNode = mQueue.poll()) != null) {
+
+				((Mutation) mNode).run();
+
+			}
+
+		}
+
+	};
+
+	private final FrameScheduler mFrameScheduler = new FrameScheduler(mDrainRunnable);
+
+	private final Runnable mScheduleRunnable = new Runnable() {
+
+		@Override
+		public void run() {
+
+			mFrameScheduler.schedule();
+
+		}
+
+	};
+
+
+	/**
+	 * The calls of one toast that are waiting for the main thread. The values
+	 * of the calls are kept by the toast, the Mutation only flags them.
+	 */
+	abstract static class Mutation extends MpscQueue.Node {
+
+		private final AtomicInteger ops = new AtomicInteger();
+		private final AtomicBoolean isQueued = new AtomicBoolean();
+
+		void post(int op) {
+
+			int current;
+			int next;
+
+			do {
+
+				current = ops.get();
+				next = current | op;
+
+				/** Only the order of show() and dismiss() is kept, every other call is applied once **/
+				if ((op & OP_SHOW) != 0) {
+
+					next |= SHOW_LAST;
+
+				} else if ((op & OP_DISMISSES) != 0) {
+
+					next &= ~SHOW_LAST;
+
+				}
+
+			} while (!ops.compareAndSet(current, next));
+
+			/** The flag must be set before the Mutation is queued so the main thread sees it **/
+			if (isQueued.compareAndSet(false, true)) {
+
+				mSuperToastDispatcher.post(this);
+
+			}
+
+		}
+
+		private void run() {
+
+			isQueued.set(false);
+
+			final int pending = ops.getAndSet(0);
+
+			if ((pending & SHOW_LAST) != 0 && (pending & OP_DISMISSES) != 0) {
+
+				/** A worker thread that called dismiss() and then show() ends with a showing toast **/
+				apply(pending & ~(OP_SHOW | SHOW_LAST));
+				apply(OP_SHOW);
+
+			} else if (pending != 0) {
+
+				apply(pending & ~SHOW_LAST);
+
+			}
+
+		}
+
+		/**
+		 * Called on the main thread. The priority, style, text, progress and duration
+		 * are applied first, then show() and dismiss() last, so a worker thread that
+		 * sets the text and then calls show() shows the new text. If show() was
+		 * called after dismiss() it is passed on its own after the other calls.
+		 */
+		abstract void apply(int ops);
+
+	}
+
+}
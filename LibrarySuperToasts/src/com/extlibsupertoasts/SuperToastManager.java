@@ -0,0 +1,1019 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import com.extlibsupertoasts.utilities.SuperToastConstants;
+import com.extlibsupertoasts.utilities.TimingWheel;
+import com.extlibsupertoasts.utilities.TokenBucket;
+
+import android.os.SystemClock;
+import android.widget.LinearLayout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.PriorityQueue;
+
+
+/**
+ * The SuperToastManager schedules the display of SuperToasts, SuperActivityToasts
+ * and SuperCardToasts. Every call to show() is queued here and only a limited number
+ * of toasts are displayed at any one time. Queued toasts are kept in a priority heap,
+ * so a higher priority toast is always displayed before a lower priority toast and
+ * toasts of the same priority are displayed in the order that they were shown.
+ *
+ * <br>
+ *
+ * <p>
+ * A toast with a higher priority will preempt a lower priority toast that is
+ * already showing. The preempted toast is queued again with its remaining duration.
+ * </p>
+ *
+ * <p>
+ * Toasts can also be assigned to a named channel that is rate limited
+ * with {@link #setRateLimit(String, int, int, int)}.
+ * </p>
+ *
+ * <p>
+ * The setters can be called from any thread. Calls from other threads are
+ * applied on the main thread in order with the toast calls made before them.
+ * The getters return the values of the main thread.
+ * </p>
+ *
+ */
+public class SuperToastManager {
+
+
+	private static final String ERROR_MAXCONCURRENT = "The maximum number of concurrent toasts must be at " +
+			"least one! (SuperToastManager)";
+	private static final String ERROR_CHANNELNULL = "The channel that you passed was null! (SuperToastManager)";
+	private static final String ERROR_OVERFLOW = "The overflow must be one of the SuperToastConstants " +
+			"OVERFLOW values! (SuperToastManager)";
+	private static final String ERROR_CAPACITY = "The capacity of a rate limit must be at least one! (SuperToastManager)";
+	private static final String ERROR_REFILLINTERVAL = "The refill interval of a rate limit must be at least one " +
+			"millisecond! (SuperToastManager)";
+
+	static final int TYPE_SUPERTOAST = 0;
+	static final int TYPE_ACTIVITYTOAST = 1;
+	static final int TYPE_CARDTOAST = 2;
+
+	/** All SuperToast windows share the same screen and therefore the same queue **/
+	static final Object LANE_WINDOW = new Object();
+
+	private static SuperToastManager mSuperToastManager;
+
+	private final HashMap<Object, Lane> mLanes = new HashMap<Object, Lane>();
+
+	/** SuperActivityToasts and SuperCardToasts are not limited unless specified **/
+	private final int[] maxConcurrent = {1, Integer.MAX_VALUE, Integer.MAX_VALUE};
+
+	private long sequence;
+
+	private final HashMap<String, Channel> mChannels = new HashMap<String, Channel>();
+
+
+	private SuperToastManager() {
+
+		// Singleton
+
+	}
+
+
+	/**
+	 * This is used to get the SuperToastManager instance.
+	 *
+	 * <br>
+	 *
+	 * @return SuperToastManager
+	 *
+	 * <br>
+	 *
+	 */
+	public static synchronized SuperToastManager getInstance() {
+
+		if (mSuperToastManager == null) {
+
+			mSuperToastManager = new SuperToastManager();
+
+		}
+
+		return mSuperToastManager;
+
+	}
+
+
+	/**
+	 * This is used to set the maximum number of SuperToasts that can
+	 * be showing at the same time. The default value is one.
+	 *
+	 * <br>
+	 *
+	 * <p>
+	 * <b> Design guide: </b>
+	 * </p>
+	 *
+	 * <p>
+	 * Every showing SuperToast is a separate window. Keeping this value
+	 * low keeps the number of overlay windows small when your application
+	 * shows many SuperToasts in a short amount of time.
+	 * </p>
+	 *
+	 * <br>
+	 * @param maxConcurrent
+	 * <br>
+	 *
+	 */
+	public void setMaxConcurrent(int maxConcurrent) {
+
+		setMaxConcurrent(TYPE_SUPERTOAST, maxConcurrent);
+
+	}
+
+
+	/**
+	 * This is used to get the maximum number of SuperToasts that can
+	 * be showing at the same time.
+	 *
+	 * <br>
+	 *
+	 * @return int
+	 *
+	 * <br>
+	 *
+	 */
+	public int getMaxConcurrent() {
+
+		return maxConcurrent[TYPE_SUPERTOAST];
+
+	}
+
+
+	/**
+	 * This is used to set the maximum number of SuperActivityToasts that can
+	 * be showing in one Activity at the same time. By default the number of
+	 * SuperActivityToasts is not limited.
+	 *
+	 * <br>
+	 *
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 *
+	 * <p>
+	 * Indeterminate SuperActivityToasts occupy their place until they are
+	 * dismissed. Use a higher priority for toasts that should replace them.
+	 * </p>
+	 *
+	 * <br>
+	 * @param maxConcurrent
+	 * <br>
+	 *
+	 */
+	public void setMaxConcurrentActivityToasts(int maxConcurrent) {
+
+		setMaxConcurrent(TYPE_ACTIVITYTOAST, maxConcurrent);
+
+	}
+
+
+	/**
+	 * This is used to set the maximum number of SuperCardToasts that can
+	 * be showing in one card container at the same time. The SuperCardToasts
+	 * over the limit are collapsed into a "+N more" stack at the end of the
+	 * container that shows all of them when it is tapped. By default the
+	 * number of SuperCardToasts is not limited.
+	 *
+	 * <br>
+	 * @param maxConcurrent
+	 * <br>
+	 *
+	 */
+	public void setMaxConcurrentCardToasts(int maxConcurrent) {
+
+		setMaxConcurrent(TYPE_CARDTOAST, maxConcurrent);
+
+	}
+
+
+	/**
+	 * This is used to get the number of SuperToasts waiting to be shown.
+	 *
+	 * <br>
+	 *
+	 * @return int
+	 *
+	 * <br>
+	 *
+	 */
+	public int getQueueSize() {
+
+		final Lane mLane = mLanes.get(LANE_WINDOW);
+
+		return mLane != null ? mLane.pending.size() : 0;
+
+	}
+
+
+	/**
+	 * This is used to remove all of the SuperToasts that are waiting
+	 * to be shown. SuperToasts that are already showing are not affected.
+	 *
+	 * <br>
+	 *
+	 */
+	public void clearQueue() {
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			SuperToastDispatcher.runOnMainThread(new Runnable() {
+
+				@Override
+				public void run() {
+
+					clearQueue();
+
+				}
+
+			});
+
+			return;
+
+		}
+
+		final Lane mLane = mLanes.get(LANE_WINDOW);
+
+		if (mLane != null) {
+
+			clearPending(mLane);
+
+			removeIfEmpty(LANE_WINDOW, mLane);
+
+		}
+
+	}
+
+
+	/**
+	 * This is used to dismiss all showing SuperToasts and remove all of
+	 * the SuperToasts that are waiting to be shown.
+	 *
+	 * <br>
+	 *
+	 */
+	public void cancelAllSuperToasts() {
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			SuperToastDispatcher.runOnMainThread(new Runnable() {
+
+				@Override
+				public void run() {
+
+					cancelAllSuperToasts();
+
+				}
+
+			});
+
+			return;
+
+		}
+
+		final Lane mLane = mLanes.get(LANE_WINDOW);
+
+		if (mLane == null) {
+
+			return;
+
+		}
+
+		clearPending(mLane);
+
+		while (!mLane.showing.isEmpty()) {
+
+			mLane.showing.get(0).dismiss();
+
+		}
+
+	}
+
+
+	/**
+	 * This is used to limit how often toasts of a channel can be shown.
+	 * A channel allows a burst of capacity toasts and then one toast every
+	 * refill interval. Toasts are assigned to a channel with setChannel().
+	 *
+	 * <br>
+	 *
+	 * <p>
+	 * <b> Design guide: </b>
+	 * </p>
+	 *
+	 * <p>
+	 * Use {@link SuperToastConstants#OVERFLOW_DROP} for messages that are
+	 * worthless when late, {@link SuperToastConstants#OVERFLOW_DEFER} for
+	 * messages that must all be seen and {@link SuperToastConstants#OVERFLOW_MERGE}
+	 * for status messages such as "Syncing 42 of 100" where only the latest
+	 * text matters. Merged toasts update the text of the toast that was last
+	 * shown in the channel and restart its duration. If that toast has already
+	 * been dismissed the merged toast is dropped.
+	 * </p>
+	 *
+	 * <br>
+	 * @param channel
+	 * <br>
+	 * Example: ("network-errors")
+	 * <br>
+	 *
+	 * @param capacity
+	 * <br>
+	 * The number of toasts that can be shown in a burst.
+	 * <br>
+	 *
+	 * @param refillInterval
+	 * <br>
+	 * The number of milliseconds before another toast can be shown.
+	 * <br>
+	 *
+	 * @param overflow
+	 * <br>
+	 * Example: (SuperToastConstants.OVERFLOW_DROP)
+	 * <br>
+	 *
+	 */
+	public void setRateLimit(final String channel, final int capacity, final int refillInterval,
+			final int overflow) {
+
+		if (channel == null) {
+
+			throw new IllegalArgumentException(ERROR_CHANNELNULL);
+
+		}
+
+		if (overflow != SuperToastConstants.OVERFLOW_DROP && overflow != SuperToastConstants.OVERFLOW_DEFER
+				&& overflow != SuperToastConstants.OVERFLOW_MERGE) {
+
+			throw new IllegalArgumentException(ERROR_OVERFLOW);
+
+		}
+
+		/** Checked here so a bad value throws on the calling thread and not on the main thread **/
+		if (capacity < 1) {
+
+			throw new IllegalArgumentException(ERROR_CAPACITY);
+
+		}
+
+		if (refillInterval < 1) {
+
+			throw new IllegalArgumentException(ERROR_REFILLINTERVAL);
+
+		}
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			SuperToastDispatcher.runOnMainThread(new Runnable() {
+
+				@Override
+				public void run() {
+
+					setRateLimit(channel, capacity, refillInterval, overflow);
+
+				}
+
+			});
+
+			return;
+
+		}
+
+		final TokenBucket mTokenBucket = new TokenBucket(capacity, refillInterval, SystemClock.uptimeMillis());
+
+		removeRateLimit(channel);
+
+		mChannels.put(channel, new Channel(mTokenBucket, overflow));
+
+	}
+
+
+	/**
+	 * This is used to remove the rate limit of a channel. Deferred toasts
+	 * of the channel are shown immediately.
+	 *
+	 * <br>
+	 * @param channel
+	 * <br>
+	 *
+	 */
+	public void removeRateLimit(final String channel) {
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			SuperToastDispatcher.runOnMainThread(new Runnable() {
+
+				@Override
+				public void run() {
+
+					removeRateLimit(channel);
+
+				}
+
+			});
+
+			return;
+
+		}
+
+		final Channel mChannel = mChannels.remove(channel);
+
+		if (mChannel == null) {
+
+			return;
+
+		}
+
+		TimingWheel.getInstance().cancel(mChannel.timeout);
+
+		while (!mChannel.deferred.isEmpty()) {
+
+			final Throttled mThrottled = mChannel.deferred.removeFirst();
+			mThrottled.deferred = false;
+
+			mThrottled.show();
+
+		}
+
+	}
+
+
+	//XXX: Package methods.
+
+
+	/**
+	 * Returns true if a toast of the channel can be shown now. This path does not
+	 * allocate unless the channel overflows.
+	 */
+	boolean acquire(String channel, Throttled mThrottled) {
+
+		final Channel mChannel = mChannels.get(channel);
+
+		if (mChannel == null) {
+
+			return true;
+
+		}
+
+		final long now = SystemClock.uptimeMillis();
+
+		/** Deferred toasts keep their order so a new toast can't skip ahead of them **/
+		if (mChannel.deferred.isEmpty() && mChannel.bucket.tryAcquire(now)) {
+
+			mChannel.last = mThrottled;
+
+			return true;
+
+		}
+
+		if (mChannel.overflow == SuperToastConstants.OVERFLOW_DEFER) {
+
+			if (!mThrottled.deferred) {
+
+				mThrottled.deferred = true;
+				mChannel.deferred.addLast(mThrottled);
+
+				mChannel.schedule(now);
+
+			}
+
+		} else if (mChannel.overflow == SuperToastConstants.OVERFLOW_MERGE) {
+
+			if (mChannel.last != null && mChannel.last != mThrottled) {
+
+				mChannel.last.merge(mThrottled.getText());
+
+			}
+
+		}
+
+		return false;
+
+	}
+
+
+	void release(String channel, Throttled mThrottled) {
+
+		final Channel mChannel = mChannels.get(channel);
+
+		if (mChannel == null) {
+
+			return;
+
+		}
+
+		/** Channels must not hold on to dismissed toasts and their Activities **/
+		if (mChannel.last == mThrottled) {
+
+			mChannel.last = null;
+
+		}
+
+		if (mThrottled.deferred) {
+
+			mThrottled.deferred = false;
+			mChannel.deferred.remove(mThrottled);
+
+		}
+
+	}
+
+
+
+	void add(Entry mEntry) {
+
+		final Object laneKey = mEntry.getLane();
+
+		Lane mLane = mLanes.get(laneKey);
+
+		if (mLane == null) {
+
+			mLane = new Lane(mEntry.type, maxConcurrent[mEntry.type]);
+			mLanes.put(laneKey, mLane);
+
+		} else if (mEntry.state != Entry.STATE_IDLE) {
+
+			return;
+
+		} else if (mEntry.coalesceKey != null) {
+
+			final Entry mDuplicate = mLane.coalescing.get(mEntry.coalesceKey);
+
+			/** The duplicate is dropped before it inflates or adds a View **/
+			if (mDuplicate != null) {
+
+				mDuplicate.coalesce();
+
+				return;
+
+			}
+
+		}
+
+		mEntry.sequence = ++sequence;
+
+		if (mEntry.coalesceKey != null) {
+
+			mLane.coalescing.put(mEntry.coalesceKey, mEntry);
+
+		}
+
+		if (mLane.showing.size() < mLane.getLimit()) {
+
+			display(mLane, mEntry);
+
+			return;
+
+		}
+
+		final Entry mLowest = mLane.lowestShowing();
+
+		if (mLowest != null && mLowest.priority < mEntry.priority) {
+
+			/** The preempted toast keeps its sequence so it resumes before later toasts of the same priority **/
+			mLane.showing.remove(mLowest);
+			mLowest.preempt();
+			enqueue(mLane, mLowest);
+
+			display(mLane, mEntry);
+
+		} else {
+
+			enqueue(mLane, mEntry);
+
+		}
+
+		updateOverflow(laneKey, mLane);
+
+	}
+
+
+	void remove(Entry mEntry) {
+
+		final Object laneKey = mEntry.getLane();
+		final Lane mLane = mLanes.get(laneKey);
+
+		if (mLane == null) {
+
+			return;
+
+		}
+
+		if (mEntry.coalesceKey != null && mLane.coalescing.get(mEntry.coalesceKey) == mEntry) {
+
+			mLane.coalescing.remove(mEntry.coalesceKey);
+
+		}
+
+		if (mEntry.state == Entry.STATE_SHOWING) {
+
+			mLane.showing.remove(mEntry);
+			mEntry.state = Entry.STATE_IDLE;
+
+			promote(mLane);
+
+		} else if (mEntry.state == Entry.STATE_PENDING) {
+
+			mLane.pending.remove(mEntry);
+			mEntry.state = Entry.STATE_IDLE;
+
+		}
+
+		updateOverflow(laneKey, mLane);
+
+		removeIfEmpty(laneKey, mLane);
+
+	}
+
+
+	void setPriority(Entry mEntry, int priority) {
+
+		final Lane mLane = mLanes.get(mEntry.getLane());
+
+		/** A queued Entry must be reinserted so the heap stays ordered **/
+		if (mLane != null && mEntry.state == Entry.STATE_PENDING && mLane.pending.remove(mEntry)) {
+
+			mEntry.priority = priority;
+			mLane.pending.offer(mEntry);
+
+		} else {
+
+			mEntry.priority = priority;
+
+		}
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private void setMaxConcurrent(final int type, final int maxConcurrent) {
+
+		if (maxConcurrent < 1) {
+
+			throw new IllegalArgumentException(ERROR_MAXCONCURRENT);
+
+		}
+
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			SuperToastDispatcher.runOnMainThread(new Runnable() {
+
+				@Override
+				public void run() {
+
+					setMaxConcurrent(type, maxConcurrent);
+
+				}
+
+			});
+
+			return;
+
+		}
+
+		this.maxConcurrent[type] = maxConcurrent;
+
+		for (Object laneKey : new ArrayList<Object>(mLanes.keySet())) {
+
+			final Lane mLane = mLanes.get(laneKey);
+
+			if (mLane.type == type) {
+
+				mLane.maxConcurrent = maxConcurrent;
+
+				promote(mLane);
+
+				updateOverflow(laneKey, mLane);
+
+			}
+
+		}
+
+	}
+
+
+	private void promote(Lane mLane) {
+
+		while (mLane.showing.size() < mLane.getLimit() && !mLane.pending.isEmpty()) {
+
+			display(mLane, mLane.pending.poll());
+
+		}
+
+	}
+
+
+	/** Shows the number of queued cards in the collapsed stack of the card container **/
+	private void updateOverflow(final Object laneKey, final Lane mLane) {
+
+		if (mLane.type != TYPE_CARDTOAST) {
+
+			return;
+
+		}
+
+		final int count = mLane.pending.size();
+
+		if (count == 0) {
+
+			if (mLane.mOverflowView != null) {
+
+				mLane.mOverflowView.hide();
+
+			}
+
+			return;
+
+		}
+
+		if (mLane.mOverflowView == null) {
+
+			mLane.mOverflowView = new CardOverflowView((LinearLayout) laneKey, new Runnable() {
+
+				@Override
+				public void run() {
+
+					/** The container stays expanded until all of its cards are dismissed **/
+					mLane.isExpanded = true;
+
+					promote(mLane);
+
+					updateOverflow(laneKey, mLane);
+
+				}
+
+			});
+
+		}
+
+		mLane.mOverflowView.show(count);
+
+	}
+
+
+	private void display(Lane mLane, Entry mEntry) {
+
+		mLane.showing.add(mEntry);
+		mEntry.state = Entry.STATE_SHOWING;
+
+		mEntry.display();
+
+	}
+
+
+	private void enqueue(Lane mLane, Entry mEntry) {
+
+		mLane.pending.offer(mEntry);
+		mEntry.state = Entry.STATE_PENDING;
+
+	}
+
+
+	private void clearPending(Lane mLane) {
+
+		for (Entry mEntry : mLane.pending) {
+
+			mEntry.state = Entry.STATE_IDLE;
+
+			if (mEntry.coalesceKey != null) {
+
+				mLane.coalescing.remove(mEntry.coalesceKey);
+
+			}
+
+		}
+
+		mLane.pending.clear();
+
+	}
+
+
+	private void removeIfEmpty(Object laneKey, Lane mLane) {
+
+		/** Lanes are keyed by Activity Views so they must not outlive their toasts **/
+		if (mLane.showing.isEmpty() && mLane.pending.isEmpty()) {
+
+			mLanes.remove(laneKey);
+
+		}
+
+	}
+
+
+	private static final Comparator<Entry> ENTRY_COMPARATOR = new Comparator<Entry>() {
+
+		@Override
+		public int compare(Entry lhs, Entry rhs) {
+
+			if (lhs.priority != rhs.priority) {
+
+				return lhs.priority > rhs.priority ? -1 : 1;
+
+			}
+
+			return lhs.sequence < rhs.sequence ? -1 : (lhs.sequence == rhs.sequence ? 0 : 1);
+
+		}
+
+	};
+
+
+	private static class Lane {
+
+		final PriorityQueue<Entry> pending = new PriorityQueue<Entry>(11, ENTRY_COMPARATOR);
+		final ArrayList<Entry> showing = new ArrayList<Entry>();
+		final HashMap<String, Entry> coalescing = new HashMap<String, Entry>();
+
+		final int type;
+		int maxConcurrent;
+
+		/** The "+N more" stack of a card container, created when the first card is queued **/
+		CardOverflowView mOverflowView;
+
+		/** The stack was tapped, all queued cards are shown **/
+		boolean isExpanded;
+
+		Lane(int type, int maxConcurrent) {
+
+			this.type = type;
+			this.maxConcurrent = maxConcurrent;
+
+		}
+
+		int getLimit() {
+
+			if (isExpanded) {
+
+				return Integer.MAX_VALUE;
+
+			}
+
+			return maxConcurrent;
+
+		}
+
+		Entry lowestShowing() {
+
+			Entry mLowest = null;
+
+			for (int i = 0; i < showing.size(); i++) {
+
+				final Entry mEntry = showing.get(i);
+
+				if (mLowest == null || ENTRY_COMPARATOR.compare(mEntry, mLowest) > 0) {
+
+					mLowest = mEntry;
+
+				}
+
+			}
+
+			return mLowest;
+
+		}
+
+	}
+
+
+	private static class Channel implements Runnable {
+
+		final TokenBucket bucket;
+		final int overflow;
+		final LinkedList<Throttled> deferred = new LinkedList<Throttled>();
+
+		final TimingWheel.Timeout timeout = new TimingWheel.Timeout(this);
+
+		/** The toast that was last shown in this channel, merged toasts update it **/
+		Throttled last;
+
+		Channel(TokenBucket bucket, int overflow) {
+
+			this.bucket = bucket;
+			this.overflow = overflow;
+
+		}
+
+		void schedule(long now) {
+
+			if (deferred.isEmpty()) {
+
+				TimingWheel.getInstance().cancel(timeout);
+
+			} else {
+
+				TimingWheel.getInstance().schedule(timeout, bucket.getDelay(now));
+
+			}
+
+		}
+
+		@Override
+		public void run() {
+
+			final long now = SystemClock.uptimeMillis();
+
+			while (!deferred.isEmpty() && bucket.tryAcquire(now)) {
+
+				final Throttled mThrottled = deferred.removeFirst();
+				mThrottled.deferred = false;
+
+				last = mThrottled;
+				mThrottled.show();
+
+			}
+
+			schedule(now);
+
+		}
+
+	}
+
+
+	/**
+	 * A toast that can be rate limited by a channel. Each toast holds a private
+	 * Throttled that forwards these calls to the toast.
+	 */
+	abstract static class Throttled {
+
+		boolean deferred;
+
+		/** Shows the toast without checking the rate limit again **/
+		abstract void show();
+
+		abstract CharSequence getText();
+
+		/** Shows the text of an overflowing toast in this toast if it is still queued or showing **/
+		abstract void merge(CharSequence text);
+
+	}
+
+
+	/**
+	 * A toast that is scheduled by the SuperToastManager. Each managed toast
+	 * holds a private Entry that forwards these calls to the toast.
+	 */
+	abstract static class Entry {
+
+		static final int STATE_IDLE = 0;
+		static final int STATE_PENDING = 1;
+		static final int STATE_SHOWING = 2;
+
+		final int type;
+
+		int state = STATE_IDLE;
+
+		/** Toasts with the same key in the same container are coalesced, null if disabled **/
+		String coalesceKey;
+
+		int priority = SuperToastConstants.PRIORITY_NORMAL;
+		long sequence;
+
+		Entry(int type) {
+
+			this.type = type;
+
+		}
+
+		/** Returns the container that this toast is displayed in **/
+		abstract Object getLane();
+
+		/** Adds the toast to its container and starts its remaining duration **/
+		abstract void display();
+
+		/** Removes the toast from its container and saves its remaining duration **/
+		abstract void preempt();
+
+		abstract void dismiss();
+
+		/** Called when a duplicate of this queued or showing toast is shown **/
+		abstract void coalesce();
+
+	}
+
+}
@@ -0,0 +1,268 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import com.extlibsupertoasts.utilities.FrameScheduler;
+import com.extlibsupertoasts.utilities.SuperToastConstants;
+
+import android.app.Service;
+import android.content.Context;
+import android.content.Intent;
+import android.os.IBinder;
+
+import java.util.ArrayList;
+
+
+/**
+ * The SuperToastService shows SuperToasts on behalf of components that
+ * do not have access to the main thread or to an Activity, such as worker
+ * threads, BroadcastReceivers and other processes. Requests are sent as
+ * Intents with the {@link #ACTION_SHOW} action and are shown as SuperToasts
+ * with the application Context.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Design guide: </b>
+ * </p>
+ *
+ * <p>
+ * Use {@link #show(Context, CharSequence, int)} from any thread. Requests
+ * that arrive within the same frame are shown together in one pass.
+ * </p>
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * The service is declared in the library manifest. Make sure that manifest
+ * merging is enabled or declare the service in your own manifest.
+ * </p>
+ *
+ */
+public class SuperToastService extends Service
+{
+
+
+	/** The action of an Intent that shows a SuperToast **/
+	public static final String ACTION_SHOW = ("com.extlibsupertoasts.supertoastservice");
+
+	/** A CharSequence, the text of the SuperToast **/
+	public static final String EXTRA_TEXT = ("com.extlibsupertoasts.extra.TEXT");
+
+	/** An int, the duration of the SuperToast **/
+	public static final String EXTRA_DURATION = ("com.extlibsupertoasts.extra.DURATION");
+
+	/** An int, the background resource of the SuperToast **/
+	public static final String EXTRA_BACKGROUND = ("com.extlibsupertoasts.extra.BACKGROUND");
+
+	/** An int, the text color of the SuperToast **/
+	public static final String EXTRA_TEXTCOLOR = ("com.extlibsupertoasts.extra.TEXTCOLOR");
+
+	/** An int, the text size of the SuperToast **/
+	public static final String EXTRA_TEXTSIZE = ("com.extlibsupertoasts.extra.TEXTSIZE");
+
+	/** An int, the priority of the SuperToast **/
+	public static final String EXTRA_PRIORITY = ("com.extlibsupertoasts.extra.PRIORITY");
+
+	/** A String, the rate limited channel of the SuperToast **/
+	public static final String EXTRA_CHANNEL = ("com.extlibsupertoasts.extra.CHANNEL");
+
+	/** A boolean, whether duplicates of the SuperToast are coalesced **/
+	public static final String EXTRA_COALESCE = ("com.extlibsupertoasts.extra.COALESCE");
+
+	private static final String ERROR_CONTEXTNULL = "The Context that you passed was null! (SuperToastService)";
+
+	private final ArrayList<Intent> mPendingIntents = new ArrayList<Intent>();
+
+	private int lastStartId;
+
+
+	/**
+	 * This is used to show a SuperToast through the SuperToastService.
+	 * This method can be called from any thread.
+	 *
+	 * <br>
+	 * @param mContext
+	 * <br>
+	 *
+	 * @param textCharSequence
+	 * <br>
+	 *
+	 * @param duration
+	 * <br>
+	 * Example: (SuperToastConstants.DURATION_SHORT)
+	 * <br>
+	 *
+	 */
+	public static void show(Context mContext, CharSequence textCharSequence, int duration) {
+
+		mContext.startService(getIntent(mContext, textCharSequence, duration));
+
+	}
+
+
+	/**
+	 * This is used to get an Intent that shows a SuperToast through the
+	 * SuperToastService. Add any of the EXTRA values to the Intent before
+	 * passing it to startService().
+	 *
+	 * <br>
+	 * @param mContext
+	 * <br>
+	 *
+	 * @param textCharSequence
+	 * <br>
+	 *
+	 * @param duration
+	 * <br>
+	 * Example: (SuperToastConstants.DURATION_SHORT)
+	 * <br>
+	 *
+	 * @return Intent
+	 *
+	 * <br>
+	 *
+	 */
+	public static Intent getIntent(Context mContext, CharSequence textCharSequence, int duration) {
+
+		if (mContext == null) {
+
+			throw new IllegalArgumentException(ERROR_CONTEXTNULL);
+
+		}
+
+		final Intent mIntent = new Intent(mContext.getApplicationContext(), SuperToastService.class);
+
+		mIntent.setAction(ACTION_SHOW);
+		mIntent.putExtra(EXTRA_TEXT, textCharSequence);
+		mIntent.putExtra(EXTRA_DURATION, duration);
+
+		return mIntent;
+
+	}
+
+
+	@Override
+	public IBinder onBind(Intent mIntent) {
+
+		return null;
+
+	}
+
+
+	@Override
+	public int onStartCommand(Intent mIntent, int flags, int startId) {
+
+		lastStartId = startId;
+
+		if (mIntent != null && ACTION_SHOW.equals(mIntent.getAction())) {
+
+			mPendingIntents.add(mIntent);
+
+			mFrameScheduler.schedule();
+
+		} else if (mPendingIntents.isEmpty()) {
+
+			stopSelf(startId);
+
+		}
+
+		/** Toasts are not worth showing again after the process is killed **/
+		return START_NOT_STICKY;
+
+	}
+
+
+	@Override
+	public void onDestroy() {
+
+		mPendingIntents.clear();
+
+		super.onDestroy();
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private void showSuperToast(Intent mIntent) {
+
+		final SuperToast mSuperToast = new SuperToast(getApplicationContext());
+
+		mSuperToast.setText(mIntent.getCharSequenceExtra(EXTRA_TEXT));
+		mSuperToast.setDuration(mIntent.getIntExtra(EXTRA_DURATION,
+				SuperToastConstants.DURATION_SHORT));
+
+		if (mIntent.hasExtra(EXTRA_BACKGROUND)) {
+
+			mSuperToast.setBackgroundResource(mIntent.getIntExtra(EXTRA_BACKGROUND,
+					SuperToastConstants.BACKGROUND_GREYTRANSLUCENT));
+
+		}
+
+		if (mIntent.hasExtra(EXTRA_TEXTCOLOR)) {
+
+			mSuperToast.setTextColor(mIntent.getIntExtra(EXTRA_TEXTCOLOR, 0));
+
+		}
+
+		if (mIntent.hasExtra(EXTRA_TEXTSIZE)) {
+
+			mSuperToast.setTextSize(mIntent.getIntExtra(EXTRA_TEXTSIZE,
+					SuperToastConstants.TEXTSIZE_SMALL));
+
+		}
+
+		mSuperToast.setPriority(mIntent.getIntExtra(EXTRA_PRIORITY,
+				SuperToastConstants.PRIORITY_NORMAL));
+		mSuperToast.setChannel(mIntent.getStringExtra(EXTRA_CHANNEL));
+		mSuperToast.setCoalesceDuplicates(mIntent.getBooleanExtra(EXTRA_COALESCE, false));
+
+		mSuperToast.show();
+
+	}
+
+
+	private Runnable mDispatchRunnable = new Runnable() {
+
+		@Override
+		public void run() {
+
+			for (int i = 0; i < mPendingIntents.size(); i++) {
+
+				showSuperToast(mPendingIntents.get(i));
+
+			}
+
+			mPendingIntents.clear();
+
+			/** SuperToast windows outlive the service so it can stop once the batch is shown **/
+			stopSelf(lastStartId);
+
+		}
+
+	};
+
+	private final FrameScheduler mFrameScheduler = new FrameScheduler(mDispatchRunnable);
+
+}
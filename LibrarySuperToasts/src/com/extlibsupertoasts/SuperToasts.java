@@ -0,0 +1,591 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.content.Context;
+import android.graphics.Typeface;
+
+import java.util.ArrayList;
+
+
+/**
+ * Methods that apply to every kind of toast in the library.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Design guide: </b>
+ * </p>
+ *
+ * <p>
+ * Show toasts that report the state of one item, such as the progress of a
+ * download, with {@link #show(String, int, SuperProgressToast)}. Showing a toast
+ * again with the same tag and id updates the toast that is showing instead of
+ * stacking another one, like NotificationManager.notify(String, int, Notification).
+ * </p>
+ *
+ */
+public final class SuperToasts
+{
+
+
+	private static final String ERROR_CONTEXTNULL = "The Context that you passed was null! (SuperToasts)";
+	private static final String ERROR_TYPEUNKNOWN = "The type that you passed is not a toast of this library! (SuperToasts)";
+	private static final String ERROR_TOASTNULL = "The toast that you passed was null! (SuperToasts)";
+
+
+	private SuperToasts() {
+
+		// Static methods only
+
+	}
+
+
+	/**
+	 * This is used to build the Views of toasts before they are first shown.
+	 * The Views are built on a background thread, which also decodes their
+	 * backgrounds, so the first toast of a type costs the same as any later one.
+	 *
+	 * <br>
+	 *
+	 * <p>
+	 * <b> Design guide: </b>
+	 * </p>
+	 *
+	 * <p>
+	 * Call this method once in Application.onCreate() with the types that your
+	 * application shows. Passing no types prewarms every type.
+	 * </p>
+	 *
+	 * <br>
+	 * @param mContext
+	 * <br>
+	 *
+	 * @param types
+	 * <br>
+	 * Example: (SuperCardToast.class, SuperActivityToast.class)
+	 * <br>
+	 *
+	 */
+	public static void prewarm(Context mContext, Class<?>... types) {
+
+		if (mContext == null) {
+
+			throw new IllegalArgumentException(ERROR_CONTEXTNULL);
+
+		}
+
+		if (types == null || types.length == 0) {
+
+			types = new Class<?>[] { SuperToast.class, SuperActivityToast.class,
+					SuperButtonToast.class, SuperProgressToast.class, SuperCardToast.class };
+
+		}
+
+		final ArrayList<Integer> mLayoutResources = new ArrayList<Integer>();
+		final ArrayList<Integer> mParents = new ArrayList<Integer>();
+
+		for (Class<?> type : types) {
+
+			if (type == SuperToast.class) {
+
+				add(mLayoutResources, mParents, R.layout.supertoast, ViewPool.PARENT_WINDOW);
+
+			} else if (type == SuperActivityToast.class) {
+
+				add(mLayoutResources, mParents, R.layout.supertoast, ViewPool.PARENT_ACTIVITY);
+
+			} else if (type == SuperButtonToast.class) {
+
+				add(mLayoutResources, mParents, R.layout.superbuttontoast, ViewPool.PARENT_ACTIVITY);
+
+			} else if (type == SuperProgressToast.class) {
+
+				add(mLayoutResources, mParents, R.layout.supercircleprogresstoast, ViewPool.PARENT_ACTIVITY);
+				add(mLayoutResources, mParents, R.layout.superhorizontalprogresstoast, ViewPool.PARENT_ACTIVITY);
+
+			} else if (type == SuperCardToast.class) {
+
+				add(mLayoutResources, mParents, R.layout.supercardtoast_toast, ViewPool.PARENT_CARD);
+				add(mLayoutResources, mParents, R.layout.supercardtoast_button, ViewPool.PARENT_CARD);
+				add(mLayoutResources, mParents, R.layout.supercardtoast_progresscircle, ViewPool.PARENT_CARD);
+				add(mLayoutResources, mParents, R.layout.supercardtoast_progresshorizontal, ViewPool.PARENT_CARD);
+
+			} else {
+
+				throw new IllegalArgumentException(ERROR_TYPEUNKNOWN);
+
+			}
+
+		}
+
+		final int[] layoutResources = new int[mLayoutResources.size()];
+		final int[] parents = new int[mParents.size()];
+
+		for (int i = 0; i < layoutResources.length; i++) {
+
+			layoutResources[i] = mLayoutResources.get(i);
+			parents[i] = mParents.get(i);
+
+		}
+
+		ViewPool.getInstance().prewarm(mContext, layoutResources, parents);
+
+	}
+
+
+	/**
+	 * This is used to load Roboto fonts before they are first used. The fonts
+	 * are loaded on a background thread and kept for the life of the process,
+	 * so loadRobotoTypeface() does not read the assets folder when a toast is styled.
+	 *
+	 * <br>
+	 *
+	 * <p>
+	 * <b> Design guide: </b>
+	 * </p>
+	 *
+	 * <p>
+	 * Call this method once in Application.onCreate() with the fonts that your
+	 * application uses. Fonts that are not in the assets folder are skipped.
+	 * </p>
+	 *
+	 * <br>
+	 * @param mContext
+	 * <br>
+	 *
+	 * @param typefaceStrings
+	 * <br>
+	 * Example: (SuperToastConstants.FONT_ROBOTO_THIN, SuperToastConstants.FONT_ROBOTO_LIGHT)
+	 * <br>
+	 *
+	 */
+	public static void preloadTypefaces(Context mContext, String... typefaceStrings) {
+
+		if (mContext == null) {
+
+			throw new IllegalArgumentException(ERROR_CONTEXTNULL);
+
+		}
+
+		if (typefaceStrings == null || typefaceStrings.length == 0) {
+
+			return;
+
+		}
+
+		TypefaceCache.getInstance().preload(mContext, typefaceStrings.clone());
+
+	}
+
+
+	/**
+	 * This is used to lay out messages before they are shown. The messages are
+	 * measured and shaped on a background thread, so a toast that shows one of
+	 * them with the same Typeface and text size does no text shaping on the
+	 * main thread.
+	 *
+	 * <br>
+	 *
+	 * <p>
+	 * <b> Design guide: </b>
+	 * </p>
+	 *
+	 * <p>
+	 * Call this method with the messages that your application shows often,
+	 * such as "Message archived", or just before a toast is posted.
+	 * </p>
+	 *
+	 * <br>
+	 *
+	 * <p>
+	 * <b> Important note: </b>
+	 * </p>
+	 *
+	 * <p>
+	 * A toast only reuses a precomputed message that has no icon and is shown
+	 * with the same Typeface and text size at about the width of the screen.
+	 * Other messages are laid out when they are first shown and reused after that.
+	 * </p>
+	 *
+	 * <br>
+	 * @param mContext
+	 * <br>
+	 *
+	 * @param typeface
+	 * <br>
+	 * Example: (Typeface.DEFAULT)
+	 * <br>
+	 *
+	 * @param textSize
+	 * <br>
+	 * Example: (SuperToastConstants.TEXTSIZE_SMALL)
+	 * <br>
+	 *
+	 * @param texts
+	 * <br>
+	 *
+	 */
+	public static void precomputeText(Context mContext, Typeface typeface, int textSize, CharSequence... texts) {
+
+		if (mContext == null) {
+
+			throw new IllegalArgumentException(ERROR_CONTEXTNULL);
+
+		}
+
+		if (texts == null || texts.length == 0) {
+
+			return;
+
+		}
+
+		TextLayoutCache.getInstance().precompute(mContext, texts.clone(), typeface, textSize);
+
+	}
+
+
+	/**
+	 * This is used to show a SuperToast with a tag and an id. If a SuperToast
+	 * with the same tag and id is still showing its text and style are updated
+	 * in place instead of showing another one. This method can be called from
+	 * any thread.
+	 *
+	 * <br>
+	 * @param tag
+	 * <br>
+	 * The tag may be null.
+	 * <br>
+	 *
+	 * @param id
+	 * <br>
+	 *
+	 * @param mSuperToast
+	 * <br>
+	 * Example: (new SuperToast(mContext))
+	 * <br>
+	 *
+	 */
+	public static void show(String tag, int id, SuperToast mSuperToast) {
+
+		showTagged(tag, id, mSuperToast);
+
+	}
+
+
+	/**
+	 * This is used to show a SuperActivityToast with a tag and an id. If a SuperActivityToast
+	 * with the same tag and id is still showing its text and style are updated
+	 * in place instead of showing another one. This method can be called from
+	 * any thread.
+	 *
+	 * <br>
+	 * @param tag
+	 * <br>
+	 * The tag may be null.
+	 * <br>
+	 *
+	 * @param id
+	 * <br>
+	 *
+	 * @param mSuperActivityToast
+	 * <br>
+	 * Example: (new SuperActivityToast(mActivity))
+	 * <br>
+	 *
+	 */
+	public static void show(String tag, int id, SuperActivityToast mSuperActivityToast) {
+
+		showTagged(tag, id, mSuperActivityToast);
+
+	}
+
+
+	/**
+	 * This is used to show a SuperButtonToast with a tag and an id. If a SuperButtonToast
+	 * with the same tag and id is still showing its text and style are updated
+	 * in place instead of showing another one. This method can be called from
+	 * any thread.
+	 *
+	 * <br>
+	 * @param tag
+	 * <br>
+	 * The tag may be null.
+	 * <br>
+	 *
+	 * @param id
+	 * <br>
+	 *
+	 * @param mSuperButtonToast
+	 * <br>
+	 * Example: (new SuperButtonToast(mActivity))
+	 * <br>
+	 *
+	 */
+	public static void show(String tag, int id, SuperButtonToast mSuperButtonToast) {
+
+		showTagged(tag, id, mSuperButtonToast);
+
+	}
+
+
+	/**
+	 * This is used to show a SuperProgressToast with a tag and an id. If a SuperProgressToast
+	 * with the same tag and id is still showing its text and style are updated
+	 * in place instead of showing another one. This method can be called from
+	 * any thread.
+	 *
+	 * <br>
+	 * @param tag
+	 * <br>
+	 * The tag may be null.
+	 * <br>
+	 *
+	 * @param id
+	 * <br>
+	 *
+	 * @param mSuperProgressToast
+	 * <br>
+	 * Example: (new SuperProgressToast(mActivity))
+	 * <br>
+	 *
+	 */
+	public static void show(String tag, int id, SuperProgressToast mSuperProgressToast) {
+
+		showTagged(tag, id, mSuperProgressToast);
+
+	}
+
+
+	/**
+	 * This is used to show a SuperCardToast with a tag and an id. If a SuperCardToast
+	 * with the same tag and id is still showing its text and style are updated
+	 * in place instead of showing another one. This method can be called from
+	 * any thread.
+	 *
+	 * <br>
+	 * @param tag
+	 * <br>
+	 * The tag may be null.
+	 * <br>
+	 *
+	 * @param id
+	 * <br>
+	 *
+	 * @param mSuperCardToast
+	 * <br>
+	 * Example: (new SuperCardToast(mActivity))
+	 * <br>
+	 *
+	 */
+	public static void show(String tag, int id, SuperCardToast mSuperCardToast) {
+
+		showTagged(tag, id, mSuperCardToast);
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private static void showTagged(final String tag, final int id, final Object mToast) {
+
+		if (mToast == null) {
+
+			throw new IllegalArgumentException(ERROR_TOASTNULL);
+
+		}
+
+		/** The registry is only used on the main thread, in order with the later calls on the toast **/
+		if (!SuperToastDispatcher.isMainThread()) {
+
+			SuperToastDispatcher.runOnMainThread(new Runnable() {
+
+				@Override
+				public void run() {
+
+					showTagged(tag, id, mToast);
+
+				}
+
+			});
+
+			return;
+
+		}
+
+		final ToastRegistry mToastRegistry = ToastRegistry.getInstance();
+
+		final ToastRegistry.Key mKey = new ToastRegistry.Key(tag, id);
+
+		final Object mLive = mToastRegistry.get(mKey);
+
+		if (mLive == mToast) {
+
+			return;
+
+		}
+
+		if (mLive != null) {
+
+			if (replace(mLive, mToast)) {
+
+				return;
+
+			}
+
+			/** The live toast is gone or of another type, the new toast takes its place **/
+			mToastRegistry.remove(mKey, mLive);
+			dismiss(mLive);
+
+		}
+
+		mToastRegistry.put(mKey, mToast);
+
+		if (mToast instanceof SuperToast) {
+
+			((SuperToast) mToast).registryKey = mKey;
+			((SuperToast) mToast).show();
+
+		} else if (mToast instanceof SuperActivityToast) {
+
+			((SuperActivityToast) mToast).registryKey = mKey;
+			((SuperActivityToast) mToast).show();
+
+		} else if (mToast instanceof SuperButtonToast) {
+
+			((SuperButtonToast) mToast).registryKey = mKey;
+			((SuperButtonToast) mToast).show();
+
+		} else if (mToast instanceof SuperProgressToast) {
+
+			((SuperProgressToast) mToast).registryKey = mKey;
+			((SuperProgressToast) mToast).show();
+
+		} else if (mToast instanceof SuperCardToast) {
+
+			((SuperCardToast) mToast).registryKey = mKey;
+			((SuperCardToast) mToast).show();
+
+		}
+
+	}
+
+
+	private static boolean replace(Object mLive, Object mToast) {
+
+		if (mLive instanceof SuperToast && mToast instanceof SuperToast) {
+
+			return ((SuperToast) mLive).replace((SuperToast) mToast);
+
+		} else if (mLive instanceof SuperActivityToast && mToast instanceof SuperActivityToast) {
+
+			return ((SuperActivityToast) mLive).replace((SuperActivityToast) mToast);
+
+		} else if (mLive instanceof SuperButtonToast && mToast instanceof SuperButtonToast) {
+
+			return ((SuperButtonToast) mLive).replace((SuperButtonToast) mToast);
+
+		} else if (mLive instanceof SuperProgressToast && mToast instanceof SuperProgressToast) {
+
+			return ((SuperProgressToast) mLive).replace((SuperProgressToast) mToast);
+
+		} else if (mLive instanceof SuperCardToast && mToast instanceof SuperCardToast) {
+
+			return ((SuperCardToast) mLive).replace((SuperCardToast) mToast);
+
+		}
+
+		return false;
+
+	}
+
+
+	/** Dismisses a toast that was replaced by a toast of another type, without its dismiss Animation **/
+	private static void dismiss(Object mToast) {
+
+		if (mToast instanceof SuperToast) {
+
+			((SuperToast) mToast).registryKey = null;
+			((SuperToast) mToast).dismiss();
+
+		} else if (mToast instanceof SuperActivityToast) {
+
+			((SuperActivityToast) mToast).registryKey = null;
+
+			if (((SuperActivityToast) mToast).isShowing()) {
+
+				((SuperActivityToast) mToast).dismissImmediately();
+
+			}
+
+		} else if (mToast instanceof SuperButtonToast) {
+
+			((SuperButtonToast) mToast).registryKey = null;
+
+			if (((SuperButtonToast) mToast).getView() != null) {
+
+				((SuperButtonToast) mToast).dismissImmediately();
+
+			}
+
+		} else if (mToast instanceof SuperProgressToast) {
+
+			((SuperProgressToast) mToast).registryKey = null;
+
+			if (((SuperProgressToast) mToast).isShowing()) {
+
+				((SuperProgressToast) mToast).dismissImmediately();
+
+			}
+
+		} else if (mToast instanceof SuperCardToast) {
+
+			((SuperCardToast) mToast).registryKey = null;
+
+			if (((SuperCardToast) mToast).isShowing()) {
+
+				((SuperCardToast) mToast).dismissImmediately();
+
+			}
+
+		}
+
+	}
+
+
+	private static void add(ArrayList<Integer> mLayoutResources, ArrayList<Integer> mParents,
+			int layoutResource, int parent) {
+
+		/** A type may be passed more than once **/
+		for (int i = 0; i < mLayoutResources.size(); i++) {
+
+			if (mLayoutResources.get(i) == layoutResource && mParents.get(i) == parent) {
+
+				return;
+
+			}
+
+		}
+
+		mLayoutResources.add(layoutResource);
+		mParents.add(parent);
+
+	}
+
+}
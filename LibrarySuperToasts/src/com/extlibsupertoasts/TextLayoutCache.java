@@ -0,0 +1,261 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Keeps the StaticLayouts of recently shown messages, keyed by the text,
+ * Typeface, text size in pixels, paint flags, text scale and skew, alignment
+ * and width of the message. The
+ * MessageTextView of a toast measures and draws its message with the cached
+ * layout, so a message that was shown or precomputed before is not measured
+ * and broken into lines again on the main thread.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * Widths are rounded down to a bucket so the same message shares a layout in
+ * toasts of slightly different widths, a message may therefore wrap a little
+ * earlier than in a plain TextView. The cache can be used from any thread.
+ * </p>
+ */
+final class TextLayoutCache {
+
+
+	private static final String TAG = "TextLayoutCache";
+
+	/** Most applications repeat a handful of messages **/
+	private static final int MAX_SIZE = 32;
+
+	/** Widths are rounded down to a multiple of this many dp so small differences share a layout **/
+	private static final int WIDTH_BUCKET = 32;
+
+	private static TextLayoutCache mTextLayoutCache;
+
+	private final LinkedHashMap<Key, StaticLayout> mLayouts =
+			new LinkedHashMap<Key, StaticLayout>(MAX_SIZE, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, StaticLayout> mEldest) {
+
+			return size() > MAX_SIZE;
+
+		}
+
+	};
+
+
+	private TextLayoutCache() {
+
+		// Singleton
+
+	}
+
+
+	static synchronized TextLayoutCache getInstance() {
+
+		if (mTextLayoutCache == null) {
+
+			mTextLayoutCache = new TextLayoutCache();
+
+		}
+
+		return mTextLayoutCache;
+
+	}
+
+
+	/** Returns the layout of the message in the paint and width, building it if needed **/
+	StaticLayout get(CharSequence text, TextPaint mTextPaint, int width, Layout.Alignment mAlignment) {
+
+		final int bucket = (int) (WIDTH_BUCKET * mTextPaint.density + 0.5f);
+
+		/** Rounded down so the layout never gets wider than the space of the message **/
+		final int bucketWidth = width >= bucket ? width / bucket * bucket : width;
+
+		final Key mKey = new Key(text.toString(), mTextPaint, bucketWidth, mAlignment);
+
+		synchronized (this) {
+
+			final StaticLayout mStaticLayout = mLayouts.get(mKey);
+
+			if (mStaticLayout != null) {
+
+				return mStaticLayout;
+
+			}
+
+		}
+
+		/** Built outside of the lock so a background precompute never blocks the main thread **/
+		final StaticLayout mStaticLayout = new StaticLayout(mKey.text, new TextPaint(mTextPaint), bucketWidth,
+				mAlignment, 1f, 0f, true);
+
+		synchronized (this) {
+
+			mLayouts.put(mKey, mStaticLayout);
+
+		}
+
+		return mStaticLayout;
+
+	}
+
+
+	/**
+	 * Lays out the messages on a background thread with the text size in sp. The
+	 * width is the width of the screen less the margins of a toast, which is the
+	 * widest a message gets. Left aligned and centered messages are both laid out.
+	 */
+	void precompute(Context mContext, final CharSequence[] texts, Typeface mTypeface, int textSize) {
+
+		final Context mApplicationContext = mContext.getApplicationContext();
+
+		final DisplayMetrics mDisplayMetrics = mApplicationContext.getResources().getDisplayMetrics();
+
+		final int width = mDisplayMetrics.widthPixels
+				- 2 * mApplicationContext.getResources().getDimensionPixelSize(R.dimen.toast_sidemargin);
+
+		/** The same paint as the one of a TextView so the keys match **/
+		final TextPaint mTextPaint = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+		mTextPaint.density = mDisplayMetrics.density;
+		mTextPaint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, textSize, mDisplayMetrics));
+		mTextPaint.setTypeface(mTypeface != null ? mTypeface : Typeface.DEFAULT);
+
+		final HandlerThread mHandlerThread = new HandlerThread(TAG, Process.THREAD_PRIORITY_BACKGROUND);
+		mHandlerThread.start();
+
+		new Handler(mHandlerThread.getLooper()).post(new Runnable() {
+
+			@Override
+			public void run() {
+
+				for (CharSequence text : texts) {
+
+					if (text != null) {
+
+						get(text, mTextPaint, width, Layout.Alignment.ALIGN_NORMAL);
+						get(text, mTextPaint, width, Layout.Alignment.ALIGN_CENTER);
+
+					}
+
+				}
+
+				mHandlerThread.quit();
+
+			}
+
+		});
+
+	}
+
+
+	synchronized void clear() {
+
+		mLayouts.clear();
+
+	}
+
+
+	/**
+	 * The text, the paint state that the layout draws with, the bucketed width and the
+	 * alignment of a layout. The Typeface may be null.
+	 */
+	private static final class Key {
+
+		final String text;
+		final Typeface typeface;
+		final float textSize;
+		final int flags;
+		final float textScaleX;
+		final float textSkewX;
+		final int width;
+		final Layout.Alignment alignment;
+
+		private final int hash;
+
+		Key(String text, TextPaint mTextPaint, int width, Layout.Alignment alignment) {
+
+			this.text = text;
+			this.typeface = mTextPaint.getTypeface();
+			this.textSize = mTextPaint.getTextSize();
+			this.flags = mTextPaint.getFlags();
+			this.textScaleX = mTextPaint.getTextScaleX();
+			this.textSkewX = mTextPaint.getTextSkewX();
+			this.width = width;
+			this.alignment = alignment;
+
+			int h = text.hashCode();
+			h = 31 * h + (typeface != null ? typeface.hashCode() : 0);
+			h = 31 * h + Float.floatToIntBits(textSize);
+			h = 31 * h + flags;
+			h = 31 * h + Float.floatToIntBits(textScaleX);
+			h = 31 * h + Float.floatToIntBits(textSkewX);
+			h = 31 * h + width;
+			h = 31 * h + alignment.hashCode();
+
+			this.hash = h;
+
+		}
+
+		@Override
+		public boolean equals(Object mObject) {
+
+			if (!(mObject instanceof Key)) {
+
+				return false;
+
+			}
+
+			final Key mKey = (Key) mObject;
+
+			return width == mKey.width && textSize == mKey.textSize && alignment == mKey.alignment
+					&& flags == mKey.flags && textScaleX == mKey.textScaleX && textSkewX == mKey.textSkewX
+					&& text.equals(mKey.text)
+					&& (typeface != null ? typeface.equals(mKey.typeface) : mKey.typeface == null);
+
+		}
+
+		@Override
+		public int hashCode() {
+
+			return hash;
+
+		}
+
+	}
+
+}
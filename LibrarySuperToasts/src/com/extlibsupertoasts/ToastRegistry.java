@@ -0,0 +1,252 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+
+/**
+ * Maps the tag and id of toasts that were shown with SuperToasts.show()
+ * to the toast that is live for them. The map is open addressed with
+ * linear probing, so a lookup is a hash and usually a single compare.
+ * It is only used on the main thread.
+ */
+final class ToastRegistry {
+
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private static ToastRegistry mToastRegistry;
+
+	private Key[] mKeys = new Key[INITIAL_CAPACITY];
+	private Object[] mToasts = new Object[INITIAL_CAPACITY];
+
+	private int size;
+
+
+	private ToastRegistry() {
+
+		// Singleton
+
+	}
+
+
+	static synchronized ToastRegistry getInstance() {
+
+		if (mToastRegistry == null) {
+
+			mToastRegistry = new ToastRegistry();
+
+		}
+
+		return mToastRegistry;
+
+	}
+
+
+	/** Returns the toast that is registered with the key or null **/
+	Object get(Key mKey) {
+
+		final int index = indexOf(mKey);
+
+		return index != -1 ? mToasts[index] : null;
+
+	}
+
+
+	/** Registers the toast with the key and replaces the toast that was registered before **/
+	void put(Key mKey, Object mToast) {
+
+		/** The table is kept at most half full so probe sequences stay short **/
+		if ((size + 1) * 2 > mKeys.length) {
+
+			resize(mKeys.length * 2);
+
+		}
+
+		final int mask = mKeys.length - 1;
+
+		int index = mKey.hash & mask;
+
+		while (mKeys[index] != null) {
+
+			if (mKeys[index].equals(mKey)) {
+
+				mKeys[index] = mKey;
+				mToasts[index] = mToast;
+
+				return;
+
+			}
+
+			index = (index + 1) & mask;
+
+		}
+
+		mKeys[index] = mKey;
+		mToasts[index] = mToast;
+
+		size++;
+
+	}
+
+
+	/** Unregisters the toast, a toast that has been replaced in the meantime is kept **/
+	void remove(Key mKey, Object mToast) {
+
+		int index = indexOf(mKey);
+
+		if (index == -1 || mToasts[index] != mToast) {
+
+			return;
+
+		}
+
+		final int mask = mKeys.length - 1;
+
+		/** Entries after the removed one are shifted back so no tombstones are needed **/
+		int next = (index + 1) & mask;
+
+		while (mKeys[next] != null) {
+
+			final int home = mKeys[next].hash & mask;
+
+			if (((next - home) & mask) >= ((next - index) & mask)) {
+
+				mKeys[index] = mKeys[next];
+				mToasts[index] = mToasts[next];
+
+				index = next;
+
+			}
+
+			next = (next + 1) & mask;
+
+		}
+
+		mKeys[index] = null;
+		mToasts[index] = null;
+
+		size--;
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private int indexOf(Key mKey) {
+
+		final int mask = mKeys.length - 1;
+
+		int index = mKey.hash & mask;
+
+		while (mKeys[index] != null) {
+
+			if (mKeys[index].equals(mKey)) {
+
+				return index;
+
+			}
+
+			index = (index + 1) & mask;
+
+		}
+
+		return -1;
+
+	}
+
+
+	private void resize(int capacity) {
+
+		final Key[] mOldKeys = mKeys;
+		final Object[] mOldToasts = mToasts;
+
+		mKeys = new Key[capacity];
+		mToasts = new Object[capacity];
+
+		final int mask = capacity - 1;
+
+		for (int i = 0; i < mOldKeys.length; i++) {
+
+			if (mOldKeys[i] != null) {
+
+				int index = mOldKeys[i].hash & mask;
+
+				while (mKeys[index] != null) {
+
+					index = (index + 1) & mask;
+
+				}
+
+				mKeys[index] = mOldKeys[i];
+				mToasts[index] = mOldToasts[i];
+
+			}
+
+		}
+
+	}
+
+
+	/**
+	 * The tag and id of a toast, the tag may be null.
+	 */
+	static final class Key {
+
+		final String tag;
+		final int id;
+
+		private final int hash;
+
+		Key(String tag, int id) {
+
+			this.tag = tag;
+			this.id = id;
+
+			final int h = (tag != null ? tag.hashCode() * 31 : 0) + id;
+
+			/** Mixes the high bits of the tag hash into the low bits that pick the slot **/
+			this.hash = h ^ (h >>> 16);
+
+		}
+
+		@Override
+		public boolean equals(Object mObject) {
+
+			if (!(mObject instanceof Key)) {
+
+				return false;
+
+			}
+
+			final Key mKey = (Key) mObject;
+
+			return id == mKey.id && (tag != null ? tag.equals(mKey.tag) : mKey.tag == null);
+
+		}
+
+		@Override
+		public int hashCode() {
+
+			return hash;
+
+		}
+
+	}
+
+}
@@ -0,0 +1,503 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Typeface;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+
+/**
+ * Builds the toast layouts in code. The Views have the same ids,
+ * LayoutParams and attributes as the XML layouts of the library but are
+ * created without parsing XML or constructing Views by reflection. The
+ * layout ids still name the layouts so they can key the ViewPool.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * A change to one of the toast layouts must be made here as well.
+ * Unknown layouts are inflated from XML.
+ * </p>
+ *
+ */
+final class ToastViewFactory {
+
+
+	private ToastViewFactory() {
+
+		// Static methods only
+
+	}
+
+
+	/**
+	 * Returns a new View of the layout or null if the layout is not a
+	 * toast layout. The parent is only used to create the LayoutParams.
+	 */
+	static View create(Context mContext, int layoutResource, ViewGroup mParent) {
+
+		if (layoutResource == R.layout.supertoast) {
+
+			return createSuperToast(mContext, mParent);
+
+		} else if (layoutResource == R.layout.superbuttontoast) {
+
+			return createButtonToast(mContext, mParent);
+
+		} else if (layoutResource == R.layout.supercircleprogresstoast) {
+
+			return createProgressToast(mContext, mParent, false);
+
+		} else if (layoutResource == R.layout.superhorizontalprogresstoast) {
+
+			return createProgressToast(mContext, mParent, true);
+
+		} else if (layoutResource == R.layout.supercardtoast_toast) {
+
+			return createCardToast(mContext, mParent);
+
+		} else if (layoutResource == R.layout.supercardtoast_button) {
+
+			return createCardButtonToast(mContext, mParent);
+
+		} else if (layoutResource == R.layout.supercardtoast_progresscircle) {
+
+			return createCardCircleProgressToast(mContext, mParent);
+
+		} else if (layoutResource == R.layout.supercardtoast_progresshorizontal) {
+
+			return createCardHorizontalProgressToast(mContext, mParent);
+
+		}
+
+		return null;
+
+	}
+
+
+	//XXX: Layouts.
+
+
+	/** supertoast.xml **/
+	private static View createSuperToast(Context mContext, ViewGroup mParent) {
+
+		final Resources mResources = mContext.getResources();
+
+		final FrameLayout mRootLayout = new FrameLayout(mContext);
+		mRootLayout.setId(R.id.root);
+
+		final ViewGroup.MarginLayoutParams mRootParams = getRootParams(mParent,
+				ViewGroup.LayoutParams.WRAP_CONTENT, Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL);
+
+		if (mRootParams != null) {
+
+			mRootParams.bottomMargin = mResources.getDimensionPixelSize(R.dimen.toast_yoffset);
+			mRootLayout.setLayoutParams(mRootParams);
+
+		}
+
+		final TextView mTextView = new MessageTextView(mContext);
+		mTextView.setId(R.id.messageTextView);
+
+		final int padding = mResources.getDimensionPixelSize(R.dimen.textview_padding);
+		mTextView.setPadding(padding, padding, padding, padding);
+		mTextView.setGravity(Gravity.CENTER);
+		mTextView.setCompoundDrawablePadding(mResources
+				.getDimensionPixelSize(R.dimen.supertoast_drawable_padding));
+
+		mRootLayout.addView(mTextView, new FrameLayout.LayoutParams(
+				ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+		return mRootLayout;
+
+	}
+
+
+	/** superbuttontoast.xml **/
+	private static View createButtonToast(Context mContext, ViewGroup mParent) {
+
+		final Resources mResources = mContext.getResources();
+
+		final LinearLayout mRootLayout = new LinearLayout(mContext);
+		mRootLayout.setId(R.id.rootLinearLayout);
+
+		final ViewGroup.MarginLayoutParams mRootParams = getRootParams(mParent,
+				ViewGroup.LayoutParams.MATCH_PARENT, Gravity.BOTTOM);
+
+		if (mRootParams != null) {
+
+			final int sideMargin = mResources.getDimensionPixelSize(R.dimen.toast_sidemargin);
+
+			mRootParams.leftMargin = sideMargin;
+			mRootParams.rightMargin = sideMargin;
+			mRootParams.bottomMargin = mResources.getDimensionPixelSize(R.dimen.buttontoast_yoffset);
+			mRootLayout.setLayoutParams(mRootParams);
+
+		}
+
+		final TextView mTextView = new MessageTextView(mContext);
+		mTextView.setId(R.id.messageTextView);
+
+		final LinearLayout.LayoutParams mTextParams = new LinearLayout.LayoutParams(0,
+				ViewGroup.LayoutParams.WRAP_CONTENT, 1f);
+		mTextParams.gravity = Gravity.CENTER_VERTICAL;
+
+		final int textXMargin = mResources.getDimensionPixelSize(R.dimen.buttontoast_textview_xmargin);
+		final int textYMargin = mResources.getDimensionPixelSize(R.dimen.buttontoast_textview_ymargin);
+		mTextParams.setMargins(textXMargin, textYMargin, textXMargin, textYMargin);
+
+		mRootLayout.addView(mTextView, mTextParams);
+
+		final View mDivider = new View(mContext);
+		mDivider.setId(R.id.undodividerView);
+
+		final LinearLayout.LayoutParams mDividerParams = new LinearLayout.LayoutParams(mResources
+				.getDimensionPixelSize(R.dimen.buttontoast_divider_width), ViewGroup.LayoutParams.MATCH_PARENT);
+
+		final int dividerMargin = mResources.getDimensionPixelSize(R.dimen.buttontoast_divider_ymargin);
+		mDividerParams.topMargin = dividerMargin;
+		mDividerParams.bottomMargin = dividerMargin;
+
+		mRootLayout.addView(mDivider, mDividerParams);
+
+		final Button mButton = new Button(mContext);
+		mButton.setId(R.id.undoButton);
+		mButton.setBackgroundResource(R.drawable.selector_undobutton);
+		mButton.setCompoundDrawablePadding(mResources
+				.getDimensionPixelSize(R.dimen.buttontoast_buttondrawable_padding));
+
+		final int buttonPadding = mResources.getDimensionPixelSize(R.dimen.buttontoast_button_padding);
+		mButton.setPadding(buttonPadding, mButton.getPaddingTop(), buttonPadding, mButton.getPaddingBottom());
+
+		mRootLayout.addView(mButton, new LinearLayout.LayoutParams(
+				ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.MATCH_PARENT));
+
+		return mRootLayout;
+
+	}
+
+
+	/** supercircleprogresstoast.xml and superhorizontalprogresstoast.xml **/
+	private static View createProgressToast(Context mContext, ViewGroup mParent, boolean isHorizontal) {
+
+		final Resources mResources = mContext.getResources();
+
+		final LinearLayout mRootLayout = new LinearLayout(mContext);
+		mRootLayout.setId(R.id.toast_rootlayout);
+		mRootLayout.setOrientation(isHorizontal ? LinearLayout.VERTICAL : LinearLayout.HORIZONTAL);
+		mRootLayout.setBackgroundResource(R.drawable.background_white);
+
+		final ViewGroup.MarginLayoutParams mRootParams = getRootParams(mParent,
+				ViewGroup.LayoutParams.WRAP_CONTENT, Gravity.BOTTOM | Gravity.CENTER);
+
+		if (mRootParams != null) {
+
+			mRootParams.bottomMargin = getPixels(mResources, 64);
+			mRootLayout.setLayoutParams(mRootParams);
+
+		}
+
+		final int padding = mResources.getDimensionPixelSize(R.dimen.textview_padding);
+		final int sideMargin = mResources.getDimensionPixelSize(R.dimen.toast_sidemargin);
+
+		final TextView mTextView = new MessageTextView(mContext);
+		mTextView.setId(R.id.messageTextView);
+		mTextView.setGravity(Gravity.CENTER);
+		setTextAppearance(mContext, mTextView, android.R.attr.textAppearanceSmall);
+		mTextView.setTextColor(mResources.getColor(R.color.darkgrey));
+
+		final LinearLayout.LayoutParams mTextParams = new LinearLayout.LayoutParams(
+				ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+		mTextParams.gravity = Gravity.CENTER;
+		mTextParams.leftMargin = sideMargin;
+		mTextParams.rightMargin = sideMargin;
+
+		if (isHorizontal) {
+
+			mTextView.setPadding(padding, padding, padding, 0);
+
+			mRootLayout.addView(mTextView, mTextParams);
+
+			final ProgressBar mProgressBar = new ProgressBar(mContext, null,
+					android.R.attr.progressBarStyleHorizontal);
+			mProgressBar.setId(R.id.progressBar);
+			mProgressBar.setPadding(padding, mProgressBar.getPaddingTop(), padding,
+					mProgressBar.getPaddingBottom());
+
+			mRootLayout.addView(mProgressBar, new LinearLayout.LayoutParams(
+					ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+		} else {
+
+			final ProgressBar mProgressBar = new ProgressBar(mContext);
+			mProgressBar.setId(R.id.progressBar);
+
+			final LinearLayout.LayoutParams mProgressParams = new LinearLayout.LayoutParams(
+					getPixels(mResources, 30), ViewGroup.LayoutParams.MATCH_PARENT);
+			mProgressParams.setMargins(getPixels(mResources, 5), getPixels(mResources, 3), 0,
+					getPixels(mResources, 3));
+
+			mRootLayout.addView(mProgressBar, mProgressParams);
+
+			mTextView.setPadding(0, padding, padding, padding);
+
+			mRootLayout.addView(mTextView, mTextParams);
+
+		}
+
+		return mRootLayout;
+
+	}
+
+
+	/** supercardtoast_toast.xml **/
+	private static View createCardToast(Context mContext, ViewGroup mParent) {
+
+		final Resources mResources = mContext.getResources();
+
+		final LinearLayout mRootLayout = createCardRoot(mContext, mParent);
+		mRootLayout.setOrientation(LinearLayout.HORIZONTAL);
+		mRootLayout.setBackgroundResource(R.drawable.background_white);
+
+		final TextView mTextView = new MessageTextView(mContext);
+		mTextView.setId(R.id.messageTextView);
+		setTextAppearance(mContext, mTextView, android.R.attr.textAppearanceMedium);
+		mTextView.setTextColor(mResources.getColor(R.color.black));
+
+		final LinearLayout.LayoutParams mTextParams = new LinearLayout.LayoutParams(
+				ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+		mTextParams.setMargins(getPixels(mResources, 16), getPixels(mResources, 4),
+				getPixels(mResources, 16), getPixels(mResources, 4));
+
+		mRootLayout.addView(mTextView, mTextParams);
+
+		return mRootLayout;
+
+	}
+
+
+	/** supercardtoast_button.xml **/
+	private static View createCardButtonToast(Context mContext, ViewGroup mParent) {
+
+		final Resources mResources = mContext.getResources();
+
+		final LinearLayout mRootLayout = createCardRoot(mContext, mParent);
+
+		final TextView mTextView = new MessageTextView(mContext);
+		mTextView.setId(R.id.messageTextView);
+
+		final LinearLayout.LayoutParams mTextParams = new LinearLayout.LayoutParams(0,
+				ViewGroup.LayoutParams.WRAP_CONTENT, 1f);
+		mTextParams.gravity = Gravity.CENTER_VERTICAL;
+		mTextParams.setMargins(getPixels(mResources, 16), getPixels(mResources, 4),
+				getPixels(mResources, 16), getPixels(mResources, 4));
+
+		mRootLayout.addView(mTextView, mTextParams);
+
+		final View mDivider = new View(mContext);
+		mDivider.setId(R.id.dividerView);
+
+		final LinearLayout.LayoutParams mDividerParams = new LinearLayout.LayoutParams(
+				getPixels(mResources, 1), ViewGroup.LayoutParams.MATCH_PARENT);
+		mDividerParams.topMargin = getPixels(mResources, 4);
+		mDividerParams.bottomMargin = getPixels(mResources, 4);
+
+		mRootLayout.addView(mDivider, mDividerParams);
+
+		final Button mButton = new Button(mContext);
+		mButton.setId(R.id.actionButton);
+		mButton.setBackgroundResource(R.drawable.selector_undobutton);
+		mButton.setCompoundDrawablePadding(getPixels(mResources, 8));
+		mButton.setPadding(getPixels(mResources, 16), mButton.getPaddingTop(),
+				getPixels(mResources, 16), mButton.getPaddingBottom());
+		mButton.setTextSize(TypedValue.COMPLEX_UNIT_SP, 16);
+		mButton.setTypeface(mButton.getTypeface(), Typeface.BOLD);
+
+		mRootLayout.addView(mButton, new LinearLayout.LayoutParams(
+				ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.MATCH_PARENT));
+
+		return mRootLayout;
+
+	}
+
+
+	/** supercardtoast_progresscircle.xml **/
+	private static View createCardCircleProgressToast(Context mContext, ViewGroup mParent) {
+
+		final Resources mResources = mContext.getResources();
+
+		final LinearLayout mRootLayout = createCardRoot(mContext, mParent);
+
+		final ProgressBar mProgressBar = new ProgressBar(mContext);
+		mProgressBar.setId(R.id.progressBar);
+
+		final int progressPadding = getPixels(mResources, 2);
+		mProgressBar.setPadding(progressPadding, progressPadding, progressPadding, progressPadding);
+
+		mRootLayout.addView(mProgressBar, new LinearLayout.LayoutParams(
+				ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.MATCH_PARENT));
+
+		final TextView mTextView = new MessageTextView(mContext);
+		mTextView.setId(R.id.messageTextView);
+		setTextAppearance(mContext, mTextView, android.R.attr.textAppearanceMedium);
+		mTextView.setTextColor(mResources.getColor(R.color.black));
+
+		final LinearLayout.LayoutParams mTextParams = new LinearLayout.LayoutParams(0,
+				ViewGroup.LayoutParams.WRAP_CONTENT, 0.05f);
+		mTextParams.gravity = Gravity.CENTER_VERTICAL;
+		mTextParams.setMargins(0, getPixels(mResources, 4), getPixels(mResources, 16),
+				getPixels(mResources, 4));
+
+		mRootLayout.addView(mTextView, mTextParams);
+
+		return mRootLayout;
+
+	}
+
+
+	/** supercardtoast_progresshorizontal.xml **/
+	private static View createCardHorizontalProgressToast(Context mContext, ViewGroup mParent) {
+
+		final Resources mResources = mContext.getResources();
+
+		final LinearLayout mRootLayout = createCardRoot(mContext, mParent);
+		mRootLayout.setOrientation(LinearLayout.VERTICAL);
+		mRootLayout.setBackgroundResource(R.drawable.background_white);
+
+		final int padding = mResources.getDimensionPixelSize(R.dimen.textview_padding);
+
+		final TextView mTextView = new MessageTextView(mContext);
+		mTextView.setId(R.id.messageTextView);
+		mTextView.setGravity(Gravity.CENTER);
+		mTextView.setPadding(padding, padding, padding, 0);
+		setTextAppearance(mContext, mTextView, android.R.attr.textAppearanceMedium);
+		mTextView.setTextColor(mResources.getColor(R.color.darkgrey));
+
+		final LinearLayout.LayoutParams mTextParams = new LinearLayout.LayoutParams(
+				ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+		mTextParams.gravity = Gravity.CENTER;
+
+		mRootLayout.addView(mTextView, mTextParams);
+
+		final ProgressBar mProgressBar = new ProgressBar(mContext, null,
+				android.R.attr.progressBarStyleHorizontal);
+		mProgressBar.setId(R.id.progressBar);
+		mProgressBar.setPadding(padding, mProgressBar.getPaddingTop(), padding,
+				mProgressBar.getPaddingBottom());
+
+		mRootLayout.addView(mProgressBar, new LinearLayout.LayoutParams(
+				ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+		return mRootLayout;
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private static LinearLayout createCardRoot(Context mContext, ViewGroup mParent) {
+
+		final LinearLayout mRootLayout = new LinearLayout(mContext);
+		mRootLayout.setId(R.id.root_layout);
+
+		final ViewGroup.MarginLayoutParams mRootParams = getRootParams(mParent,
+				ViewGroup.LayoutParams.MATCH_PARENT, Gravity.NO_GRAVITY);
+
+		if (mRootParams != null) {
+
+			mRootLayout.setLayoutParams(mRootParams);
+
+		}
+
+		return mRootLayout;
+
+	}
+
+
+	/**
+	 * Returns the LayoutParams that the parent would create for the root of the
+	 * layout. A window View has no parent and gets no LayoutParams, like a View
+	 * that is inflated without a root.
+	 */
+	private static ViewGroup.MarginLayoutParams getRootParams(ViewGroup mParent, int width, int gravity) {
+
+		if (mParent == null) {
+
+			return null;
+
+		}
+
+		if (mParent instanceof FrameLayout) {
+
+			return new FrameLayout.LayoutParams(width, ViewGroup.LayoutParams.WRAP_CONTENT, gravity);
+
+		}
+
+		if (mParent instanceof LinearLayout) {
+
+			final LinearLayout.LayoutParams mLayoutParams = new LinearLayout.LayoutParams(width,
+					ViewGroup.LayoutParams.WRAP_CONTENT);
+			mLayoutParams.gravity = gravity;
+
+			return mLayoutParams;
+
+		}
+
+		return new ViewGroup.MarginLayoutParams(width, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+	}
+
+
+	/** Resolves a theme text appearance the way the ?android:attr reference in XML does **/
+	private static void setTextAppearance(Context mContext, TextView mTextView, int attribute) {
+
+		final TypedValue mTypedValue = new TypedValue();
+
+		if (mContext.getTheme().resolveAttribute(attribute, mTypedValue, true)) {
+
+			mTextView.setTextAppearance(mContext, mTypedValue.resourceId);
+
+		}
+
+	}
+
+
+	private static int getPixels(Resources mResources, float dp) {
+
+		/** Rounded like getDimensionPixelSize() **/
+		return (int) (TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp,
+				mResources.getDisplayMetrics()) + 0.5f);
+
+	}
+
+}
@@ -0,0 +1,145 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.util.Log;
+
+import java.util.HashMap;
+
+
+/**
+ * Keeps every Typeface that was loaded from the assets folder for the life of
+ * the process. Typeface.createFromAsset() reads and parses the font file each
+ * time it is called and older platforms never free the native font, so each
+ * font is only loaded once. The cache can be used from any thread, a font is
+ * loaded outside of the lock so threads that ask for cached fonts don't wait
+ * for it.
+ */
+final class TypefaceCache {
+
+
+	private static final String TAG = "TypefaceCache";
+
+	private static final String WARNING_PRELOAD = "A font could not be loaded in the background, "
+				+ "make sure it is in the assets folder of your project. (TypefaceCache)";
+
+	private static TypefaceCache mTypefaceCache;
+
+	private final HashMap<String, Typeface> mTypefaces = new HashMap<String, Typeface>();
+
+
+	private TypefaceCache() {
+
+		// Singleton
+
+	}
+
+
+	static synchronized TypefaceCache getInstance() {
+
+		if (mTypefaceCache == null) {
+
+			mTypefaceCache = new TypefaceCache();
+
+		}
+
+		return mTypefaceCache;
+
+	}
+
+
+	/** Returns the cached Typeface of the font file or loads it from the assets folder **/
+	Typeface get(Context mContext, String typefaceString) {
+
+		synchronized (mTypefaces) {
+
+			final Typeface mTypeface = mTypefaces.get(typefaceString);
+
+			if (mTypeface != null) {
+
+				return mTypeface;
+
+			}
+
+		}
+
+		/** The application AssetManager outlives the Activity that asked for the font **/
+		final Typeface mLoadedTypeface = Typeface.createFromAsset(mContext.getApplicationContext().getAssets(),
+				typefaceString);
+
+		synchronized (mTypefaces) {
+
+			/** Another thread may have loaded the font meanwhile, every caller gets the same instance **/
+			final Typeface mTypeface = mTypefaces.get(typefaceString);
+
+			if (mTypeface != null) {
+
+				return mTypeface;
+
+			}
+
+			mTypefaces.put(typefaceString, mLoadedTypeface);
+
+			return mLoadedTypeface;
+
+		}
+
+	}
+
+
+	/** Loads the fonts on a background thread so the first toast that uses them does not read the assets **/
+	void preload(Context mContext, final String[] typefaceStrings) {
+
+		final Context mApplicationContext = mContext.getApplicationContext();
+
+		final HandlerThread mHandlerThread = new HandlerThread(TAG, Process.THREAD_PRIORITY_BACKGROUND);
+		mHandlerThread.start();
+
+		new Handler(mHandlerThread.getLooper()).post(new Runnable() {
+
+			@Override
+			public void run() {
+
+				for (String typefaceString : typefaceStrings) {
+
+					try {
+
+						get(mApplicationContext, typefaceString);
+
+					} catch (RuntimeException exception) {
+
+						Log.w(TAG, WARNING_PRELOAD, exception);
+
+					}
+
+				}
+
+				mHandlerThread.quit();
+
+			}
+
+		});
+
+	}
+
+}
@@ -0,0 +1,203 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import com.extlibsupertoasts.utilities.FrameScheduler;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+
+
+/**
+ * Collects the toast Views that are added to and removed from Activity
+ * containers and applies them together on the next frame. Toasts that are
+ * shown, preempted or dismissed by different callbacks within one frame
+ * therefore cost a single layout pass of their container. A View that is
+ * added and removed again before the frame is never attached at all.
+ */
+final class ViewBatcher {
+
+
+	private static ViewBatcher mViewBatcher;
+
+	/** Pending operations in order, the arrays are reused between frames **/
+	private final ArrayList<ViewGroup> mParents = new ArrayList<ViewGroup>();
+	private final ArrayList<View> mViews = new ArrayList<View>();
+	private boolean[] isAdd = new boolean[16];
+
+
+	private ViewBatcher() {
+
+		// Singleton
+
+	}
+
+
+	static synchronized ViewBatcher getInstance() {
+
+		if (mViewBatcher == null) {
+
+			mViewBatcher = new ViewBatcher();
+
+		}
+
+		return mViewBatcher;
+
+	}
+
+
+	void addView(ViewGroup mParent, View mView) {
+
+		enqueue(mParent, mView, true);
+
+	}
+
+
+	void removeView(ViewGroup mParent, View mView) {
+
+		final int index = lastIndexOf(mView);
+
+		/** A View that was never attached is dropped instead of being added and removed **/
+		if (index != -1 && isAdd[index] && mParents.get(index) == mParent) {
+
+			mViews.set(index, null);
+
+			return;
+
+		}
+
+		enqueue(mParent, mView, false);
+
+	}
+
+
+	/** Returns true if the View is attached once the pending operations are applied **/
+	boolean isAttached(View mView) {
+
+		final int index = lastIndexOf(mView);
+
+		return index != -1 ? isAdd[index] : mView.getParent() != null;
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private void enqueue(ViewGroup mParent, View mView, boolean add) {
+
+		final int index = mViews.size();
+
+		if (index == isAdd.length) {
+
+			final boolean[] mGrown = new boolean[index * 2];
+			System.arraycopy(isAdd, 0, mGrown, 0, index);
+			isAdd = mGrown;
+
+		}
+
+		mParents.add(mParent);
+		mViews.add(mView);
+		isAdd[index] = add;
+
+		mFrameScheduler.schedule();
+
+	}
+
+
+	private int lastIndexOf(View mView) {
+
+		for (int i = mViews.size() - 1; i >= 0; i--) {
+
+			if (mViews.get(i) == mView) {
+
+				return i;
+
+			}
+
+		}
+
+		return -1;
+
+	}
+
+
+	private final Runnable mApplyRunnable = new Runnable() {
+
+		@Override
+		public void run() {
+
+			for (int i = 0; i < mViews.size(); i++) {
+
+				final View mView = mViews.get(i);
+
+				if (mView == null) {
+
+					continue;
+
+				}
+
+				final ViewGroup mParent = mParents.get(i);
+
+				if (isAdd[i]) {
+
+					if (mView.getParent() == null) {
+
+						final int childCount = mParent.getChildCount();
+
+						/** Cards are added above the "+N more" stack so it stays at the end of the container **/
+						if (childCount > 0 && mView.getClass() != CardOverflowView.class
+								&& mParent.getChildAt(childCount - 1) instanceof CardOverflowView) {
+
+							mParent.addView(mView, childCount - 1);
+
+						} else {
+
+							mParent.addView(mView);
+
+						}
+
+						/** Only an attached View knows if it is hardware accelerated **/
+						if (mView.getAnimation() != null) {
+
+							AnimationLayers.begin(mView);
+
+						}
+
+					}
+
+				} else if (mView.getParent() == mParent) {
+
+					mParent.removeView(mView);
+
+				}
+
+			}
+
+			mParents.clear();
+			mViews.clear();
+
+		}
+
+	};
+
+	private final FrameScheduler mFrameScheduler = new FrameScheduler(mApplyRunnable);
+
+}
@@ -0,0 +1,359 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.annotation.SuppressLint;
+import android.annotation.TargetApi;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+
+
+/**
+ * Keeps the Views of dismissed toasts so they can be shown again without
+ * building them again. Views are pooled per layout and are built with the application
+ * Context so a pooled View never holds on to an Activity. The pool is cleared
+ * when the system asks the application to trim its memory.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * A toast must bind every property of an acquired View because the View may
+ * still carry the text and colors of the toast that used it before. The pool
+ * only resets the state that toasts set conditionally.
+ * </p>
+ */
+@SuppressLint("NewApi")
+final class ViewPool {
+
+
+	/** The View is shown in its own window **/
+	static final int PARENT_WINDOW = 0;
+
+	/** The View is added to the content FrameLayout of an Activity **/
+	static final int PARENT_ACTIVITY = 1;
+
+	/** The View is added to the card container LinearLayout **/
+	static final int PARENT_CARD = 2;
+
+	private static final String TAG = "ViewPool";
+
+	private static final String WARNING_PREWARM = "A layout could not be built in the background, "
+				+ "it will be built when it is first shown. (ViewPool)";
+
+	/** Toasts rarely show more than a few Views of one layout at once **/
+	private static final int MAX_POOL_SIZE = 4;
+
+	private static ViewPool mViewPool;
+
+	private final int sdkVersion = android.os.Build.VERSION.SDK_INT;
+
+	/** Views built for an Activity container and Views built for a window have different LayoutParams **/
+	private final SparseArray<ArrayList<View>> mContainerViews = new SparseArray<ArrayList<View>>();
+	private final SparseArray<ArrayList<View>> mWindowViews = new SparseArray<ArrayList<View>>();
+
+	private boolean isRegistered;
+
+
+	private ViewPool() {
+
+		// Singleton
+
+	}
+
+
+	static synchronized ViewPool getInstance() {
+
+		if (mViewPool == null) {
+
+			mViewPool = new ViewPool();
+
+		}
+
+		return mViewPool;
+
+	}
+
+
+	/**
+	 * Returns a pooled View of the layout or builds a new one. The parent is only
+	 * used to create the LayoutParams and is null for SuperToast windows.
+	 */
+	View acquire(Context mContext, int layoutResource, ViewGroup mParent) {
+
+		final Context mApplicationContext = mContext.getApplicationContext();
+
+		register(mApplicationContext);
+
+		final ArrayList<View> mViews = (mParent != null ? mContainerViews : mWindowViews)
+				.get(layoutResource);
+
+		if (mViews != null && !mViews.isEmpty()) {
+
+			return mViews.remove(mViews.size() - 1);
+
+		}
+
+		final View mView = ToastViewFactory.create(mApplicationContext, layoutResource, mParent);
+
+		if (mView != null) {
+
+			return mView;
+
+		}
+
+		return LayoutInflater.from(mApplicationContext).inflate(layoutResource, mParent, false);
+
+	}
+
+
+	/**
+	 * Returns a detached View to the pool. The View must not be used by
+	 * the toast after it is released.
+	 */
+	void release(int layoutResource, boolean isWindow, View mView) {
+
+		final SparseArray<ArrayList<View>> mPool = isWindow ? mWindowViews : mContainerViews;
+
+		ArrayList<View> mViews = mPool.get(layoutResource);
+
+		if (mViews == null) {
+
+			mViews = new ArrayList<View>(MAX_POOL_SIZE);
+			mPool.put(layoutResource, mViews);
+
+		}
+
+		if (mViews.size() < MAX_POOL_SIZE) {
+
+			reset(mView);
+
+			mViews.add(mView);
+
+		}
+
+	}
+
+
+	/**
+	 * Builds one View of each layout on a background thread and adds them
+	 * to the pool on the main thread. The layouts are built with a parent of
+	 * the same type as the toast containers so the Views get the same LayoutParams.
+	 */
+	void prewarm(Context mContext, final int[] layoutResources, final int[] parents) {
+
+		final Context mApplicationContext = mContext.getApplicationContext();
+
+		final HandlerThread mHandlerThread = new HandlerThread(TAG, Process.THREAD_PRIORITY_BACKGROUND);
+		mHandlerThread.start();
+
+		new Handler(mHandlerThread.getLooper()).post(new Runnable() {
+
+			@Override
+			public void run() {
+
+				/** LayoutInflater is not thread safe, the clone does not share its state with the main thread **/
+				final LayoutInflater mLayoutInflater = LayoutInflater.from(mApplicationContext)
+						.cloneInContext(mApplicationContext);
+
+				final FrameLayout mActivityParent = new FrameLayout(mApplicationContext);
+				final LinearLayout mCardParent = new LinearLayout(mApplicationContext);
+				mCardParent.setOrientation(LinearLayout.VERTICAL);
+
+				final View[] mViews = new View[layoutResources.length];
+
+				for (int i = 0; i < layoutResources.length; i++) {
+
+					final ViewGroup mParent = parents[i] == PARENT_ACTIVITY ? mActivityParent
+							: parents[i] == PARENT_CARD ? mCardParent : null;
+
+					try {
+
+						mViews[i] = ToastViewFactory.create(mApplicationContext, layoutResources[i], mParent);
+
+						if (mViews[i] == null) {
+
+							mViews[i] = mLayoutInflater.inflate(layoutResources[i], mParent, false);
+
+						}
+
+					} catch (RuntimeException exception) {
+
+						Log.w(TAG, WARNING_PREWARM, exception);
+
+					}
+
+				}
+
+				new Handler(Looper.getMainLooper()).post(new Runnable() {
+
+					@Override
+					public void run() {
+
+						register(mApplicationContext);
+
+						for (int i = 0; i < mViews.length; i++) {
+
+							if (mViews[i] != null) {
+
+								release(layoutResources[i], parents[i] == PARENT_WINDOW, mViews[i]);
+
+							}
+
+						}
+
+					}
+
+				});
+
+				mHandlerThread.quit();
+
+			}
+
+		});
+
+	}
+
+
+	void clear() {
+
+		mContainerViews.clear();
+		mWindowViews.clear();
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private void reset(View mView) {
+
+		mView.clearAnimation();
+
+		if (sdkVersion >= android.os.Build.VERSION_CODES.HONEYCOMB_MR1) {
+
+			/** The listener is removed first so the swipe and dismiss animations don't call the old toast **/
+			mView.animate().setListener(null).cancel();
+
+		}
+
+		if (sdkVersion >= android.os.Build.VERSION_CODES.HONEYCOMB) {
+
+			/** A View that was dismissed with an Animation is still rendered into a hardware layer **/
+			mView.setLayerType(View.LAYER_TYPE_NONE, null);
+			mView.setTranslationX(0f);
+			mView.setTranslationY(0f);
+			mView.setAlpha(1f);
+
+		}
+
+		mView.setVisibility(View.VISIBLE);
+		mView.setOnClickListener(null);
+		mView.setOnTouchListener(null);
+		mView.setTag(R.id.supercardtoast, null);
+		mView.setClickable(false);
+
+		/** Every toast layout wraps its content, a swipe dismissal collapses the height **/
+		final ViewGroup.LayoutParams mLayoutParams = mView.getLayoutParams();
+
+		if (mLayoutParams != null && mLayoutParams.height != ViewGroup.LayoutParams.WRAP_CONTENT) {
+
+			mLayoutParams.height = ViewGroup.LayoutParams.WRAP_CONTENT;
+			mView.setLayoutParams(mLayoutParams);
+
+		}
+
+		final View mMessageView = mView.findViewById(R.id.messageTextView);
+
+		if (mMessageView instanceof TextView) {
+
+			/** Icons are only set when the toast has one **/
+			((TextView) mMessageView).setCompoundDrawablesWithIntrinsicBounds(null, null, null, null);
+
+		}
+
+	}
+
+
+	private void register(Context mApplicationContext) {
+
+		if (isRegistered || sdkVersion < android.os.Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+
+			return;
+
+		}
+
+		isRegistered = true;
+
+		mApplicationContext.registerComponentCallbacks(new TrimMemoryCallbacks());
+
+	}
+
+
+	@TargetApi(14)
+	private class TrimMemoryCallbacks implements ComponentCallbacks2 {
+
+		@Override
+		public void onTrimMemory(int level) {
+
+			clear();
+
+		}
+
+		@Override
+		public void onLowMemory() {
+
+			clear();
+
+			DrawableCache.getInstance().clear();
+			TextLayoutCache.getInstance().clear();
+
+		}
+
+		@Override
+		public void onConfigurationChanged(Configuration mConfiguration) {
+
+			/** Pooled Views, cached Drawables and text layouts were built with the old resources **/
+			clear();
+
+			DrawableCache.getInstance().clear();
+			TextLayoutCache.getInstance().clear();
+
+		}
+
+	}
+
+}
@@ -1,6 +1,10 @@
 package com.extlibsupertoasts.styles;
 
 
+/**
+ * @deprecated Use {@link ToastStyle} instead, it cannot be changed once it is built.
+ */
+@Deprecated
 public class ProgressToastStyle 
 {
 
@@ -1,5 +1,9 @@
 package com.extlibsupertoasts.styles;
 
+/**
+ * @deprecated Use {@link ToastStyle} instead, it cannot be changed once it is built.
+ */
+@Deprecated
 public class SuperCardToastStyle {
 
 	public int undoButtonResource;
@@ -0,0 +1,304 @@
+package com.extlibsupertoasts.styles;
+
+import com.extlibsupertoasts.R;
+import com.extlibsupertoasts.utilities.SuperToastConstants;
+
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.text.Spanned;
+import android.text.SpannedString;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+
+/**
+ * The style of a SuperCardToast, SuperButtonToast or SuperProgressToast.
+ * A ToastStyle cannot be changed once it is built, so one ToastStyle can be
+ * shared by any number of toasts and threads. Equal styles are built as the
+ * same instance.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Design guide: </b>
+ * </p>
+ *
+ * <p>
+ * Build your styles once and keep them in static fields like the STYLE_
+ * constants of SuperCardToast and SuperButtonToast.
+ * </p>
+ *
+ * <br>
+ *
+ * <p>
+ * 		Example: new ToastStyle.Builder().setBackgroundResource(SuperToastConstants.BACKGROUND_BLUE)
+ * .setButtonText("UNDO").build()
+ * </p>
+ *
+ */
+public final class ToastStyle {
+
+	
+	/** Keys and values are the same instances, the values are weak so unused styles can be collected **/
+	private static final WeakHashMap<ToastStyle, WeakReference<ToastStyle>> mInterned =
+			new WeakHashMap<ToastStyle, WeakReference<ToastStyle>>();
+
+	/** The style of a toast that has no style set, every toast setter derives a style from it **/
+	public static final ToastStyle DEFAULT = new Builder().build();
+
+	public final int buttonResource;
+	public final CharSequence buttonText;
+	public final int messageTextColor;
+	public final int buttonTextColor;
+	public final int backgroundResource;
+	public final int dividerResource;
+	public final Typeface messageTypeface;
+	public final Typeface buttonTypeface;
+
+	private final int hash;
+
+
+	private ToastStyle(Builder mBuilder) {
+
+		this.buttonResource = mBuilder.buttonResource;
+		this.buttonText = mBuilder.buttonText;
+		this.messageTextColor = mBuilder.messageTextColor;
+		this.buttonTextColor = mBuilder.buttonTextColor;
+		this.backgroundResource = mBuilder.backgroundResource;
+		this.dividerResource = mBuilder.dividerResource;
+		this.messageTypeface = mBuilder.messageTypeface;
+		this.buttonTypeface = mBuilder.buttonTypeface;
+
+		int h = buttonResource;
+		h = 31 * h + (buttonText != null ? buttonText.toString().hashCode() : 0);
+		h = 31 * h + messageTextColor;
+		h = 31 * h + buttonTextColor;
+		h = 31 * h + backgroundResource;
+		h = 31 * h + dividerResource;
+		h = 31 * h + (messageTypeface != null ? messageTypeface.hashCode() : 0);
+		h = 31 * h + (buttonTypeface != null ? buttonTypeface.hashCode() : 0);
+
+		this.hash = h;
+
+	}
+
+
+	/**
+	 * Returns a Builder with the values of this style so a style
+	 * can be derived from another one.
+	 *
+	 * <br>
+	 *
+	 * @return Builder
+	 *
+	 * <br>
+	 *
+	 */
+	public Builder buildUpon() {
+
+		return new Builder(this);
+
+	}
+
+
+	@Override
+	public boolean equals(Object mObject) {
+
+		if (this == mObject) {
+
+			return true;
+
+		}
+
+		if (!(mObject instanceof ToastStyle)) {
+
+			return false;
+
+		}
+
+		final ToastStyle mToastStyle = (ToastStyle) mObject;
+
+		return hash == mToastStyle.hash
+				&& buttonResource == mToastStyle.buttonResource
+				&& messageTextColor == mToastStyle.messageTextColor
+				&& buttonTextColor == mToastStyle.buttonTextColor
+				&& backgroundResource == mToastStyle.backgroundResource
+				&& dividerResource == mToastStyle.dividerResource
+				&& equalText(buttonText, mToastStyle.buttonText)
+				&& equal(messageTypeface, mToastStyle.messageTypeface)
+				&& equal(buttonTypeface, mToastStyle.buttonTypeface);
+
+	}
+
+
+	@Override
+	public int hashCode() {
+
+		return hash;
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private static boolean equal(Object mObject, Object mOther) {
+
+		return mObject != null ? mObject.equals(mOther) : mOther == null;
+
+	}
+
+
+	/** Styled texts are only equal to themselves, their spans are not compared **/
+	private static boolean equalText(CharSequence mText, CharSequence mOther) {
+
+		if (mText instanceof Spanned || mOther instanceof Spanned) {
+
+			return mText == mOther;
+
+		}
+
+		return equal(mText, mOther);
+
+	}
+
+
+	private static ToastStyle intern(ToastStyle mToastStyle) {
+
+		synchronized (mInterned) {
+
+			final WeakReference<ToastStyle> mReference = mInterned.get(mToastStyle);
+			final ToastStyle mInternedStyle = mReference != null ? mReference.get() : null;
+
+			if (mInternedStyle != null) {
+
+				return mInternedStyle;
+
+			}
+
+			mInterned.put(mToastStyle, new WeakReference<ToastStyle>(mToastStyle));
+
+			return mToastStyle;
+
+		}
+
+	}
+
+
+	/**
+	 * Builds a ToastStyle. A new Builder has the default values of the toasts.
+	 */
+	public static final class Builder {
+
+		private int buttonResource = SuperToastConstants.BUTTON_DARK_UNDO;
+		private CharSequence buttonText;
+		private int messageTextColor = Color.WHITE;
+		private int buttonTextColor = Color.WHITE;
+		private int backgroundResource = SuperToastConstants.BACKGROUND_BLACK;
+		private int dividerResource = R.color.white;
+		private Typeface messageTypeface = Typeface.DEFAULT;
+		private Typeface buttonTypeface = Typeface.DEFAULT_BOLD;
+
+		public Builder() {
+
+			// Default values
+
+		}
+
+		Builder(ToastStyle mToastStyle) {
+
+			this.buttonResource = mToastStyle.buttonResource;
+			this.buttonText = mToastStyle.buttonText;
+			this.messageTextColor = mToastStyle.messageTextColor;
+			this.buttonTextColor = mToastStyle.buttonTextColor;
+			this.backgroundResource = mToastStyle.backgroundResource;
+			this.dividerResource = mToastStyle.dividerResource;
+			this.messageTypeface = mToastStyle.messageTypeface;
+			this.buttonTypeface = mToastStyle.buttonTypeface;
+
+		}
+
+		public Builder setButtonResource(int buttonResource) {
+
+			this.buttonResource = buttonResource;
+
+			return this;
+
+		}
+
+		public Builder setButtonText(CharSequence buttonText) {
+
+			/** A Spannable could be changed after the style is built, the spans of a copy cannot **/
+			if (buttonText instanceof Spanned) {
+
+				this.buttonText = new SpannedString(buttonText);
+
+			} else {
+
+				this.buttonText = buttonText != null ? buttonText.toString() : null;
+
+			}
+
+			return this;
+
+		}
+
+		public Builder setMessageTextColor(int messageTextColor) {
+
+			this.messageTextColor = messageTextColor;
+
+			return this;
+
+		}
+
+		public Builder setButtonTextColor(int buttonTextColor) {
+
+			this.buttonTextColor = buttonTextColor;
+
+			return this;
+
+		}
+
+		public Builder setBackgroundResource(int backgroundResource) {
+
+			this.backgroundResource = backgroundResource;
+
+			return this;
+
+		}
+
+		public Builder setDividerResource(int dividerResource) {
+
+			this.dividerResource = dividerResource;
+
+			return this;
+
+		}
+
+		public Builder setMessageTypeface(Typeface messageTypeface) {
+
+			this.messageTypeface = messageTypeface;
+
+			return this;
+
+		}
+
+		public Builder setButtonTypeface(Typeface buttonTypeface) {
+
+			this.buttonTypeface = buttonTypeface;
+
+			return this;
+
+		}
+
+		/** Returns the ToastStyle, an equal ToastStyle that was built before is returned instead of a new one **/
+		public ToastStyle build() {
+
+			return intern(new ToastStyle(this));
+
+		}
+
+	}
+
+}
@@ -0,0 +1,267 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts.utilities;
+
+import com.extlibsupertoasts.R;
+
+import android.animation.ValueAnimator;
+import android.annotation.SuppressLint;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.AnimationUtils;
+import android.view.animation.Interpolator;
+
+import java.util.ArrayList;
+
+
+/**
+ * Closes the space of the Views of a parent that have been swiped away and
+ * then passes each of them to its OnDismissCallback. There is one instance
+ * per parent, shared by the SwipeDismissListeners and the
+ * SwipeDismissDispatcher of its children, so Views that are dismissed at
+ * the same time collapse together. A View below several collapsing Views
+ * is translated by the sum of their distances, and the translation of a
+ * collapse is dropped in the frame where the removal of its View is laid out.
+ */
+@SuppressLint("NewApi")
+class CollapseAnimator implements ValueAnimator.AnimatorUpdateListener, ViewTreeObserver.OnPreDrawListener
+{
+
+
+	/** A removal is applied on the next frame, after that the Views are reset even if it never happens **/
+	private static final int MAX_REMOVAL_FRAMES = 2;
+
+	/** The interpolator of a ValueAnimator that has none set **/
+	private static final Interpolator mInterpolator = new AccelerateDecelerateInterpolator();
+
+	private final ViewGroup mParent;
+	private final long mAnimationTime;
+
+	/** Repeats while any View collapses, every collapse keeps its own start time **/
+	private final ValueAnimator mValueAnimator;
+
+	/** The collapses that run or wait for the removal of their View **/
+	private final ArrayList<Collapse> mCollapses = new ArrayList<Collapse>();
+
+	/** Finished collapses are reused by the next ones **/
+	private final ArrayList<Collapse> mRecycledCollapses = new ArrayList<Collapse>();
+
+	private boolean isRunning;
+
+
+	private CollapseAnimator(ViewGroup mParent, long mAnimationTime) {
+
+		this.mParent = mParent;
+		this.mAnimationTime = mAnimationTime;
+
+		mValueAnimator = ValueAnimator.ofFloat(0f, 1f).setDuration(mAnimationTime);
+		mValueAnimator.setRepeatCount(ValueAnimator.INFINITE);
+		mValueAnimator.addUpdateListener(this);
+
+	}
+
+
+	/** Returns the CollapseAnimator of the parent, it is kept as a tag of the parent **/
+	static CollapseAnimator get(ViewGroup mParent, long mAnimationTime) {
+
+		final Object mTag = mParent.getTag(R.id.collapseanimator);
+
+		if (mTag instanceof CollapseAnimator) {
+
+			return (CollapseAnimator) mTag;
+
+		}
+
+		final CollapseAnimator mCollapseAnimator = new CollapseAnimator(mParent, mAnimationTime);
+
+		mParent.setTag(R.id.collapseanimator, mCollapseAnimator);
+
+		return mCollapseAnimator;
+
+	}
+
+
+	/** Starts closing the space of a child, the callback removes the View at the end **/
+	void start(View mView, int collapseMode, SwipeDismissListener.OnDismissCallback mCallback) {
+
+		final Collapse mCollapse = mRecycledCollapses.isEmpty() ? new Collapse()
+				: mRecycledCollapses.remove(mRecycledCollapses.size() - 1);
+
+		mCollapse.mView = mView;
+		mCollapse.mCallback = mCallback;
+		mCollapse.isTranslating = collapseMode == SwipeDismissListener.COLLAPSE_TRANSLATE;
+		mCollapse.startTime = AnimationUtils.currentAnimationTimeMillis();
+		mCollapse.originalHeight = mView.getHeight();
+		mCollapse.fraction = 0f;
+		mCollapse.isDismissed = false;
+		mCollapse.removalFrames = 0;
+
+		final int index = mParent.indexOfChild(mView);
+
+		/** The distance includes the margins between the View and the next one **/
+		mCollapse.collapseDistance = index >= 0 && index + 1 < mParent.getChildCount()
+				? mParent.getChildAt(index + 1).getTop() - mView.getTop() : mCollapse.originalHeight;
+
+		mCollapses.add(mCollapse);
+
+		if (!isRunning) {
+
+			isRunning = true;
+
+			mParent.getViewTreeObserver().addOnPreDrawListener(this);
+			mValueAnimator.start();
+
+		}
+
+	}
+
+
+	@Override
+	public void onAnimationUpdate(ValueAnimator valueAnimator) {
+
+		final long currentTime = AnimationUtils.currentAnimationTimeMillis();
+
+		for (int i = 0; i < mCollapses.size(); i++) {
+
+			final Collapse mCollapse = mCollapses.get(i);
+
+			if (mCollapse.isDismissed) {
+
+				continue;
+
+			}
+
+			final float progress = Math.min(1f,
+					(float) (currentTime - mCollapse.startTime) / Math.max(1, mAnimationTime));
+
+			mCollapse.fraction = mInterpolator.getInterpolation(progress);
+
+			if (!mCollapse.isTranslating) {
+
+				final ViewGroup.LayoutParams lp = mCollapse.mView.getLayoutParams();
+
+				lp.height = Math.max(1, Math.round(mCollapse.originalHeight
+						- (mCollapse.originalHeight - 1) * mCollapse.fraction));
+				mCollapse.mView.setLayoutParams(lp);
+
+			}
+
+			if (progress >= 1f) {
+
+				mCollapse.isDismissed = true;
+				mCollapse.mCallback.onDismiss(mCollapse.mView);
+
+			}
+
+		}
+
+		/** The translations are applied in the pre-draw, after the layout of this frame **/
+		mParent.invalidate();
+
+	}
+
+
+	@Override
+	public boolean onPreDraw() {
+
+		for (int i = mCollapses.size() - 1; i >= 0; i--) {
+
+			final Collapse mCollapse = mCollapses.get(i);
+
+			if (mCollapse.isDismissed && (mCollapse.mView.getParent() != mParent
+					|| ++mCollapse.removalFrames > MAX_REMOVAL_FRAMES)) {
+
+				mCollapses.remove(i);
+
+				mCollapse.mView = null;
+				mCollapse.mCallback = null;
+
+				mRecycledCollapses.add(mCollapse);
+
+			}
+
+		}
+
+		applyTranslations();
+
+		if (mCollapses.isEmpty()) {
+
+			isRunning = false;
+
+			mParent.getViewTreeObserver().removeOnPreDrawListener(this);
+			mValueAnimator.cancel();
+
+		}
+
+		return true;
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	/** Every child is translated by the sum of the collapses above it, so no collapse undoes another **/
+	private void applyTranslations() {
+
+		float translationY = 0f;
+
+		final int childCount = mParent.getChildCount();
+
+		for (int i = 0; i < childCount; i++) {
+
+			final View mChild = mParent.getChildAt(i);
+
+			mChild.setTranslationY(translationY);
+
+			for (int j = 0; j < mCollapses.size(); j++) {
+
+				final Collapse mCollapse = mCollapses.get(j);
+
+				if (mCollapse.mView == mChild && mCollapse.isTranslating) {
+
+					translationY -= mCollapse.collapseDistance * mCollapse.fraction;
+
+				}
+
+			}
+
+		}
+
+	}
+
+
+	private static class Collapse
+	{
+
+		View mView;
+		SwipeDismissListener.OnDismissCallback mCallback;
+
+		boolean isTranslating;
+		boolean isDismissed;
+		long startTime;
+		float fraction;
+		int originalHeight;
+		int collapseDistance;
+		int removalFrames;
+
+	}
+
+}
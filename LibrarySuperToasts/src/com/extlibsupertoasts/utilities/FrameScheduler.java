@@ -0,0 +1,158 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts.utilities;
+
+import android.annotation.TargetApi;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+
+/**
+ * The FrameScheduler runs a task once on the next frame of the main thread.
+ * Scheduling the task several times before the frame only runs it once, so
+ * work that arrives in a burst is handled in a single pass.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * The Choreographer is used on Jelly Bean and above. Older devices run
+ * the task on the next pass of the main thread Looper instead.
+ * </p>
+ *
+ */
+public class FrameScheduler implements Runnable
+{
+
+
+	private static final String ERROR_TASKNULL = "The Runnable that you passed was null! (FrameScheduler)";
+
+	private final Runnable task;
+	private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+	/** Typed as an Object so older devices never load the Choreographer classes **/
+	private final Object mFrameCallback;
+
+	private boolean isScheduled;
+
+
+	/**
+	 * Instantiates a new FrameScheduler.
+	 *
+	 * <br>
+	 *
+	 * @param task
+	 * <br>
+	 * The Runnable to run on the next frame.
+	 * <br>
+	 *
+	 */
+	public FrameScheduler(Runnable task) {
+
+		if (task == null) {
+
+			throw new IllegalArgumentException(ERROR_TASKNULL);
+
+		}
+
+		this.task = task;
+
+		if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.JELLY_BEAN) {
+
+			mFrameCallback = new FrameCallback(this);
+
+		} else {
+
+			mFrameCallback = null;
+
+		}
+
+	}
+
+
+	/**
+	 * This is used to run the task on the next frame. This must be
+	 * called from the main thread.
+	 *
+	 * <br>
+	 *
+	 */
+	public void schedule() {
+
+		if (isScheduled) {
+
+			return;
+
+		}
+
+		isScheduled = true;
+
+		if (mFrameCallback != null) {
+
+			((FrameCallback) mFrameCallback).post();
+
+		} else {
+
+			mHandler.post(this);
+
+		}
+
+	}
+
+
+	@Override
+	public void run() {
+
+		isScheduled = false;
+
+		task.run();
+
+	}
+
+
+	@TargetApi(16)
+	private static class FrameCallback implements Choreographer.FrameCallback {
+
+		private final Runnable mRunnable;
+
+		FrameCallback(Runnable mRunnable) {
+
+			this.mRunnable = mRunnable;
+
+		}
+
+		void post() {
+
+			Choreographer.getInstance().postFrameCallback(this);
+
+		}
+
+		@Override
+		public void doFrame(long frameTimeNanos) {
+
+			mRunnable.run();
+
+		}
+
+	}
+
+}
@@ -0,0 +1,148 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts.utilities;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * A lock free queue with many producer threads and a single consumer thread.
+ * The queue is intrusive, every element is its own Node, so offering and
+ * polling never allocate.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * A Node must not be offered again until it has been polled. Only one
+ * thread may call {@link #poll()}.
+ * </p>
+ *
+ */
+public class MpscQueue
+{
+
+
+	private final Node mStub = new Node();
+
+	/** Producers swap themselves in at the head **/
+	private final AtomicReference<Node> mHead = new AtomicReference<Node>(mStub);
+
+	/** Only the consumer reads from the tail **/
+	private Node mTail = mStub;
+
+
+	/**
+	 * This is used to add a Node to the queue. This method can be
+	 * called from any thread.
+	 *
+	 * <br>
+	 * @param mNode
+	 * <br>
+	 *
+	 */
+	public void offer(Node mNode) {
+
+		mNode.next = null;
+
+		final Node mPrevious = mHead.getAndSet(mNode);
+
+		mPrevious.next = mNode;
+
+	}
+
+
+	/**
+	 * This is used to remove the oldest Node from the queue. This must
+	 * only be called from the consumer thread.
+	 *
+	 * <br>
+	 *
+	 * @return Node
+	 * <br>
+	 * The oldest Node or null if the queue is empty. A Node that a producer
+	 * is still linking is returned by a later call.
+	 * <br>
+	 *
+	 */
+	public Node poll() {
+
+		Node mNode = mTail;
+		Node mNext = mNode.next;
+
+		if (mNode == mStub) {
+
+			if (mNext == null) {
+
+				return null;
+
+			}
+
+			mTail = mNext;
+			mNode = mNext;
+			mNext = mNext.next;
+
+		}
+
+		if (mNext != null) {
+
+			mTail = mNext;
+
+			return mNode;
+
+		}
+
+		if (mNode != mHead.get()) {
+
+			return null;
+
+		}
+
+		/** The stub is offered again so the last Node can be unlinked **/
+		offer(mStub);
+
+		mNext = mNode.next;
+
+		if (mNext != null) {
+
+			mTail = mNext;
+
+			return mNode;
+
+		}
+
+		return null;
+
+	}
+
+
+	/**
+	 * An element of an MpscQueue.
+	 *
+	 */
+	public static class Node
+	{
+
+		private volatile Node next;
+
+	}
+
+}
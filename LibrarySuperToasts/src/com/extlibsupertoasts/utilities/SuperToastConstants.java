@@ -6,6 +6,8 @@ public class SuperToastConstants
 {
 	
 	/** All of the colors except black, grey, and white are derived from the Android holo color palette **/
+	/** The backgrounds are one neutral 9-patch tinted by the library, see setBackgroundColor() of the toasts **/
+	/** Outside of a toast get them from DrawableCache.getInstance().getBackground(), the resources alone are white **/
 	public static final int BACKGROUND_BLACK = (R.drawable.background_black);
 	public static final int BACKGROUND_BLACKTRANSLUCENT = (R.drawable.background_blacktranslucent);
 	public static final int BACKGROUND_BLUE = (R.drawable.background_blue);
@@ -48,6 +50,19 @@ public class SuperToastConstants
 	public static final int DURATION_XLONG = (4500);
 	
 	
+	/** Higher priority toasts are shown first and will preempt showing toasts of a lower priority **/
+	public static final int PRIORITY_LOW = (-1);
+	public static final int PRIORITY_NORMAL = (0);
+	public static final int PRIORITY_HIGH = (1);
+	public static final int PRIORITY_URGENT = (2);
+	
+	
+	/** What happens to toasts that are shown faster than the rate limit of their channel allows **/
+	public static final int OVERFLOW_DROP = (0);
+	public static final int OVERFLOW_DEFER = (1);
+	public static final int OVERFLOW_MERGE = (2);
+	
+	
 	/** The link to download these fonts is included in the library **/
 	public static final String FONT_ROBOTO_BOLD = ("Roboto-Bold.ttf");
 	public static final String FONT_ROBOTO_BOLD_ITALIC = ("Roboto-BoldItalic.ttf");
@@ -0,0 +1,687 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts.utilities;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.annotation.SuppressLint;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayList;
+
+
+/**
+ * The SwipeDismissDispatcher handles the touches of every child View of a
+ * ViewGroup, so the children don't need an OnTouchListener each. It finds
+ * the child under every pointer, tracks the velocity of all pointers with
+ * one VelocityTracker and swipes the children away. Several children can
+ * be swiped at once, each by its own pointer.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Design guide: </b>
+ * </p>
+ *
+ * <p>
+ * Pass every MotionEvent of the ViewGroup to {@link #onTouchEvent(MotionEvent)}
+ * from dispatchTouchEvent(), intercept the events while {@link #isSwiping()}
+ * returns true and consume them while {@link #isTracking()} returns true.
+ * </p>
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * Clicks are left to the children. A child that is being swiped receives a
+ * cancel event once the ViewGroup intercepts the gesture. The animations of
+ * the swipes are reused, so a swipe does not allocate once every pointer has
+ * swiped a child before.
+ * </p>
+ *
+ */
+@SuppressLint("NewApi")
+public class SwipeDismissDispatcher
+{
+
+
+	/** More pointers than this are ignored until one of them goes up **/
+	private static final int MAX_POINTERS = 10;
+
+	private final ViewGroup mViewGroup;
+	private final Callback mCallback;
+
+	private final int mScaledTouchSlop;
+	private final int mMinFlingVelocity;
+	private final int mMaxFlingVelocity;
+	private final long mAnimationTime;
+
+	/** One slot per pointer that went down on a child that can be swiped **/
+	private final int[] mPointerIds = new int[MAX_POINTERS];
+	private final View[] mViews = new View[MAX_POINTERS];
+	private final Object[] mItems = new Object[MAX_POINTERS];
+	private final float[] mDownXCoordinates = new float[MAX_POINTERS];
+	private final boolean[] isSwiping = new boolean[MAX_POINTERS];
+	private int pointerCount;
+
+	/** Children that are animating out or back, or collapsing **/
+	private final ArrayList<SwipeOut> mSwipeOuts = new ArrayList<SwipeOut>();
+
+	/** Finished animations are reused by the next swipes **/
+	private final ArrayList<SwipeOut> mRecycledSwipeOuts = new ArrayList<SwipeOut>();
+
+	private VelocityTracker mVelocityTracker;
+
+	private int collapseMode = SwipeDismissListener.COLLAPSE_TRANSLATE;
+
+
+	/**
+	 * Called by the SwipeDismissDispatcher for the children of the ViewGroup.
+	 * The item is whatever the child shows, it is passed back on dismissal
+	 * because a recycled child may show another item by then.
+	 */
+	public interface Callback
+	{
+
+		/** Returns the item of the child if it can be swiped away, null otherwise **/
+		Object getSwipeableItem(View view);
+
+		/** Called when a pointer goes down on the child **/
+		void onTouched(View view);
+
+		/** Called once the child has been swiped away and its space has been closed **/
+		void onDismiss(View view, Object item);
+
+	}
+
+
+	/**
+	 * Instantiates a new SwipeDismissDispatcher.
+	 *
+	 * <br>
+	 *
+	 * @param mViewGroup
+	 *
+	 * <br>
+	 *
+	 * @param mCallback
+	 *
+	 * <br>
+	 *
+	 */
+	public SwipeDismissDispatcher(ViewGroup mViewGroup, Callback mCallback) {
+
+		final ViewConfiguration mViewConfiguration = ViewConfiguration.get(mViewGroup.getContext());
+
+		mScaledTouchSlop = mViewConfiguration.getScaledTouchSlop();
+		mMinFlingVelocity = mViewConfiguration.getScaledMinimumFlingVelocity();
+		mMaxFlingVelocity = mViewConfiguration.getScaledMaximumFlingVelocity();
+		mAnimationTime = mViewGroup.getContext().getResources()
+				.getInteger(android.R.integer.config_shortAnimTime);
+
+		this.mViewGroup = mViewGroup;
+		this.mCallback = mCallback;
+
+	}
+
+
+	/**
+	 * This is used to choose how the space of a swiped child is closed.
+	 *
+	 * <br>
+	 *
+	 * @param collapseMode
+	 *
+	 * <br>
+	 * Example: (SwipeDismissListener.COLLAPSE_HEIGHT)
+	 * <br>
+	 *
+	 */
+	public void setCollapseMode(int collapseMode) {
+
+		this.collapseMode = collapseMode;
+
+	}
+
+
+	/**
+	 * Returns true while a child is being swiped.
+	 *
+	 * <br>
+	 *
+	 * @return boolean
+	 *
+	 * <br>
+	 *
+	 */
+	public boolean isSwiping() {
+
+		for (int i = 0; i < pointerCount; i++) {
+
+			if (isSwiping[i]) {
+
+				return true;
+
+			}
+
+		}
+
+		return false;
+
+	}
+
+
+	/**
+	 * Returns true while a pointer is down on a child that can be swiped.
+	 *
+	 * <br>
+	 *
+	 * @return boolean
+	 *
+	 * <br>
+	 *
+	 */
+	public boolean isTracking() {
+
+		return pointerCount > 0;
+
+	}
+
+
+	/**
+	 * This is used to pass a MotionEvent of the ViewGroup, in the
+	 * coordinates of the ViewGroup.
+	 *
+	 * <br>
+	 *
+	 * @param mMotionEvent
+	 *
+	 * <br>
+	 *
+	 */
+	public void onTouchEvent(MotionEvent mMotionEvent) {
+
+		final int action = mMotionEvent.getActionMasked();
+
+		if (action == MotionEvent.ACTION_DOWN) {
+
+			if (mVelocityTracker == null) {
+
+				mVelocityTracker = VelocityTracker.obtain();
+
+			} else {
+
+				mVelocityTracker.clear();
+
+			}
+
+			/** Slots of a gesture whose end was never passed are dropped **/
+			while (pointerCount > 0) {
+
+				removeSlot(pointerCount - 1);
+
+			}
+
+		}
+
+		if (mVelocityTracker == null) {
+
+			return;
+
+		}
+
+		mVelocityTracker.addMovement(mMotionEvent);
+
+		switch (action) {
+
+			case MotionEvent.ACTION_DOWN:
+			case MotionEvent.ACTION_POINTER_DOWN:
+
+				onPointerDown(mMotionEvent, mMotionEvent.getActionIndex());
+
+				break;
+
+			case MotionEvent.ACTION_MOVE:
+
+				for (int i = 0; i < pointerCount; i++) {
+
+					final int pointerIndex = mMotionEvent.findPointerIndex(mPointerIds[i]);
+
+					if (pointerIndex >= 0) {
+
+						onPointerMove(i, mMotionEvent.getX(pointerIndex));
+
+					}
+
+				}
+
+				break;
+
+			case MotionEvent.ACTION_UP:
+			case MotionEvent.ACTION_POINTER_UP:
+
+				final int slot = findSlot(mMotionEvent.getPointerId(mMotionEvent.getActionIndex()));
+
+				if (slot >= 0) {
+
+					onPointerUp(slot, mMotionEvent.getX(mMotionEvent.getActionIndex()));
+					removeSlot(slot);
+
+				}
+
+				break;
+
+			case MotionEvent.ACTION_CANCEL:
+
+				for (int i = 0; i < pointerCount; i++) {
+
+					if (isSwiping[i]) {
+
+						animate(mViews[i], mItems[i], 0f, false);
+
+					}
+
+				}
+
+				while (pointerCount > 0) {
+
+					removeSlot(pointerCount - 1);
+
+				}
+
+				break;
+
+		}
+
+		if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+
+			/** The tracker is kept for the next gesture instead of being recycled **/
+			mVelocityTracker.clear();
+
+		}
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private void onPointerDown(MotionEvent mMotionEvent, int pointerIndex) {
+
+		final View mChild = findChild(mMotionEvent.getX(pointerIndex), mMotionEvent.getY(pointerIndex));
+
+		if (mChild == null) {
+
+			return;
+
+		}
+
+		mCallback.onTouched(mChild);
+
+		/** A child is only swiped by the first pointer that goes down on it **/
+		if (pointerCount == MAX_POINTERS || findSlot(mChild) >= 0) {
+
+			return;
+
+		}
+
+		final Object mItem = mCallback.getSwipeableItem(mChild);
+
+		if (mItem == null) {
+
+			return;
+
+		}
+
+		final SwipeOut mSwipeOut = findSwipeOut(mItem);
+
+		if (mSwipeOut != null) {
+
+			if (mSwipeOut.isDismissing) {
+
+				return;
+
+			}
+
+			/** A child that slides back is caught by the new pointer **/
+			mSwipeOut.mValueAnimator.cancel();
+
+		}
+
+		mPointerIds[pointerCount] = mMotionEvent.getPointerId(pointerIndex);
+		mViews[pointerCount] = mChild;
+		mItems[pointerCount] = mItem;
+		mDownXCoordinates[pointerCount] = mMotionEvent.getX(pointerIndex);
+		isSwiping[pointerCount] = false;
+
+		pointerCount++;
+
+	}
+
+
+	private void onPointerMove(int slot, float xCoordinate) {
+
+		final View mChild = mViews[slot];
+		final float deltaX = xCoordinate - mDownXCoordinates[slot];
+
+		/** The parent only needs to be told once per gesture **/
+		if (!isSwiping[slot] && Math.abs(deltaX) > mScaledTouchSlop) {
+
+			isSwiping[slot] = true;
+
+			final ViewParent mParent = mViewGroup.getParent();
+
+			if (mParent != null) {
+
+				mParent.requestDisallowInterceptTouchEvent(true);
+
+			}
+
+		}
+
+		if (isSwiping[slot]) {
+
+			mChild.setTranslationX(deltaX);
+			mChild.setAlpha(Math.max(0f, Math.min(1f,
+					1f - 2f * Math.abs(deltaX) / Math.max(1, mChild.getWidth()))));
+
+		}
+
+	}
+
+
+	private void onPointerUp(int slot, float xCoordinate) {
+
+		final View mChild = mViews[slot];
+
+		if (!isSwiping[slot]) {
+
+			return;
+
+		}
+
+		final int viewWidth = Math.max(1, mChild.getWidth());
+		final float deltaX = xCoordinate - mDownXCoordinates[slot];
+
+		mVelocityTracker.computeCurrentVelocity(1000, mMaxFlingVelocity);
+
+		final float velocityX = mVelocityTracker.getXVelocity(mPointerIds[slot]);
+		final float absVelocityX = Math.abs(velocityX);
+		final float absVelocityY = Math.abs(mVelocityTracker.getYVelocity(mPointerIds[slot]));
+
+		boolean dismiss = false;
+		boolean dismissRight = false;
+
+		if (Math.abs(deltaX) > viewWidth / 2) {
+
+			dismiss = true;
+			dismissRight = deltaX > 0;
+
+		} else if (mMinFlingVelocity <= absVelocityX && absVelocityY < absVelocityX) {
+
+			dismiss = true;
+			dismissRight = velocityX > 0;
+
+		}
+
+		if (dismiss) {
+
+			animate(mChild, mItems[slot], dismissRight ? viewWidth : -viewWidth, true);
+
+		} else {
+
+			animate(mChild, mItems[slot], 0f, false);
+
+		}
+
+	}
+
+
+	/** Slides the child out and collapses it, or back into place **/
+	private void animate(View mChild, Object mItem, float translationX, boolean isDismissing) {
+
+		final SwipeOut mSwipeOut = mRecycledSwipeOuts.isEmpty() ? new SwipeOut()
+				: mRecycledSwipeOuts.remove(mRecycledSwipeOuts.size() - 1);
+
+		mSwipeOuts.add(mSwipeOut);
+
+		mSwipeOut.start(mChild, mItem, translationX, isDismissing);
+
+	}
+
+
+	private void recycle(SwipeOut mSwipeOut) {
+
+		mSwipeOuts.remove(mSwipeOut);
+
+		mSwipeOut.mView = null;
+		mSwipeOut.mItem = null;
+
+		mRecycledSwipeOuts.add(mSwipeOut);
+
+	}
+
+
+	private View findChild(float xCoordinate, float yCoordinate) {
+
+		/** The last child is drawn on top **/
+		for (int i = mViewGroup.getChildCount() - 1; i >= 0; i--) {
+
+			final View mChild = mViewGroup.getChildAt(i);
+
+			if (mChild.getVisibility() != View.VISIBLE) {
+
+				continue;
+
+			}
+
+			final float left = mChild.getLeft() + mChild.getTranslationX();
+			final float top = mChild.getTop() + mChild.getTranslationY();
+
+			if (xCoordinate >= left && xCoordinate < left + mChild.getWidth()
+					&& yCoordinate >= top && yCoordinate < top + mChild.getHeight()) {
+
+				return mChild;
+
+			}
+
+		}
+
+		return null;
+
+	}
+
+
+	private SwipeOut findSwipeOut(Object mItem) {
+
+		for (int i = 0; i < mSwipeOuts.size(); i++) {
+
+			if (mSwipeOuts.get(i).mItem == mItem) {
+
+				return mSwipeOuts.get(i);
+
+			}
+
+		}
+
+		return null;
+
+	}
+
+
+	private int findSlot(int pointerId) {
+
+		for (int i = 0; i < pointerCount; i++) {
+
+			if (mPointerIds[i] == pointerId) {
+
+				return i;
+
+			}
+
+		}
+
+		return -1;
+
+	}
+
+
+	private int findSlot(View mChild) {
+
+		for (int i = 0; i < pointerCount; i++) {
+
+			if (mViews[i] == mChild) {
+
+				return i;
+
+			}
+
+		}
+
+		return -1;
+
+	}
+
+
+	private void removeSlot(int slot) {
+
+		pointerCount--;
+
+		/** The last slot is moved into the gap so the slots stay packed **/
+		mPointerIds[slot] = mPointerIds[pointerCount];
+		mViews[slot] = mViews[pointerCount];
+		mItems[slot] = mItems[pointerCount];
+		mDownXCoordinates[slot] = mDownXCoordinates[pointerCount];
+		isSwiping[slot] = isSwiping[pointerCount];
+
+		mViews[pointerCount] = null;
+		mItems[pointerCount] = null;
+
+	}
+
+
+	/** The slide of one child, reused by the next swipes once it has ended **/
+	private class SwipeOut extends AnimatorListenerAdapter
+			implements ValueAnimator.AnimatorUpdateListener, SwipeDismissListener.OnDismissCallback
+	{
+
+		private final ValueAnimator mValueAnimator;
+
+		private View mView;
+		private Object mItem;
+
+		private float startTranslationX;
+		private float endTranslationX;
+		private float startAlpha;
+		private boolean isDismissing;
+		private boolean isCancelled;
+
+
+		SwipeOut() {
+
+			mValueAnimator = ValueAnimator.ofFloat(0f, 1f).setDuration(mAnimationTime);
+			mValueAnimator.addUpdateListener(this);
+			mValueAnimator.addListener(this);
+
+		}
+
+
+		void start(View mView, Object mItem, float endTranslationX, boolean isDismissing) {
+
+			this.mView = mView;
+			this.mItem = mItem;
+			this.endTranslationX = endTranslationX;
+			this.isDismissing = isDismissing;
+
+			startTranslationX = mView.getTranslationX();
+			startAlpha = mView.getAlpha();
+			isCancelled = false;
+
+			mValueAnimator.start();
+
+		}
+
+
+		@Override
+		public void onAnimationUpdate(ValueAnimator valueAnimator) {
+
+			/** The child was recycled and shows another item **/
+			if (mCallback.getSwipeableItem(mView) != mItem) {
+
+				valueAnimator.cancel();
+
+				return;
+
+			}
+
+			final float fraction = valueAnimator.getAnimatedFraction();
+			final float endAlpha = isDismissing ? 0f : 1f;
+
+			mView.setTranslationX(startTranslationX + (endTranslationX - startTranslationX) * fraction);
+			mView.setAlpha(startAlpha + (endAlpha - startAlpha) * fraction);
+
+		}
+
+
+		@Override
+		public void onAnimationCancel(Animator animation) {
+
+			isCancelled = true;
+
+		}
+
+
+		@Override
+		public void onAnimationEnd(Animator animation) {
+
+			if (isCancelled || !isDismissing) {
+
+				recycle(this);
+
+				return;
+
+			}
+
+			CollapseAnimator.get(mViewGroup, mAnimationTime).start(mView, collapseMode, this);
+
+		}
+
+
+		@Override
+		public void onDismiss(View view) {
+
+			final Object mDismissedItem = mItem;
+
+			recycle(this);
+
+			mCallback.onDismiss(view, mDismissedItem);
+
+		}
+
+	}
+
+}
@@ -3,7 +3,6 @@ package com.extlibsupertoasts.utilities;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
-import android.animation.ValueAnimator;
 import android.annotation.SuppressLint;
 import android.view.MotionEvent;
 import android.view.VelocityTracker;
@@ -15,6 +14,12 @@ import android.view.ViewGroup;
 public class SwipeDismissListener implements View.OnTouchListener 
 {
 	
+ /** The Views below the dismissed View slide up over it, the parent is laid out once at the end **/
+ public static final int COLLAPSE_TRANSLATE = 0;
+
+ /** The height of the dismissed View shrinks, the parent is laid out on every frame **/
+ public static final int COLLAPSE_HEIGHT = 1;
+
  // Cached ViewConfiguration and system-wide constant values
  private int mScaledTouchSlop;
  private int mMinFlingVelocity;
@@ -29,8 +34,12 @@ public class SwipeDismissListener implements View.OnTouchListener
  // Transient properties
  private float mActionDownXCoordinate;
  private boolean isSwiping;
- private VelocityTracker mVelocityTracker;
+ private boolean isTracking;
  private float mTranslationX;
+ private int collapseMode = COLLAPSE_TRANSLATE;
+
+ // Reused by every gesture so a swipe does not allocate
+ private VelocityTracker mVelocityTracker;
 
 
  public interface OnDismissCallback 
@@ -58,10 +67,38 @@ public class SwipeDismissListener implements View.OnTouchListener
      
  }
 
+ /**
+  * This is used to choose how the space of a dismissed View is closed.
+  * By default the Views below it slide up, which does not lay out the
+  * parent until the View is removed.
+  * 
+  * <br>
+  * @param collapseMode
+  * <br>
+  * Example: (SwipeDismissListener.COLLAPSE_HEIGHT)
+  * <br>
+  * 
+  */
+ public void setCollapseMode(int collapseMode) 
+ {
+	 
+	 this.collapseMode = collapseMode;
+	 
+ }
+
  @Override
  public boolean onTouch(View view, MotionEvent motionEvent) 
  {
 	 
+	 if (motionEvent.getActionMasked() == MotionEvent.ACTION_DOWN) 
+	 {
+		 
+		 /** A gesture that ended without an up event must not leak into this one **/
+		 mTranslationX = 0;
+		 isSwiping = false;
+		 
+	 }
+	 
      motionEvent.offsetLocation(mTranslationX, 0);
 
      mViewWidth = mView.getWidth();
@@ -73,7 +110,22 @@ public class SwipeDismissListener implements View.OnTouchListener
          case MotionEvent.ACTION_DOWN: 
         	 
         	 mActionDownXCoordinate = motionEvent.getRawX();
-             mVelocityTracker = VelocityTracker.obtain();
+        	 
+        	 if (mVelocityTracker == null) 
+        	 {
+        		 
+        		 mVelocityTracker = VelocityTracker.obtain();
+        		 
+        	 }
+        	 
+        	 else 
+        	 {
+        		 
+        		 mVelocityTracker.clear();
+        		 
+        	 }
+        	 
+        	 isTracking = true;
              mVelocityTracker.addMovement(motionEvent);
              view.onTouchEvent(motionEvent);
              
@@ -83,7 +135,7 @@ public class SwipeDismissListener implements View.OnTouchListener
              
          case MotionEvent.ACTION_UP:
         	 
-	             if (mVelocityTracker == null) 
+	             if (!isTracking) 
 	             {
 	            	 
 	                 break;
@@ -127,16 +179,7 @@ public class SwipeDismissListener implements View.OnTouchListener
 	                         .translationX(dismissRight ? mViewWidth : -mViewWidth)
 	                         .alpha(0)
 	                         .setDuration(mAnimationTime)
-	                         .setListener(new AnimatorListenerAdapter() 
-	                         {
-	                             @Override
-	                             public void onAnimationEnd(Animator animation) 
-	                             {
-	                            	 
-	                                 performDismiss();
-	                                 
-	                             }
-	                         });
+	                         .setListener(mSwipeListener);
                  
 	             }
 	             
@@ -152,7 +195,34 @@ public class SwipeDismissListener implements View.OnTouchListener
                  
 	             }
 	             
-	         mVelocityTracker.recycle();
+	         /** The tracker is kept for the next gesture instead of being recycled **/
+	         mVelocityTracker.clear();
+	         isTracking = false;
+             mTranslationX = 0;
+             mActionDownXCoordinate = 0;
+             isSwiping = false;
+             
+             break;
+                      
+
+             
+         case MotionEvent.ACTION_CANCEL:
+        	 
+	             if (!isTracking) 
+	             {
+	            	 
+	                 break;
+	             }
+	             
+	         /** The parent took the gesture, the View slides back as if it was let go **/
+             mView.animate()
+                     .translationX(0)
+                     .alpha(1)
+                     .setDuration(mAnimationTime)
+                     .setListener(null);
+             
+	         mVelocityTracker.clear();
+	         isTracking = false;
              mTranslationX = 0;
              mActionDownXCoordinate = 0;
              isSwiping = false;
@@ -163,7 +233,7 @@ public class SwipeDismissListener implements View.OnTouchListener
              
          case MotionEvent.ACTION_MOVE: 
         
-	             if (mVelocityTracker == null) 
+	             if (!isTracking) 
 	             {
 	            	 
 	                 break;
@@ -174,19 +244,19 @@ public class SwipeDismissListener implements View.OnTouchListener
              
              float deltaXActionMove = motionEvent.getRawX() - mActionDownXCoordinate;
              
-	             if (Math.abs(deltaXActionMove) > mScaledTouchSlop) 
+	             /** The parent and the View only need to be told once per gesture **/
+	             if (!isSwiping && Math.abs(deltaXActionMove) > mScaledTouchSlop) 
 	             {
 	            	 
 	            	 isSwiping = true;
 	                 mView.getParent().requestDisallowInterceptTouchEvent(true);
 	
-	                 // Cancel listview's touch
-	                 MotionEvent cancelEvent = MotionEvent.obtain(motionEvent);
-	                 cancelEvent.setAction(MotionEvent.ACTION_CANCEL |
+	                 // Cancel listview's touch, the event is changed and restored instead of copied
+	                 final int action = motionEvent.getAction();
+	                 motionEvent.setAction(MotionEvent.ACTION_CANCEL |
 	                     (motionEvent.getActionIndex() << MotionEvent.ACTION_POINTER_INDEX_SHIFT));
-	                 mView.onTouchEvent(cancelEvent);
-	                 
-	                 cancelEvent.recycle();
+	                 mView.onTouchEvent(motionEvent);
+	                 motionEvent.setAction(action);
 	                 
 	             }
 
@@ -212,41 +282,35 @@ public class SwipeDismissListener implements View.OnTouchListener
  private void performDismiss() 
  {
 
-     final ViewGroup.LayoutParams lp = mView.getLayoutParams();
-     final int originalHeight = mView.getHeight();
-
-     ValueAnimator animator = ValueAnimator.ofInt(originalHeight, 1)
-    		 .setDuration(mAnimationTime);
-
-     animator.addListener(new AnimatorListenerAdapter()
+     if (mView.getParent() instanceof ViewGroup) 
      {
     	 
-         @Override
-         public void onAnimationEnd(Animator animation) 
-         {
-        	 
-             mCallback.onDismiss(mView);
-             
-         }
-         
-     });
-
-     animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() 
+    	 /** Shared with the other children so their collapses add up **/
+    	 CollapseAnimator.get((ViewGroup) mView.getParent(), mAnimationTime)
+    	 		.start(mView, collapseMode, mCallback);
+    	 
+     }
+     
+     else 
      {
     	 
-         @Override
-         public void onAnimationUpdate(ValueAnimator valueAnimator) 
-         {
-        	 
-             lp.height = (Integer) valueAnimator.getAnimatedValue();
-             mView.setLayoutParams(lp);
-             
-         }
-         
-     });
-
-     animator.start();
+    	 mCallback.onDismiss(mView);
+    	 
+     }
      
  }
  
+ private final AnimatorListenerAdapter mSwipeListener = new AnimatorListenerAdapter() 
+ {
+	 
+     @Override
+     public void onAnimationEnd(Animator animation) 
+     {
+    	 
+         performDismiss();
+         
+     }
+     
+ };
+ 
 }
@@ -0,0 +1,382 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts.utilities;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+
+/**
+ * The TimingWheel is the main thread scheduler that is shared by all of the
+ * SuperToasts. Timeouts are kept in a hashed wheel of slots that is advanced
+ * by a single Handler callback, so scheduling, rescheduling and cancelling a
+ * Timeout never allocates and takes constant time no matter how many toasts
+ * are alive.
+ *
+ * <br>
+ *
+ * <p>
+ * <b> Important note: </b>
+ * </p>
+ *
+ * <p>
+ * The TimingWheel must only be used from the main thread. Timeouts are
+ * run in ticks of {@link #TICK} milliseconds.
+ * </p>
+ *
+ */
+public class TimingWheel implements Runnable
+{
+
+
+	private static final String ERROR_TASKNULL = "The Runnable that you passed was null! (TimingWheel)";
+
+	/** The resolution of the TimingWheel in milliseconds **/
+	public static final int TICK = (50);
+
+	/** 64 slots of 50 milliseconds cover the longest default toast duration in one turn **/
+	private static final int SLOTS = (64);
+	private static final int MASK = (SLOTS - 1);
+
+	private static TimingWheel mTimingWheel;
+
+	private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+	private final Timeout[] mSlots = new Timeout[SLOTS];
+	private final Timeout mReady = new Timeout();
+
+	private long startTime;
+	private long currentTick;
+	private int count;
+	private boolean isRunning;
+
+	/** The uptime at which the callback is posted, or -1 if it isn't posted **/
+	private long postedTime = -1;
+
+
+	private TimingWheel() {
+
+		for (int i = 0; i < SLOTS; i++) {
+
+			mSlots[i] = new Timeout();
+
+		}
+
+	}
+
+
+	/**
+	 * This is used to get the TimingWheel instance.
+	 *
+	 * <br>
+	 *
+	 * @return TimingWheel
+	 *
+	 * <br>
+	 *
+	 */
+	public static synchronized TimingWheel getInstance() {
+
+		if (mTimingWheel == null) {
+
+			mTimingWheel = new TimingWheel();
+
+		}
+
+		return mTimingWheel;
+
+	}
+
+
+	/**
+	 * This is used to run a Timeout after a delay. A Timeout that is already
+	 * scheduled is moved to the new deadline. A delay of zero or less runs the
+	 * Timeout on the next pass of the main thread Looper.
+	 *
+	 * <br>
+	 * @param mTimeout
+	 * <br>
+	 *
+	 * @param delay
+	 * <br>
+	 * The delay in milliseconds.
+	 * <br>
+	 *
+	 */
+	public void schedule(Timeout mTimeout, long delay) {
+
+		cancel(mTimeout);
+
+		final long now = SystemClock.uptimeMillis();
+
+		if (count == 0 && !isRunning) {
+
+			/** The wheel is empty so it can be restarted from the current time **/
+			startTime = now;
+			currentTick = 0;
+
+		}
+
+		count++;
+
+		if (delay <= 0) {
+
+			link(mReady, mTimeout);
+
+			post(now);
+
+			return;
+
+		}
+
+		/** Round up so a Timeout never runs early **/
+		final long deadline = now - startTime + delay;
+
+		mTimeout.deadlineTick = Math.max(currentTick, (deadline + TICK - 1) / TICK);
+
+		link(mSlots[(int) (mTimeout.deadlineTick & MASK)], mTimeout);
+
+		post(startTime + mTimeout.deadlineTick * TICK);
+
+	}
+
+
+	/**
+	 * This is used to cancel a Timeout. Cancelling a Timeout that is not
+	 * scheduled does nothing.
+	 *
+	 * <br>
+	 * @param mTimeout
+	 * <br>
+	 *
+	 */
+	public void cancel(Timeout mTimeout) {
+
+		if (mTimeout.previous == null) {
+
+			return;
+
+		}
+
+		unlink(mTimeout);
+
+		count--;
+
+		if (count == 0 && postedTime != -1) {
+
+			mHandler.removeCallbacks(this);
+			postedTime = -1;
+
+		}
+
+	}
+
+
+	@Override
+	public void run() {
+
+		postedTime = -1;
+		isRunning = true;
+
+		final long nowTick = (SystemClock.uptimeMillis() - startTime) / TICK;
+
+		/** One turn visits every slot, so a long pause never costs more than one turn **/
+		final long lastTick = Math.min(nowTick, currentTick + SLOTS - 1);
+
+		for (long tick = currentTick; tick <= lastTick; tick++) {
+
+			final Timeout mSlot = mSlots[(int) (tick & MASK)];
+
+			Timeout mTimeout = mSlot.next;
+
+			while (mTimeout != mSlot) {
+
+				final Timeout mNext = mTimeout.next;
+
+				/** Timeouts more than one turn away stay in their slot **/
+				if (mTimeout.deadlineTick <= nowTick) {
+
+					unlink(mTimeout);
+					link(mReady, mTimeout);
+
+				}
+
+				mTimeout = mNext;
+
+			}
+
+		}
+
+		currentTick = Math.max(currentTick, nowTick + 1);
+
+		/** Tasks may schedule or cancel other Timeouts so they are only run once the slots are walked **/
+		while (mReady.next != mReady) {
+
+			final Timeout mTimeout = mReady.next;
+
+			unlink(mTimeout);
+
+			count--;
+
+			mTimeout.task.run();
+
+		}
+
+		isRunning = false;
+
+		if (count > 0) {
+
+			postNextSlot();
+
+		}
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private void postNextSlot() {
+
+		for (long tick = currentTick; tick < currentTick + SLOTS; tick++) {
+
+			final Timeout mSlot = mSlots[(int) (tick & MASK)];
+
+			if (mSlot.next != mSlot) {
+
+				post(startTime + tick * TICK);
+
+				return;
+
+			}
+
+		}
+
+	}
+
+
+	private void post(long uptime) {
+
+		/** Only one callback is ever posted for the whole wheel **/
+		if (postedTime != -1 && postedTime <= uptime) {
+
+			return;
+
+		}
+
+		mHandler.removeCallbacks(this);
+		mHandler.postAtTime(this, uptime);
+
+		postedTime = uptime;
+
+	}
+
+
+	private static void link(Timeout mHead, Timeout mTimeout) {
+
+		mTimeout.previous = mHead.previous;
+		mTimeout.next = mHead;
+
+		mHead.previous.next = mTimeout;
+		mHead.previous = mTimeout;
+
+	}
+
+
+	private static void unlink(Timeout mTimeout) {
+
+		mTimeout.previous.next = mTimeout.next;
+		mTimeout.next.previous = mTimeout.previous;
+
+		mTimeout.previous = null;
+		mTimeout.next = null;
+
+	}
+
+
+	/**
+	 * A task that can be scheduled on the TimingWheel. A Timeout is
+	 * its own list node so it should be created once and reused.
+	 *
+	 */
+	public static class Timeout
+	{
+
+
+		private final Runnable task;
+
+		private Timeout previous;
+		private Timeout next;
+		private long deadlineTick;
+
+
+		/**
+		 * Instantiates a new Timeout.
+		 *
+		 * <br>
+		 *
+		 * @param task
+		 * <br>
+		 * The Runnable to run when the Timeout expires.
+		 * <br>
+		 *
+		 */
+		public Timeout(Runnable task) {
+
+			if (task == null) {
+
+				throw new IllegalArgumentException(ERROR_TASKNULL);
+
+			}
+
+			this.task = task;
+
+		}
+
+
+		/** The head of a slot has no task and links to itself **/
+		private Timeout() {
+
+			this.task = null;
+
+			previous = this;
+			next = this;
+
+		}
+
+
+		/**
+		 * This is used to determine if the Timeout is scheduled.
+		 *
+		 * <br>
+		 *
+		 * @return boolean
+		 *
+		 * <br>
+		 *
+		 */
+		public boolean isScheduled() {
+
+			return previous != null;
+
+		}
+
+	}
+
+}
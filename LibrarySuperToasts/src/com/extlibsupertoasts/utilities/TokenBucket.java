@@ -0,0 +1,156 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts.utilities;
+
+
+/**
+ * A token bucket that allows a burst of up to capacity events and then
+ * one event every refill interval. The bucket is refilled lazily when it
+ * is used so it does not need a timer and never allocates.
+ *
+ */
+public class TokenBucket
+{
+
+
+	private static final String ERROR_CAPACITY = "The capacity of a TokenBucket must be at least one! (TokenBucket)";
+	private static final String ERROR_REFILLINTERVAL = "The refill interval of a TokenBucket must be at least one millisecond! (TokenBucket)";
+
+	private final int capacity;
+	private final long refillInterval;
+
+	private int tokens;
+	private long lastRefill;
+
+
+	/**
+	 * Instantiates a new full TokenBucket.
+	 *
+	 * <br>
+	 *
+	 * @param capacity
+	 * <br>
+	 * The maximum number of events in a burst.
+	 * <br>
+	 *
+	 * @param refillInterval
+	 * <br>
+	 * The number of milliseconds it takes to add one token.
+	 * <br>
+	 *
+	 * @param now
+	 * <br>
+	 * The current time in milliseconds, for example SystemClock.uptimeMillis().
+	 * <br>
+	 *
+	 */
+	public TokenBucket(int capacity, long refillInterval, long now) {
+
+		if (capacity < 1) {
+
+			throw new IllegalArgumentException(ERROR_CAPACITY);
+
+		}
+
+		if (refillInterval < 1) {
+
+			throw new IllegalArgumentException(ERROR_REFILLINTERVAL);
+
+		}
+
+		this.capacity = capacity;
+		this.refillInterval = refillInterval;
+
+		this.tokens = capacity;
+		this.lastRefill = now;
+
+	}
+
+
+	/**
+	 * This is used to take a token from the TokenBucket.
+	 *
+	 * <br>
+	 *
+	 * @return boolean
+	 * <br>
+	 * True if a token was available.
+	 * <br>
+	 *
+	 */
+	public boolean tryAcquire(long now) {
+
+		refill(now);
+
+		if (tokens > 0) {
+
+			tokens--;
+
+			return true;
+
+		}
+
+		return false;
+
+	}
+
+
+	/**
+	 * This is used to get the number of milliseconds until the next
+	 * token is available.
+	 *
+	 * <br>
+	 *
+	 * @return long
+	 * <br>
+	 * Zero if a token is available now.
+	 * <br>
+	 *
+	 */
+	public long getDelay(long now) {
+
+		refill(now);
+
+		return tokens > 0 ? 0 : refillInterval - (now - lastRefill);
+
+	}
+
+
+	private void refill(long now) {
+
+		if (tokens >= capacity) {
+
+			/** A full bucket does not bank time toward future tokens **/
+			lastRefill = now;
+
+			return;
+
+		}
+
+		final long refills = (now - lastRefill) / refillInterval;
+
+		if (refills > 0) {
+
+			tokens = (int) Math.min(capacity, tokens + refills);
+			lastRefill += refills * refillInterval;
+
+		}
+
+	}
+
+}
@@ -0,0 +1,152 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.widget.TextView;
+
+
+/**
+ * Calls the SuperToast methods from a worker thread and checks what the
+ * main thread applies. The text of a worker thread must be set before
+ * show() runs, otherwise two different messages share the coalesce key
+ * of the old text.
+ */
+public class SuperToastMutationTest extends InstrumentationTestCase
+{
+
+
+	/** The Mutations are drained on the next frame **/
+	private static final long DRAIN_TIMEOUT = 1000;
+	private static final long DRAIN_POLL = 20;
+
+	private SuperToast mFirstToast;
+	private SuperToast mSecondToast;
+
+	private CharSequence shownText;
+
+
+	@Override
+	protected void setUp() throws Exception {
+
+		super.setUp();
+
+		final Context mContext = getInstrumentation().getTargetContext();
+
+		getInstrumentation().runOnMainSync(new Runnable() {
+
+			@Override
+			public void run() {
+
+				mFirstToast = newToast(mContext);
+				mSecondToast = newToast(mContext);
+
+			}
+
+		});
+
+	}
+
+
+	@Override
+	protected void tearDown() throws Exception {
+
+		getInstrumentation().runOnMainSync(new Runnable() {
+
+			@Override
+			public void run() {
+
+				mFirstToast.dismiss();
+				mSecondToast.dismiss();
+
+			}
+
+		});
+
+		super.tearDown();
+
+	}
+
+
+	/** Two different messages from a worker thread are not coalesced into one toast **/
+	public void testWorkerTextIsSetBeforeShow() throws Exception {
+
+		final Thread mWorker = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+
+				mFirstToast.setText("First");
+				mFirstToast.show();
+
+				mSecondToast.setText("Second");
+				mSecondToast.show();
+
+			}
+
+		});
+
+		mWorker.start();
+		mWorker.join();
+
+		final long deadline = SystemClock.uptimeMillis() + DRAIN_TIMEOUT;
+
+		do {
+
+			SystemClock.sleep(DRAIN_POLL);
+			getInstrumentation().waitForIdleSync();
+
+			getInstrumentation().runOnMainSync(new Runnable() {
+
+				@Override
+				public void run() {
+
+					final TextView mTextView = mFirstToast.getTextView();
+
+					shownText = mTextView != null ? mTextView.getText() : null;
+
+				}
+
+			});
+
+		} while (shownText == null && SystemClock.uptimeMillis() < deadline);
+
+		/** A coalesced duplicate would have added its count to the message **/
+		assertNotNull("The first toast was not displayed", shownText);
+		assertEquals("First", shownText.toString());
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private SuperToast newToast(Context mContext) {
+
+		final SuperToast mSuperToast = new SuperToast(mContext);
+
+		mSuperToast.setCoalesceDuplicates(true);
+		mSuperToast.setShowDuplicateCount(true);
+
+		return mSuperToast;
+
+	}
+
+}
@@ -0,0 +1,120 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.test.AndroidTestCase;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import java.util.Arrays;
+
+
+/**
+ * Times the ToastViewFactory against the LayoutInflater for every toast
+ * layout and logs the median time per View under the tag of this class.
+ * Run it on a device with the screen on and nothing else in the foreground,
+ * the numbers of an emulator only compare the two paths with each other.
+ */
+public class ToastViewFactoryBenchmark extends AndroidTestCase
+{
+
+
+	private static final String TAG = "ToastViewFactoryBenchmark";
+
+	/** Loads the classes and the resources of both paths before anything is timed **/
+	private static final int WARMUP_VIEWS = 20;
+
+	private static final int ROUNDS = 15;
+	private static final int VIEWS_PER_ROUND = 20;
+
+
+	public void testBuildVersusInflate() {
+
+		final LayoutInflater mLayoutInflater = LayoutInflater.from(getContext());
+		final LinearLayout mParent = new LinearLayout(getContext());
+
+		for (int layoutResource : ToastViewFactoryTest.LAYOUTS) {
+
+			final String layoutName = getContext().getResources().getResourceEntryName(layoutResource);
+
+			time(mLayoutInflater, layoutResource, mParent, true, WARMUP_VIEWS);
+			time(mLayoutInflater, layoutResource, mParent, false, WARMUP_VIEWS);
+
+			final long[] builtTimes = new long[ROUNDS];
+			final long[] inflatedTimes = new long[ROUNDS];
+
+			/** The rounds alternate so both paths see the same state of the device **/
+			for (int i = 0; i < ROUNDS; i++) {
+
+				builtTimes[i] = time(mLayoutInflater, layoutResource, mParent, true, VIEWS_PER_ROUND);
+				inflatedTimes[i] = time(mLayoutInflater, layoutResource, mParent, false, VIEWS_PER_ROUND);
+
+			}
+
+			final long builtMedian = median(builtTimes) / VIEWS_PER_ROUND;
+			final long inflatedMedian = median(inflatedTimes) / VIEWS_PER_ROUND;
+
+			Log.i(TAG, layoutName + ": built " + builtMedian / 1000 + " us, inflated "
+					+ inflatedMedian / 1000 + " us per View");
+
+		}
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	/** Returns the nanoseconds it takes to create the Views **/
+	private long time(LayoutInflater mLayoutInflater, int layoutResource, ViewGroup mParent,
+			boolean isBuilt, int count) {
+
+		View mView = null;
+
+		final long startTime = System.nanoTime();
+
+		for (int i = 0; i < count; i++) {
+
+			mView = isBuilt ? ToastViewFactory.create(getContext(), layoutResource, mParent)
+					: mLayoutInflater.inflate(layoutResource, mParent, false);
+
+		}
+
+		final long elapsedTime = System.nanoTime() - startTime;
+
+		assertNotNull(mView);
+
+		return elapsedTime;
+
+	}
+
+
+	private static long median(long[] times) {
+
+		final long[] mSorted = times.clone();
+
+		Arrays.sort(mSorted);
+
+		return mSorted[mSorted.length / 2];
+
+	}
+
+}
@@ -0,0 +1,268 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts;
+
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.test.AndroidTestCase;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+
+/**
+ * Compares the Views that the ToastViewFactory builds in code with the
+ * Views inflated from the XML layouts of the library. The ids, classes,
+ * LayoutParams, padding, visibility and backgrounds of every View must match,
+ * as must the orientation of LinearLayouts, the text size, color, gravity,
+ * Typeface and paint flags of TextViews, the scale type of ImageViews and
+ * the indeterminate state and maximum of ProgressBars. A change of these in
+ * a layout that is not made in the factory fails here. Other attributes,
+ * such as the gravity of a LinearLayout or minimum sizes, are not compared.
+ */
+public class ToastViewFactoryTest extends AndroidTestCase
+{
+
+
+	static final int[] LAYOUTS = {R.layout.supertoast, R.layout.superbuttontoast,
+			R.layout.supercircleprogresstoast, R.layout.superhorizontalprogresstoast,
+			R.layout.supercardtoast_toast, R.layout.supercardtoast_button,
+			R.layout.supercardtoast_progresscircle, R.layout.supercardtoast_progresshorizontal};
+
+
+	/** SuperToast windows are built without a parent **/
+	public void testLayoutsWithoutParent() {
+
+		compareLayouts(null);
+
+	}
+
+
+	/** SuperActivityToasts are added to a FrameLayout **/
+	public void testLayoutsInFrameLayout() {
+
+		compareLayouts(new FrameLayout(getContext()));
+
+	}
+
+
+	/** SuperCardToasts are added to a LinearLayout **/
+	public void testLayoutsInLinearLayout() {
+
+		compareLayouts(new LinearLayout(getContext()));
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	private void compareLayouts(ViewGroup mParent) {
+
+		final LayoutInflater mLayoutInflater = LayoutInflater.from(getContext());
+
+		for (int layoutResource : LAYOUTS) {
+
+			final String layoutName = getContext().getResources().getResourceEntryName(layoutResource);
+
+			final View mBuiltView = ToastViewFactory.create(getContext(), layoutResource, mParent);
+			final View mInflatedView = mLayoutInflater.inflate(layoutResource, mParent, false);
+
+			assertNotNull(layoutName + " is not built by the ToastViewFactory", mBuiltView);
+
+			compareViews(layoutName, mInflatedView, mBuiltView);
+
+		}
+
+	}
+
+
+	private void compareViews(String path, View mInflatedView, View mBuiltView) {
+
+		path = path + "/" + getIdName(mInflatedView);
+
+		assertEquals(path + " id", mInflatedView.getId(), mBuiltView.getId());
+
+		/** The factory may use a subclass, the message TextView is a MessageTextView **/
+		assertTrue(path + " is a " + mBuiltView.getClass().getName() + " instead of a "
+				+ mInflatedView.getClass().getName(), mInflatedView.getClass().isInstance(mBuiltView));
+
+		compareLayoutParams(path, mInflatedView.getLayoutParams(), mBuiltView.getLayoutParams());
+
+		assertEquals(path + " paddingLeft", mInflatedView.getPaddingLeft(), mBuiltView.getPaddingLeft());
+		assertEquals(path + " paddingTop", mInflatedView.getPaddingTop(), mBuiltView.getPaddingTop());
+		assertEquals(path + " paddingRight", mInflatedView.getPaddingRight(), mBuiltView.getPaddingRight());
+		assertEquals(path + " paddingBottom", mInflatedView.getPaddingBottom(), mBuiltView.getPaddingBottom());
+		assertEquals(path + " visibility", mInflatedView.getVisibility(), mBuiltView.getVisibility());
+
+		compareDrawables(path + " background", mInflatedView.getBackground(), mBuiltView.getBackground());
+
+		if (mInflatedView instanceof TextView) {
+
+			final TextView mInflatedText = (TextView) mInflatedView;
+			final TextView mBuiltText = (TextView) mBuiltView;
+
+			assertEquals(path + " text size", mInflatedText.getTextSize(), mBuiltText.getTextSize(), 0f);
+			assertEquals(path + " text color", mInflatedText.getCurrentTextColor(), mBuiltText.getCurrentTextColor());
+			assertEquals(path + " default text color", mInflatedText.getTextColors().getDefaultColor(),
+					mBuiltText.getTextColors().getDefaultColor());
+			assertEquals(path + " text gravity", mInflatedText.getGravity(), mBuiltText.getGravity());
+			assertEquals(path + " paint flags", mInflatedText.getPaintFlags(), mBuiltText.getPaintFlags());
+			assertEquals(path + " text", mInflatedText.getText().toString(), mBuiltText.getText().toString());
+
+			assertEquals(path + " typeface style", getTypefaceStyle(mInflatedText), getTypefaceStyle(mBuiltText));
+
+		}
+
+		if (mInflatedView instanceof ImageView) {
+
+			assertEquals(path + " scale type", ((ImageView) mInflatedView).getScaleType(),
+					((ImageView) mBuiltView).getScaleType());
+
+			compareDrawables(path + " image", ((ImageView) mInflatedView).getDrawable(),
+					((ImageView) mBuiltView).getDrawable());
+
+		}
+
+		if (mInflatedView instanceof ProgressBar) {
+
+			assertEquals(path + " indeterminate", ((ProgressBar) mInflatedView).isIndeterminate(),
+					((ProgressBar) mBuiltView).isIndeterminate());
+			assertEquals(path + " max", ((ProgressBar) mInflatedView).getMax(), ((ProgressBar) mBuiltView).getMax());
+
+		}
+
+		if (mInflatedView instanceof LinearLayout) {
+
+			assertEquals(path + " orientation", ((LinearLayout) mInflatedView).getOrientation(),
+					((LinearLayout) mBuiltView).getOrientation());
+
+		}
+
+		if (mInflatedView instanceof ViewGroup) {
+
+			final ViewGroup mInflatedGroup = (ViewGroup) mInflatedView;
+			final ViewGroup mBuiltGroup = (ViewGroup) mBuiltView;
+
+			assertEquals(path + " child count", mInflatedGroup.getChildCount(), mBuiltGroup.getChildCount());
+
+			for (int i = 0; i < mInflatedGroup.getChildCount(); i++) {
+
+				compareViews(path, mInflatedGroup.getChildAt(i), mBuiltGroup.getChildAt(i));
+
+			}
+
+		}
+
+	}
+
+
+	private void compareLayoutParams(String path, ViewGroup.LayoutParams mInflatedParams,
+			ViewGroup.LayoutParams mBuiltParams) {
+
+		if (mInflatedParams == null) {
+
+			assertNull(path + " LayoutParams", mBuiltParams);
+
+			return;
+
+		}
+
+		assertNotNull(path + " LayoutParams", mBuiltParams);
+
+		assertEquals(path + " LayoutParams class", mInflatedParams.getClass(), mBuiltParams.getClass());
+		assertEquals(path + " width", mInflatedParams.width, mBuiltParams.width);
+		assertEquals(path + " height", mInflatedParams.height, mBuiltParams.height);
+
+		if (mInflatedParams instanceof ViewGroup.MarginLayoutParams) {
+
+			final ViewGroup.MarginLayoutParams mInflatedMargins = (ViewGroup.MarginLayoutParams) mInflatedParams;
+			final ViewGroup.MarginLayoutParams mBuiltMargins = (ViewGroup.MarginLayoutParams) mBuiltParams;
+
+			assertEquals(path + " leftMargin", mInflatedMargins.leftMargin, mBuiltMargins.leftMargin);
+			assertEquals(path + " topMargin", mInflatedMargins.topMargin, mBuiltMargins.topMargin);
+			assertEquals(path + " rightMargin", mInflatedMargins.rightMargin, mBuiltMargins.rightMargin);
+			assertEquals(path + " bottomMargin", mInflatedMargins.bottomMargin, mBuiltMargins.bottomMargin);
+
+		}
+
+		if (mInflatedParams instanceof LinearLayout.LayoutParams) {
+
+			final LinearLayout.LayoutParams mInflatedLinear = (LinearLayout.LayoutParams) mInflatedParams;
+			final LinearLayout.LayoutParams mBuiltLinear = (LinearLayout.LayoutParams) mBuiltParams;
+
+			assertEquals(path + " gravity", mInflatedLinear.gravity, mBuiltLinear.gravity);
+			assertEquals(path + " weight", mInflatedLinear.weight, mBuiltLinear.weight, 0f);
+
+		} else if (mInflatedParams instanceof FrameLayout.LayoutParams) {
+
+			assertEquals(path + " gravity", ((FrameLayout.LayoutParams) mInflatedParams).gravity,
+					((FrameLayout.LayoutParams) mBuiltParams).gravity);
+
+		}
+
+	}
+
+
+	/** Drawables of the same resource have the same class and intrinsic size, colors are compared directly **/
+	private void compareDrawables(String path, Drawable mInflatedDrawable, Drawable mBuiltDrawable) {
+
+		if (mInflatedDrawable == null) {
+
+			assertNull(path, mBuiltDrawable);
+
+			return;
+
+		}
+
+		assertNotNull(path, mBuiltDrawable);
+
+		assertEquals(path + " class", mInflatedDrawable.getClass(), mBuiltDrawable.getClass());
+		assertEquals(path + " width", mInflatedDrawable.getIntrinsicWidth(), mBuiltDrawable.getIntrinsicWidth());
+		assertEquals(path + " height", mInflatedDrawable.getIntrinsicHeight(), mBuiltDrawable.getIntrinsicHeight());
+
+		if (mInflatedDrawable instanceof ColorDrawable) {
+
+			assertEquals(path + " color", ((ColorDrawable) mInflatedDrawable).getColor(),
+					((ColorDrawable) mBuiltDrawable).getColor());
+
+		}
+
+	}
+
+
+	private int getTypefaceStyle(TextView mTextView) {
+
+		return mTextView.getTypeface() != null ? mTextView.getTypeface().getStyle() : 0;
+
+	}
+
+
+	private String getIdName(View mView) {
+
+		return mView.getId() != View.NO_ID ? getContext().getResources().getResourceEntryName(mView.getId())
+				: mView.getClass().getSimpleName();
+
+	}
+
+}
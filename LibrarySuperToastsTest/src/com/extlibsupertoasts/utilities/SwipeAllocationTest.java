@@ -0,0 +1,285 @@
+/**
+ *  Copyright 2013 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.extlibsupertoasts.utilities;
+
+import android.content.Context;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.LinearLayout;
+
+
+/**
+ * Counts the allocations of the main thread while a swipe is scripted
+ * through the SwipeDismissDispatcher and the SwipeDismissListener. Every
+ * MotionEvent is obtained before counting starts, and a first swipe warms
+ * up the VelocityTracker and the reused animations.
+ */
+public class SwipeAllocationTest extends InstrumentationTestCase
+{
+
+
+	private static final int WIDTH = 480;
+	private static final int CARD_HEIGHT = 100;
+	private static final int CARD_COUNT = 3;
+	private static final int MOVE_COUNT = 20;
+
+	/** Long enough for the animation of the warm up swipe to end and be reused **/
+	private static final long ANIMATION_WAIT = 1000;
+
+	private LinearLayout mContainer;
+	private SwipeDismissDispatcher mSwipeDismissDispatcher;
+
+	private int allocations;
+
+
+	@Override
+	protected void setUp() throws Exception {
+
+		super.setUp();
+
+		final Context mContext = getInstrumentation().getTargetContext();
+
+		getInstrumentation().runOnMainSync(new Runnable() {
+
+			@Override
+			public void run() {
+
+				mContainer = new LinearLayout(mContext);
+				mContainer.setOrientation(LinearLayout.VERTICAL);
+
+				for (int i = 0; i < CARD_COUNT; i++) {
+
+					final View mCard = new View(mContext);
+
+					/** The card is its own item **/
+					mCard.setTag(mCard);
+
+					mContainer.addView(mCard, new LinearLayout.LayoutParams(WIDTH, CARD_HEIGHT));
+
+				}
+
+				mContainer.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+						View.MeasureSpec.makeMeasureSpec(CARD_COUNT * CARD_HEIGHT, View.MeasureSpec.EXACTLY));
+				mContainer.layout(0, 0, WIDTH, CARD_COUNT * CARD_HEIGHT);
+
+				mSwipeDismissDispatcher = new SwipeDismissDispatcher(mContainer, mCallback);
+
+			}
+
+		});
+
+	}
+
+
+	/** A swipe that slides the card back, then a swipe that dismisses a card, the second one is counted **/
+	public void testDispatcherSwipeDoesNotAllocate() throws Exception {
+
+		final MotionEvent[] mWarmUpEvents = obtainSwipe(0, WIDTH / 4);
+
+		getInstrumentation().runOnMainSync(new Runnable() {
+
+			@Override
+			public void run() {
+
+				dispatch(mWarmUpEvents);
+
+			}
+
+		});
+
+		SystemClock.sleep(ANIMATION_WAIT);
+		getInstrumentation().waitForIdleSync();
+
+		final MotionEvent[] mEvents = obtainSwipe(1, WIDTH);
+
+		getInstrumentation().runOnMainSync(new Runnable() {
+
+			@Override
+			public void run() {
+
+				Debug.startAllocCounting();
+				Debug.resetThreadAllocCount();
+
+				dispatch(mEvents);
+
+				allocations = Debug.getThreadAllocCount();
+				Debug.stopAllocCounting();
+
+			}
+
+		});
+
+		recycle(mWarmUpEvents);
+		recycle(mEvents);
+
+		assertEquals("Allocations of a dismissing swipe", 0, allocations);
+
+	}
+
+
+	/** The down and moves of a swipe, the end of the gesture starts a ViewPropertyAnimator which allocates **/
+	public void testListenerMovesDoNotAllocate() throws Exception {
+
+		final View mCard = mContainer.getChildAt(0);
+
+		final SwipeDismissListener mSwipeDismissListener = new SwipeDismissListener(mCard,
+				new SwipeDismissListener.OnDismissCallback() {
+
+			@Override
+			public void onDismiss(View view) {
+
+				// Not used
+
+			}
+
+		});
+
+		final MotionEvent[] mWarmUpEvents = obtainSwipe(0, WIDTH / 4);
+		final MotionEvent[] mEvents = obtainSwipe(0, WIDTH / 4);
+
+		getInstrumentation().runOnMainSync(new Runnable() {
+
+			@Override
+			public void run() {
+
+				/** A whole gesture, its up event slides the card back and is not counted **/
+				for (MotionEvent mEvent : mWarmUpEvents) {
+
+					mSwipeDismissListener.onTouch(mCard, mEvent);
+
+				}
+
+			}
+
+		});
+
+		SystemClock.sleep(ANIMATION_WAIT);
+		getInstrumentation().waitForIdleSync();
+
+		getInstrumentation().runOnMainSync(new Runnable() {
+
+			@Override
+			public void run() {
+
+				/** The moves pass the touch slop, so the cancel and disallow intercept run too **/
+				Debug.startAllocCounting();
+				Debug.resetThreadAllocCount();
+
+				for (int i = 0; i < mEvents.length - 1; i++) {
+
+					mSwipeDismissListener.onTouch(mCard, mEvents[i]);
+
+				}
+
+				allocations = Debug.getThreadAllocCount();
+				Debug.stopAllocCounting();
+
+				mSwipeDismissListener.onTouch(mCard, mEvents[mEvents.length - 1]);
+
+			}
+
+		});
+
+		recycle(mWarmUpEvents);
+		recycle(mEvents);
+
+		assertEquals("Allocations of the moves of a swipe", 0, allocations);
+
+	}
+
+
+	//XXX: Private methods.
+
+
+	/** A down event on the card, moves to the right by the distance and an up event **/
+	private MotionEvent[] obtainSwipe(int card, int distance) {
+
+		final MotionEvent[] mEvents = new MotionEvent[MOVE_COUNT + 2];
+
+		final long downTime = SystemClock.uptimeMillis();
+		final float x = WIDTH / 8f;
+		final float y = card * CARD_HEIGHT + CARD_HEIGHT / 2f;
+
+		mEvents[0] = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, x, y, 0);
+
+		for (int i = 1; i <= MOVE_COUNT; i++) {
+
+			mEvents[i] = MotionEvent.obtain(downTime, downTime + i * 10, MotionEvent.ACTION_MOVE,
+					x + distance * i / (float) MOVE_COUNT, y, 0);
+
+		}
+
+		mEvents[MOVE_COUNT + 1] = MotionEvent.obtain(downTime, downTime + (MOVE_COUNT + 1) * 10,
+				MotionEvent.ACTION_UP, x + distance, y, 0);
+
+		return mEvents;
+
+	}
+
+
+	private void dispatch(MotionEvent[] mEvents) {
+
+		for (MotionEvent mEvent : mEvents) {
+
+			mSwipeDismissDispatcher.onTouchEvent(mEvent);
+
+		}
+
+	}
+
+
+	private void recycle(MotionEvent[] mEvents) {
+
+		for (MotionEvent mEvent : mEvents) {
+
+			mEvent.recycle();
+
+		}
+
+	}
+
+
+	private final SwipeDismissDispatcher.Callback mCallback = new SwipeDismissDispatcher.Callback() {
+
+		@Override
+		public Object getSwipeableItem(View view) {
+
+			return view.getTag();
+
+		}
+
+		@Override
+		public void onTouched(View view) {
+
+			// Not used
+
+		}
+
+		@Override
+		public void onDismiss(View view, Object item) {
+
+			// Not used
+
+		}
+
+	};
+
+}